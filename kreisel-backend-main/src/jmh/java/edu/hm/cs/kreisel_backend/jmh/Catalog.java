@@ -0,0 +1,43 @@
+package edu.hm.cs.kreisel_backend.jmh;
+
+import edu.hm.cs.kreisel_backend.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministischer Beispielkatalog, damit Läufe vergleichbar bleiben
+public final class Catalog {
+
+    private static final String[] NAMES = {"Skihelm", "Winterjacke", "Wanderschuhe", "Snowboard", "Handschuhe",
+            "Mütze", "Skibrille", "Trinkflasche", "Schal", "Skihose"};
+    private static final String[] BRANDS = {"Uvex", "North Face", "Salomon", "Burton", "Roeckl", "Deuter", null};
+
+    private Catalog() {
+    }
+
+    public static List<Item> items(int size) {
+        Random random = new Random(42);
+        Item.Location[] locations = Item.Location.values();
+        Item.Gender[] genders = Item.Gender.values();
+        Item.Category[] categories = Item.Category.values();
+        Item.Subcategory[] subcategories = Item.Subcategory.values();
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setName(NAMES[random.nextInt(NAMES.length)] + " " + i);
+            item.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            item.setDescription(random.nextBoolean() ? "Gut erhalten, ideal für den Winter" : null);
+            item.setSize(random.nextBoolean() ? "M" : "L");
+            item.setAvailable(random.nextInt(4) != 0);
+            item.setLocation(locations[random.nextInt(locations.length)]);
+            item.setGender(genders[random.nextInt(genders.length)]);
+            item.setCategory(categories[random.nextInt(categories.length)]);
+            item.setSubcategory(subcategories[random.nextInt(subcategories.length)]);
+            item.setZustand(Item.Zustand.GEBRAUCHT);
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.hm.cs.kreisel_backend.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal-Repositories für Benchmarks: ein JDK-Proxy, der nur die angegebenen Methoden beantwortet.
+ * Kein Mockito, damit dessen Aufruf-Overhead nicht mitgemessen wird.
+ */
+public final class Repositories {
+
+    private Repositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+}
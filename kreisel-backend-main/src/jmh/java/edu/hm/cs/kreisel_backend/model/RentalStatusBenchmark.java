@@ -0,0 +1,50 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Rental.getStatus für alle drei Zustände (ACTIVE ruft LocalDate.now() auf)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalStatusBenchmark {
+
+    private Rental active;
+    private Rental overdue;
+    private Rental returned;
+
+    @Setup
+    public void setUp() {
+        active = rental(LocalDate.now().plusDays(10), null);
+        overdue = rental(LocalDate.now().minusDays(3), null);
+        returned = rental(LocalDate.now().minusDays(3), LocalDate.now().minusDays(5));
+    }
+
+    private static Rental rental(LocalDate endDate, LocalDate returnDate) {
+        Rental rental = new Rental();
+        rental.setRentalDate(LocalDate.now().minusDays(20));
+        rental.setEndDate(endDate);
+        rental.setReturnDate(returnDate);
+        return rental;
+    }
+
+    @Benchmark
+    public String active() {
+        return active.getStatus();
+    }
+
+    @Benchmark
+    public String overdue() {
+        return overdue.getStatus();
+    }
+
+    @Benchmark
+    public String returned() {
+        return returned.getStatus();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import edu.hm.cs.kreisel_backend.jmh.Repositories;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ganzer Filterdurchlauf pro Request: Token aus Header bzw. Cookie, User laden (Repository im Speicher),
+ * Token prüfen, SecurityContext setzen. Ohne Token zum Vergleich.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@hm.edu");
+        user.setPassword("secret");
+        user.setRole(User.Role.USER);
+        UserRepository userRepository = Repositories.stub(UserRepository.class,
+                Map.of("findByEmail", args -> Optional.of(user)));
+
+        JwtUtil jwtUtil = new JwtUtil();
+        filter = new JwtAuthenticationFilter(jwtUtil, new KreiselUserDetailsService(userRepository),
+                new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(new org.springframework.security.core.userdetails.User(
+                user.getEmail(), user.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void bearerHeader() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), NOOP_CHAIN);
+    }
+
+    @Benchmark
+    public void withoutToken() throws ServletException, IOException {
+        filter.doFilterInternal(new MockHttpServletRequest("GET", "/api/items"), new MockHttpServletResponse(),
+                NOOP_CHAIN);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.jmh.Catalog;
+import edu.hm.cs.kreisel_backend.jmh.Repositories;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ItemService#filterItems} über verschiedene Kataloggrößen (Repository liefert die Items des Standorts
+ * als fertige Liste, gemessen wird nur das Filtern im Service) sowie {@link ItemService#matchesSearch} einzeln.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int catalogSize;
+
+    private ItemService itemService;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        items = Catalog.items(catalogSize);
+        // vorab gruppiert, damit das "Repository" selbst nichts kostet
+        Map<Item.Location, List<Item>> byLocation = items.stream()
+                .collect(Collectors.groupingBy(Item::getLocation));
+        Map<Item.Location, Map<Boolean, List<Item>>> byAvailability = items.stream()
+                .collect(Collectors.groupingBy(Item::getLocation, Collectors.partitioningBy(Item::isAvailable)));
+        ItemRepository repository = Repositories.stub(ItemRepository.class, Map.of(
+                "findByLocation", args -> byLocation.getOrDefault(args[0], List.of()),
+                "findByLocationAndAvailable", args -> byAvailability.get(args[0]).get((Boolean) args[1])));
+        itemService = new ItemService(repository, null, null);
+    }
+
+    @Benchmark
+    public List<Item> filterByLocation() {
+        return itemService.filterItems(Item.Location.PASING, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Item> filterAllCriteria() {
+        return itemService.filterItems(Item.Location.PASING, true, null, Item.Gender.UNISEX,
+                Item.Category.EQUIPMENT, null, "M");
+    }
+
+    @Benchmark
+    public List<Item> filterWithSearch() {
+        return itemService.filterItems(Item.Location.PASING, true, "winter", null, null, null, null);
+    }
+
+    // Textsuche über alle Items (lowercase von Name, Marke, Beschreibung pro Item)
+    @Benchmark
+    public void matchesSearch(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemService.matchesSearch(item, "Winter"));
+        }
+    }
+}
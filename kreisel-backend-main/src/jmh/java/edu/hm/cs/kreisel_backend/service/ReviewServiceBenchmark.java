@@ -0,0 +1,92 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
+import edu.hm.cs.kreisel_backend.jmh.Repositories;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Rental;
+import edu.hm.cs.kreisel_backend.model.Review;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import edu.hm.cs.kreisel_backend.repository.RentalRepository;
+import edu.hm.cs.kreisel_backend.repository.ReviewRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bewertung abgeben ({@link ReviewService#createReview}, schreibt nur Review und Outbox-Event) und die
+ * asynchrone Aggregation ({@link ReviewService#onReviewCreated}): Durchschnitt und Anzahl über alle Reviews
+ * des Items. Die Repositories liegen im Speicher, AVG/COUNT laufen wie in der DB über reviewsPerItem Zeilen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int reviewsPerItem;
+
+    private ReviewService reviewService;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        Item item = new Item();
+        item.setId(1L);
+        Rental rental = new Rental();
+        rental.setId(1L);
+        rental.setUser(user);
+        rental.setItem(item);
+        rental.setEndDate(LocalDate.now());
+        rental.setReturnDate(LocalDate.now());
+
+        List<Review> reviews = new ArrayList<>(reviewsPerItem);
+        for (int i = 0; i < reviewsPerItem; i++) {
+            Review review = new Review();
+            review.setItem(item);
+            review.setUser(user);
+            review.setRating(1 + i % 5);
+            reviews.add(review);
+        }
+
+        ReviewRepository reviewRepository = Repositories.stub(ReviewRepository.class, Map.of(
+                "findByRentalId", args -> Optional.empty(),
+                "save", args -> args[0],
+                // wie die DB: über alle Zeilen des Items
+                "getAverageRatingForItem", args -> reviews.stream().mapToInt(Review::getRating).average().orElse(0),
+                "countByItemId", args -> reviews.stream().count()));
+        RentalRepository rentalRepository = Repositories.stub(RentalRepository.class,
+                Map.of("findById", args -> Optional.of(rental)));
+        UserRepository userRepository = Repositories.stub(UserRepository.class,
+                Map.of("findById", args -> Optional.of(user)));
+        ItemRepository itemRepository = Repositories.stub(ItemRepository.class,
+                Map.of("updateRatingStatistics", args -> 1));
+        OutboxService outboxService = new OutboxService(
+                Repositories.stub(OutboxEventRepository.class, Map.of("save", args -> args[0])), new ObjectMapper());
+
+        reviewService = new ReviewService(reviewRepository, rentalRepository, itemRepository, userRepository,
+                outboxService);
+    }
+
+    @Benchmark
+    public Review createReview() {
+        return reviewService.createReview(1L, 1L, 4, "Top");
+    }
+
+    @Benchmark
+    public void onReviewCreated() {
+        reviewService.onReviewCreated(new ReviewCreated(1L, 1L, 1L, 4));
+    }
+}
@@ -0,0 +1,108 @@
+package edu.hm.cs.kreisel_backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sammelt Latenzen (µs) und Fehler pro Endpunkt. Alle Werte werden behalten und am Ende sortiert –
+ * bei lokalen Läufen (einige 100k Requests) ist das genauer und einfacher als ein Histogramm.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    record Summary(String endpoint, long requests, long errors, double errorRate, double throughput,
+                   double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Endpoint {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long micros, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summarize(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(name, count, errors, count == 0 ? 0 : (double) errors / count, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1000.0);
+        }
+    }
+
+    // Aufwärmphase läuft mit, zählt aber nicht
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    void record(String endpoint, long nanos, boolean error) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).add(nanos / 1000, error);
+        }
+    }
+
+    List<Summary> summarize(double seconds) {
+        List<Summary> result = new java.util.ArrayList<>(endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .sorted((a, b) -> Long.compare(b.requests(), a.requests()))
+                .toList());
+
+        // Gesamtzeile über alle Endpunkte
+        long[] all = endpoints.values().stream()
+                .flatMapToLong(endpoint -> {
+                    synchronized (endpoint) {
+                        return Arrays.stream(Arrays.copyOf(endpoint.latencies, endpoint.count));
+                    }
+                })
+                .sorted().toArray();
+        long errors = result.stream().mapToLong(Summary::errors).sum();
+        result.add(new Summary("TOTAL", all.length, errors, all.length == 0 ? 0 : (double) errors / all.length,
+                all.length / seconds, percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1000.0));
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    static String table(List<Summary> summaries) {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-32s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Summary s : summaries) {
+            out.append(String.format(Locale.ROOT, "%-32s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    s.endpoint(), s.requests(), s.throughput(), s.errorRate() * 100,
+                    s.p50Millis(), s.p90Millis(), s.p99Millis(), s.maxMillis()));
+        }
+        return out.toString();
+    }
+
+    static Map<String, Object> json(LoadTestOptions options, List<Summary> summaries) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", options.users());
+        report.put("durationSeconds", options.duration().toSeconds());
+        report.put("items", options.items());
+        report.put("rentals", options.rentals());
+        report.put("seed", options.seed());
+        report.put("endpoints", summaries);
+        return report;
+    }
+}
@@ -0,0 +1,138 @@
+package edu.hm.cs.kreisel_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.hm.cs.kreisel_backend.KreiselBackendApplication;
+import edu.hm.cs.kreisel_backend.seed.DataSeeder;
+import edu.hm.cs.kreisel_backend.seed.SeedProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-End-Lasttest: startet die Anwendung auf einem freien Port gegen eine eigene H2-Instanz,
+ * legt über den {@link DataSeeder} reproduzierbar Nutzer, Artikel und Ausleih-Historie an und lässt {@code --users} virtuelle Nutzer (je ein
+ * Virtual Thread) den Semesterstart-Mix aus {@link VirtualUser} abspielen.
+ * <p>
+ * Ausgabe: Tabelle auf stdout und JSON unter build/reports/loadtest. Mit {@code --max-p99-ms}
+ * bzw. {@code --max-error-rate} (Gesamtwerte) taugt der Lauf als Release-Gate (Exit-Code 1).
+ * <p>
+ * Aufruf: {@code gradle loadTest -Ploadtest.args="--users=50 --duration=60s --max-p99-ms=500"}
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "lasttest";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        File reportDir = new File(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KreiselBackendApplication.class)
+                // als Argumente, damit sie application.properties überschreiben
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.h2.console.enabled=false",
+                        // alle virtuellen User kommen von 127.0.0.1 und melden sich parallel an
+                        "--app.rate-limit.enabled=false",
+                        "--app.upload.dir=" + Files.createTempDirectory("kreisel-loadtest"),
+                        "--logging.level.root=WARN",
+                        // 500er zählt der Bericht, Stacktraces im Log stören nur
+                        "--logging.level.org.apache.catalina.core=OFF",
+                        "--logging.level.kreisel.slow-query=OFF");
+        int exitCode;
+        try {
+            seed(context, options);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<LatencyRecorder.Summary> summaries = run(options, "http://localhost:" + port);
+            exitCode = report(options, summaries, reportDir);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    // Gleiche Daten wie das seed-Profil (user0..n@hm.edu), aber ohne laufende Ausleihen: Semesterstart
+    private static void seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        SeedProperties properties = new SeedProperties();
+        properties.setSeed(options.seed());
+        properties.setUsers(options.users());
+        properties.setItems(options.items());
+        properties.setRentals(options.rentals());
+        properties.setActiveRentalShare(0);
+        properties.setPassword(PASSWORD);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        new DataSeeder(context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class), properties,
+                hash).seed();
+    }
+
+    private static List<LatencyRecorder.Summary> run(LoadTestOptions options, String baseUrl) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ObjectMapper objectMapper = new ObjectMapper();
+        Instant measureFrom = Instant.now().plus(options.warmup());
+        Instant end = measureFrom.plus(options.duration());
+
+        System.out.printf("Lasttest: %d Nutzer, %d Artikel, Warmup %ss, Messung %ss gegen %s%n", options.users(),
+                options.items(), options.warmup().toSeconds(), options.duration().toSeconds(), baseUrl);
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                users.submit(new VirtualUser(client, objectMapper, recorder, baseUrl, i, options.users(), email(i),
+                        PASSWORD, end, options.seed() + i));
+            }
+            Thread.sleep(options.warmup().toMillis());
+            recorder.setRecording(true);
+            long start = System.nanoTime();
+            Thread.sleep(Duration.between(Instant.now(), end).toMillis());
+            recorder.setRecording(false);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return recorder.summarize(seconds);
+        }
+    }
+
+    private static int report(LoadTestOptions options, List<LatencyRecorder.Summary> summaries, File reportDir)
+            throws Exception {
+        System.out.println();
+        System.out.print(LatencyRecorder.table(summaries));
+
+        reportDir.mkdirs();
+        File json = new File(reportDir, "loadtest-" + LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(json, LatencyRecorder.json(options, summaries));
+        System.out.println("Bericht: " + json.getAbsolutePath());
+
+        LatencyRecorder.Summary total = summaries.get(summaries.size() - 1);
+        boolean failed = false;
+        if (options.maxP99Millis() != null && total.p99Millis() > options.maxP99Millis()) {
+            System.out.printf("GATE FEHLGESCHLAGEN: p99 %.1f ms > %.1f ms%n", total.p99Millis(), options.maxP99Millis());
+            failed = true;
+        }
+        if (options.maxErrorRate() != null && total.errorRate() > options.maxErrorRate()) {
+            System.out.printf("GATE FEHLGESCHLAGEN: Fehlerrate %.2f%% > %.2f%%%n",
+                    total.errorRate() * 100, options.maxErrorRate() * 100);
+            failed = true;
+        }
+        return failed ? 1 : 0;
+    }
+
+    private static String email(int index) {
+        return "user" + index + "@hm.edu";
+    }
+}
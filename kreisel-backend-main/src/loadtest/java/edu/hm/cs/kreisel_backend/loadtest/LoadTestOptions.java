@@ -0,0 +1,60 @@
+package edu.hm.cs.kreisel_backend.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Optionen im Format {@code --name=wert}, z. B.
+ * {@code --users=50 --duration=60s --warmup=10s --items=3000 --rentals=30000 --max-p99-ms=500
+ * --max-error-rate=0.01}.
+ * Ohne Schwellen wird nur berichtet; mit Schwellen endet der Lauf bei Verletzung mit Exit-Code 1.
+ */
+record LoadTestOptions(int users, Duration duration, Duration warmup, int items, int rentals, long seed,
+                       Double maxP99Millis, Double maxErrorRate) {
+
+    static LoadTestOptions parse(String[] args) {
+        int users = 50;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(10);
+        int items = 3000;
+        int rentals = 30_000;
+        long seed = 42;
+        Double maxP99Millis = null;
+        Double maxErrorRate = null;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unbekanntes Argument: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> users = Integer.parseInt(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "items" -> items = Integer.parseInt(value);
+                case "rentals" -> rentals = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "max-p99-ms" -> maxP99Millis = Double.parseDouble(value);
+                case "max-error-rate" -> maxErrorRate = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unbekannte Option: --" + name);
+            }
+        }
+        return new LoadTestOptions(users, duration, warmup, items, rentals, seed, maxP99Millis, maxErrorRate);
+    }
+
+    // 90s, 2m, 500ms oder ISO-8601 (PT90S)
+    private static Duration parseDuration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Ungültige Dauer: " + value);
+        };
+    }
+}
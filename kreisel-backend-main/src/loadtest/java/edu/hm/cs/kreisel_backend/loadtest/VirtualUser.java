@@ -0,0 +1,201 @@
+package edu.hm.cs.kreisel_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Ein simulierter Studierender. Verteilung pro Iteration (Semesterstart):
+ * 70 % Katalog (Liste mit Filtern, jede dritte mit Detailansicht), 15 % Login, 10 % Ausleihe,
+ * 5 % Rückgabe mit Bewertung. Wer schon 5 Ausleihen hat, gibt statt auszuleihen zurück.
+ * <p>
+ * Ausgeliehen werden nur Artikel mit {@code id % Nutzerzahl == Nutzerindex}: Zwei Nutzer, die denselben
+ * Artikel greifen, enden sonst in einer 500 ("nicht verfügbar"), und die Fehlerrate als Gate wäre wertlos.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String[] LOCATIONS = {"PASING", "LOTHSTRASSE", "KARLSTRASSE"};
+    private static final String[] SEARCHES = {"ski", "jacke", "helm", "schuhe", "winter"};
+    private static final int MAX_ACTIVE_RENTALS = 5;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final Instant end;
+    private final Random random;
+    private final int index;
+    private final int userCount;
+
+    private String token;
+    private final Deque<Long> activeRentals = new ArrayDeque<>();
+    private final List<Long> seenItems = new ArrayList<>();
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, LatencyRecorder recorder, String baseUrl,
+                int index, int userCount, String email, String password, Instant end, long seed) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.end = end;
+        this.random = new Random(seed);
+        this.index = index;
+        this.userCount = userCount;
+    }
+
+    @Override
+    public void run() {
+        login();
+        while (Instant.now().isBefore(end)) {
+            int roll = random.nextInt(100);
+            try {
+                if (roll < 70) {
+                    browse();
+                } else if (roll < 85) {
+                    login();
+                } else if (roll < 95 && activeRentals.size() < MAX_ACTIVE_RENTALS) {
+                    rent();
+                } else {
+                    returnAndReview();
+                }
+            } catch (IOException e) {
+                // schon als Fehler gezählt
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // kurze Denkpause wie ein echter Client
+            sleep(random.nextInt(50));
+        }
+    }
+
+    private void browse() throws IOException, InterruptedException {
+        StringBuilder query = new StringBuilder("?location=").append(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        if (random.nextBoolean()) {
+            query.append("&available=true");
+        }
+        if (random.nextInt(4) == 0) {
+            query.append("&searchQuery=").append(URLEncoder.encode(SEARCHES[random.nextInt(SEARCHES.length)],
+                    StandardCharsets.UTF_8));
+        }
+        JsonNode items = send("GET /api/items", get("/api/items" + query));
+        if (items != null && items.isArray() && !items.isEmpty()) {
+            seenItems.clear();
+            for (JsonNode item : items) {
+                long id = item.path("id").asLong();
+                if (item.path("available").asBoolean() && id % userCount == index) {
+                    seenItems.add(id);
+                }
+            }
+            if (random.nextInt(3) == 0) {
+                long id = items.get(random.nextInt(items.size())).path("id").asLong();
+                send("GET /api/items/{id}", get("/api/items/" + id));
+            }
+        }
+    }
+
+    private void login() {
+        try {
+            JsonNode response = send("POST /api/auth/login", post("/api/auth/login",
+                    Map.of("email", email, "password", password)));
+            if (response != null && response.hasNonNull("token")) {
+                token = response.get("token").asText();
+            }
+        } catch (IOException e) {
+            // Fehler ist gezählt, mit altem Token weiter
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rent() throws IOException, InterruptedException {
+        if (seenItems.isEmpty()) {
+            browse();
+            return;
+        }
+        long itemId = seenItems.remove(random.nextInt(seenItems.size()));
+        JsonNode rental = send("POST /api/rentals/rent", post("/api/rentals/rent", Map.of(
+                "itemId", String.valueOf(itemId),
+                "endDate", LocalDate.now().plusDays(1 + random.nextInt(30)).toString())));
+        if (rental != null && rental.hasNonNull("id")) {
+            activeRentals.add(rental.get("id").asLong());
+        }
+    }
+
+    private void returnAndReview() throws IOException, InterruptedException {
+        Long rentalId = activeRentals.poll();
+        if (rentalId == null) {
+            browse();
+            return;
+        }
+        JsonNode returned = send("POST /api/rentals/{id}/return", post("/api/rentals/" + rentalId + "/return", null));
+        if (returned != null) {
+            send("POST /api/reviews", post("/api/reviews", Map.of(
+                    "rentalId", rentalId, "rating", 1 + random.nextInt(5), "comment", "Lasttest")));
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(publisher));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.timeout(Duration.ofSeconds(30));
+    }
+
+    // Misst einen Request; liefert den JSON-Body bei 2xx, sonst null (als Fehler gezählt)
+    private JsonNode send(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean ok = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, elapsed, !ok);
+        return ok && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
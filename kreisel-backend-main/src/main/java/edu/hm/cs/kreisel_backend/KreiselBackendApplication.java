@@ -2,11 +2,20 @@ package edu.hm.cs.kreisel_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class KreiselBackendApplication {
 
+	// Reicht für alle Schritte eines Starts (je Bean einer), danach wird nichts mehr aufgezeichnet
+	private static final int STARTUP_TIMELINE_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(KreiselBackendApplication.class, args);
+		SpringApplication application = new SpringApplication(KreiselBackendApplication.class);
+		// Zeitleiste des Starts für StartupReport und /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+		application.run(args);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import edu.hm.cs.kreisel_backend.dto.ItemAvailabilityChange;
+
+// Verfügbarkeitsänderung für die SSE-Clients der anderen Knoten (die Outbox stellt nur auf dem Leader zu)
+public record AvailabilityBroadcast(ItemAvailabilityChange change) implements ClusterEvent {
+}
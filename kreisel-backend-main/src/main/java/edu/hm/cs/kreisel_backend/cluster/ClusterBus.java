@@ -0,0 +1,116 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.config.ClusterProperties;
+import edu.hm.cs.kreisel_backend.model.ClusterMessage;
+import edu.hm.cs.kreisel_backend.repository.ClusterMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Nachrichtenkanal zwischen den Knoten über die gemeinsame Datenbank: {@link #broadcast} schreibt in
+ * cluster_message, jeder Knoten pollt die Nachrichten der anderen und veröffentlicht sie lokal als
+ * Spring-Event. Ohne Cluster-Betrieb passiert nichts.
+ * <p>
+ * Gelesen wird ab dem letzten Poll minus pollOverlap, damit spät committete Nachrichten und kleine
+ * Uhrenabweichungen nicht verloren gehen; schon gesehene IDs werden übersprungen. Zustellung ist
+ * best effort, Empfänger müssen doppelte oder fehlende Nachrichten verkraften (Caches laufen ab,
+ * SSE-Clients laden beim Reconnect neu).
+ */
+@Slf4j
+@Component
+public class ClusterBus {
+
+    private static final Map<String, Class<?>> MESSAGE_TYPES = Arrays.stream(ClusterEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final ClusterMessageRepository messageRepository;
+    private final ClusterNode node;
+    private final LeaderElection leaderElection;
+    private final ClusterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // nur im Poll-Thread benutzt (synchronized gegen direkte Aufrufe)
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+    private LocalDateTime lastPoll = LocalDateTime.now();
+
+    public ClusterBus(ClusterMessageRepository messageRepository, ClusterNode node, LeaderElection leaderElection,
+                      ClusterProperties properties, ObjectMapper objectMapper,
+                      ApplicationEventPublisher eventPublisher) {
+        this.messageRepository = messageRepository;
+        this.node = node;
+        this.leaderElection = leaderElection;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Läuft in der Transaktion des Aufrufers, falls vorhanden: die Nachricht wird erst mit dem Commit sichtbar
+    public void broadcast(ClusterEvent event) {
+        if (!node.isClustered()) {
+            return;
+        }
+        try {
+            messageRepository.save(new ClusterMessage(node.getId(), event.getClass().getSimpleName(),
+                    objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cluster-Nachricht konnte nicht serialisiert werden: " + event, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (!node.isClustered()) {
+            return;
+        }
+        LocalDateTime pollStarted = LocalDateTime.now();
+        LocalDateTime since = lastPoll.minus(properties.getPollOverlap());
+        int page = 0;
+        List<ClusterMessage> messages;
+        do {
+            messages = messageRepository.findSince(since, node.getId(), PageRequest.of(page++, properties.getBatchSize()));
+            for (ClusterMessage message : messages) {
+                if (seen.putIfAbsent(message.getId(), message.getCreatedAt()) == null) {
+                    deliver(message);
+                }
+            }
+        } while (messages.size() == properties.getBatchSize());
+        lastPoll = pollStarted;
+        seen.values().removeIf(createdAt -> createdAt.isBefore(since));
+    }
+
+    private void deliver(ClusterMessage message) {
+        Class<?> type = MESSAGE_TYPES.get(message.getMessageType());
+        if (type == null) {
+            // Knoten mit neuerer Version im gemischten Betrieb während eines Rollouts
+            log.debug("Cluster: unbekannter Nachrichtentyp {}", message.getMessageType());
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(message.getPayload(), type));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Cluster: Nachricht {} von {} nicht verarbeitet: {}", message.getId(), message.getNodeId(),
+                    e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT10M", fixedDelayString = "PT10M")
+    public void purge() {
+        if (node.isClustered() && leaderElection.isLeader()) {
+            messageRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getMessageRetention()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+/**
+ * Nachricht an die anderen Knoten, über {@link ClusterBus} verteilt und dort als Spring-Event
+ * veröffentlicht. Nur für Zustand im Speicher der Knoten (Caches, offene Verbindungen), fachliche
+ * Änderungen stehen ohnehin in der gemeinsamen Datenbank.
+ */
+public sealed interface ClusterEvent permits AvailabilityBroadcast, ItemCacheEviction {
+}
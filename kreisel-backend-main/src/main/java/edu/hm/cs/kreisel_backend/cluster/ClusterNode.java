@@ -0,0 +1,50 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import edu.hm.cs.kreisel_backend.config.ClusterProperties;
+import edu.hm.cs.kreisel_backend.config.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// Identität dieses Knotens; prüft beim Start, ob der Cluster-Betrieb vollständig konfiguriert ist
+@Slf4j
+@Component
+public class ClusterNode {
+
+    private final boolean clustered;
+    private final String id;
+
+    public ClusterNode(ClusterProperties properties, JwtProperties jwtProperties) {
+        this.clustered = properties.isEnabled();
+        this.id = properties.getNodeId().isBlank() ? generateId() : properties.getNodeId();
+        if (clustered) {
+            if (jwtProperties.getSecret().isBlank()) {
+                // mit zufälligem Schlüssel pro Knoten wären Tokens nur auf dem ausstellenden Knoten gültig
+                throw new IllegalStateException("app.cluster.enabled=true braucht app.jwt.secret");
+            }
+            log.info("Cluster-Betrieb, Knoten {}", id);
+        }
+    }
+
+    public boolean isClustered() {
+        return clustered;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String generateId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return (host.length() > 50 ? host.substring(0, 50) : host) + "-" + suffix;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import edu.hm.cs.kreisel_backend.config.HibernateCacheConfig;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.RentalCreated;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
+import edu.hm.cs.kreisel_backend.model.Item;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hält den Second-Level-Cache im Cluster-Betrieb knotenübergreifend aktuell. Hibernate kennt nur die
+ * Schreibzugriffe des eigenen Knotens; jede Item-Änderung kommt aber als Domain-Event über die Outbox
+ * beim Leader an. Der verwirft das Item selbst und schickt {@link ItemCacheEviction} an die anderen Knoten.
+ * Bulk-Updates ohne Domain-Event meldet der Schreibende über {@link #itemUpdatedInBulk(Long)}.
+ * <p>
+ * User-Änderungen haben kein Domain-Event, dort begrenzt app.hibernate-cache.user-ttl die Verzögerung.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    private final SessionFactory sessionFactory;
+    private final ClusterNode node;
+    private final ClusterBus clusterBus;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, ClusterNode node, ClusterBus clusterBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.node = node;
+        this.clusterBus = clusterBus;
+    }
+
+    // Vor der AvailabilityBroadcast verteilt: wer auf das SSE-Event hin neu lädt, trifft keinen alten Cache-Eintrag
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onItemChanged(ItemChanged event) {
+        itemChanged(event.itemId());
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRentalCreated(RentalCreated event) {
+        itemChanged(event.itemId());
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRentalReturned(RentalReturned event) {
+        itemChanged(event.itemId());
+    }
+
+    // Bewertungsstatistik
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReviewCreated(ReviewCreated event) {
+        itemChanged(event.itemId());
+    }
+
+    /**
+     * Für Bulk-Updates am Item ohne Domain-Event (z. B. Thumbnail-Breiten): Hibernate räumt dabei nur den
+     * eigenen Cache auf, die anderen Knoten erfahren es über {@link ItemCacheEviction}.
+     */
+    public void itemUpdatedInBulk(Long itemId) {
+        itemChanged(itemId);
+    }
+
+    // Von einem anderen Knoten: nur lokal verwerfen
+    @EventListener
+    public void onItemCacheEviction(ItemCacheEviction eviction) {
+        evictItem(eviction.itemId());
+    }
+
+    private void itemChanged(Long itemId) {
+        if (!node.isClustered()) {
+            return; // Hibernate hat den Cache beim Schreiben schon aktualisiert
+        }
+        evictItem(itemId);
+        clusterBus.broadcast(new ItemCacheEviction(itemId));
+    }
+
+    private void evictItem(Long itemId) {
+        sessionFactory.getCache().evictEntityData(Item.class, itemId);
+        sessionFactory.getCache().evictQueryRegion(HibernateCacheConfig.ITEM_QUERY_REGION);
+    }
+}
@@ -0,0 +1,5 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+// Item hat sich geändert: die anderen Knoten verwerfen es aus dem Second-Level-Cache, dazu die gecachten Katalog-Abfragen
+public record ItemCacheEviction(Long itemId) implements ClusterEvent {
+}
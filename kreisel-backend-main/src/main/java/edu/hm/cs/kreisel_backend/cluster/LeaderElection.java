@@ -0,0 +1,119 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import edu.hm.cs.kreisel_backend.config.ClusterProperties;
+import edu.hm.cs.kreisel_backend.repository.ClusterLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leader-Wahl über eine Lease-Zeile in cluster_lease: wer sie hält und rechtzeitig verlängert, ist Leader
+ * und führt die Hintergrund-Jobs aus (Outbox, Erinnerungen, Warteliste, Bild-GC). Fällt der Leader aus,
+ * übernimmt ein anderer Knoten nach Ablauf der Lease; beim regulären Herunterfahren wird sie sofort frei.
+ * <p>
+ * Ohne Cluster-Betrieb ist jeder Knoten Leader. Lokal gilt die Leaderschaft nur bis kurz vor Ablauf der
+ * zuletzt verlängerten Lease, damit ein Knoten ohne Datenbankverbindung rechtzeitig aufhört. Verlängert wird
+ * auf einem eigenen Thread, nicht im gemeinsamen Scheduler: dort könnte ein langer Job die Verlängerung so
+ * lange aufhalten, dass die Lease abläuft und zwei Knoten gleichzeitig Leader sind. Die Lease-Zeile legt die
+ * Migration an (V9), geändert wird sie nur per bedingtem UPDATE: ein Anlegen per merge überschriebe sonst die
+ * Lease, die ein anderer Knoten gerade erworben hat.
+ */
+@Slf4j
+@Component
+public class LeaderElection {
+
+    static final String LEASE_NAME = "scheduler";
+
+    private final ClusterLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterNode node;
+    private final ClusterProperties properties;
+
+    private volatile boolean leader;
+    private volatile long leaderUntilNanos;
+    private ScheduledExecutorService renewer;
+
+    public LeaderElection(ClusterLeaseRepository leaseRepository, TransactionTemplate transactionTemplate,
+                          ClusterNode node, ClusterProperties properties) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.node = node;
+        this.properties = properties;
+    }
+
+    public boolean isLeader() {
+        return !node.isClustered() || (leader && System.nanoTime() - leaderUntilNanos < 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!node.isClustered()) {
+            return;
+        }
+        renewer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cluster-lease").daemon().factory());
+        renewer.scheduleWithFixedDelay(this::renew, 0, properties.getRenewInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void renew() {
+        if (!node.isClustered()) {
+            return;
+        }
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = tryAcquire();
+        } catch (RuntimeException e) {
+            log.warn("Cluster: Lease konnte nicht verlängert werden: {}", e.getMessage());
+            acquired = false;
+        }
+        if (acquired) {
+            // Sicherheitsabstand gegen Uhrenabweichung zwischen den Knoten
+            leaderUntilNanos = started + properties.getLeaseDuration().toNanos() * 4 / 5;
+        }
+        if (acquired != leader) {
+            log.info(acquired ? "Cluster: Knoten {} ist jetzt Leader" : "Cluster: Knoten {} ist nicht mehr Leader",
+                    node.getId());
+        }
+        leader = acquired;
+    }
+
+    private boolean tryAcquire() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getLeaseDuration());
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.tryAcquire(LEASE_NAME, node.getId(), expiresAt, now));
+        return updated != null && updated == 1;
+    }
+
+    @PreDestroy
+    public void release() {
+        if (renewer != null) {
+            // laufende Verlängerung abwarten, sonst setzt sie leader nach der Freigabe wieder
+            renewer.shutdown();
+            try {
+                renewer.awaitTermination(properties.getRenewInterval().toMillis() + 1_000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!node.isClustered() || !leader) {
+            return;
+        }
+        leader = false;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.release(LEASE_NAME, node.getId(), LocalDateTime.now()));
+            log.info("Cluster: Knoten {} gibt die Leaderschaft ab", node.getId());
+        } catch (RuntimeException e) {
+            log.warn("Cluster: Lease konnte nicht freigegeben werden, läuft nach {} ab", properties.getLeaseDuration());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * JCache-RegionFactory, die einen CacheMode ohne Schreiben (z. B. {@link CacheMode#GET}) auch beim Query-Cache
+ * einhält. Hibernate 6.6 legt bei einem Fehltreffer im Query-Cache das Ergebnis sonst trotzdem ab, bei Entities
+ * wird der Modus beachtet. Gebraucht für Lesezugriffe auf die Read-Replica, siehe
+ * {@link edu.hm.cs.kreisel_backend.datasource.ReplicaReadJpaDialect}.
+ */
+public class CacheModeAwareRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new PutRespectingStorageAccess(super.createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    private record PutRespectingStorageAccess(StorageAccess delegate) implements StorageAccess {
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            // Während der Query steht hier der für sie geltende CacheMode
+            if (session == null || session.getCacheMode().isPutEnabled()) {
+                delegate.putIntoCache(key, value, session);
+            }
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
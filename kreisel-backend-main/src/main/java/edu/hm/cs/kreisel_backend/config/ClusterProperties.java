@@ -0,0 +1,17 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class ClusterProperties {
+    private boolean enabled = false; // mehrere Knoten gegen eine gemeinsame Datenbank, braucht Flyway und app.jwt.secret
+    private String nodeId = ""; // leer = Hostname plus Zufallssuffix
+    private Duration leaseDuration = Duration.ofSeconds(15); // so lange bleibt ein ausgefallener Leader im Amt
+    private Duration renewInterval = Duration.ofSeconds(5); // deutlich kürzer als leaseDuration
+    private Duration pollInterval = Duration.ofSeconds(1); // Verzögerung der Nachrichten zwischen den Knoten
+    private Duration pollOverlap = Duration.ofSeconds(5); // Rückblick gegen spät committete Nachrichten und Uhrenabweichung
+    private Duration messageRetention = Duration.ofHours(1);
+    private int batchSize = 500;
+}
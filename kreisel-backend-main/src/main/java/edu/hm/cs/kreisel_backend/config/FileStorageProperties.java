@@ -1,8 +1,11 @@
 package edu.hm.cs.kreisel_backend.config;
 
 import lombok.Data;
+import org.springframework.util.unit.DataSize;
 
 @Data
 public class FileStorageProperties {
     private String dir = "uploads"; // Default value
-}
\ No newline at end of file
+    private DataSize maxImageSize = DataSize.ofMegabytes(5); // größere Uploads werden beim Lesen abgebrochen
+    private int maxConcurrentUploads = 4; // gleichzeitige Bild-Uploads, darüber 503
+}
@@ -3,6 +3,7 @@ package edu.hm.cs.kreisel_backend.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,4 +28,23 @@ public class FileUploadConfig {
         }
         return path;
     }
-}
\ No newline at end of file
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.images")
+    public ImageProperties imageProperties() {
+        return new ImageProperties();
+    }
+
+    // Begrenzter Worker-Pool für Thumbnails: volle Queue -> Auftrag wird abgelehnt statt Speicher zu fressen
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(ImageProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,86 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-Level-Cache (Item, User) und Query-Cache (Katalog-Filter) von Hibernate, gespeichert in Caffeine über
+ * JCache. Invalidiert wird von Hibernate selbst: Entity-Schreibzugriffe aktualisieren den Eintrag, Bulk-Updates
+ * (Bewertungsstatistik, Thumbnails) leeren die Item-Region, und jede Änderung an app_item (Anlegen, Ändern,
+ * Ausleihe, Rückgabe) macht die gecachten Abfragen ungültig. Im Cluster-Betrieb kommt
+ * {@link edu.hm.cs.kreisel_backend.cluster.EntityCacheInvalidator} für die anderen Knoten dazu.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // Regionen wie in @Cache an Item und User bzw. in den QueryHints von ItemRepository
+    public static final String ITEM_REGION = "item";
+    public static final String USER_REGION = "user";
+    public static final String ITEM_QUERY_REGION = "item-queries";
+    public static final List<String> REGIONS = List.of(ITEM_REGION, USER_REGION, ITEM_QUERY_REGION);
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.hibernate-cache")
+    public HibernateCacheProperties hibernateCacheProperties() {
+        return new HibernateCacheProperties();
+    }
+
+    // Eigener CacheManager pro Kontext, sonst teilen sich mehrere Kontexte in einer JVM (Tests) die Caches
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("kreisel-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(ITEM_REGION, region(properties.getItemMaxEntries(), properties.getItemTtl()));
+        cacheManager.createCache(USER_REGION, region(properties.getUserMaxEntries(), properties.getUserTtl()));
+        cacheManager.createCache(ITEM_QUERY_REGION, region(properties.getQueryMaxEntries(), properties.getQueryTtl()));
+        // Von Hibernate immer angelegt; die Zeitstempel (einer pro Tabelle) dürfen nicht vor den Abfragen verfallen
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(properties.getQueryMaxEntries(), properties.getQueryTtl()));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(1_000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(HibernateCacheProperties properties,
+                                                                  CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isEnabled());
+            if (!properties.isEnabled()) {
+                return;
+            }
+            // JCache, dazu CacheMode.GET auch für den Query-Cache (read-only-Transaktionen auf der Read-Replica)
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new CacheModeAwareRegionFactory());
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Tippfehler in einem Regionsnamen fallen beim Start auf statt als unbegrenzter Cache
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Für die Trefferquoten pro Region (kreisel.cache.l2.*), ohne "Session Metrics" im Log
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,16 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class HibernateCacheProperties {
+    private boolean enabled = true; // Second-Level-Cache für Item und User, Query-Cache für die Katalog-Abfragen
+    private long itemMaxEntries = 20_000;
+    private Duration itemTtl = Duration.ofMinutes(10); // obere Grenze für Änderungen, die am Cache vorbeigehen
+    private long userMaxEntries = 10_000;
+    private Duration userTtl = Duration.ofMinutes(10); // im Cluster-Betrieb: so lange sehen andere Knoten alte User-Daten
+    private long queryMaxEntries = 1_000;
+    private Duration queryTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,20 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // POST-Endpunkte, die den Idempotency-Key-Header auswerten (Ant-Pattern)
+    private List<String> paths = List.of("/api/rentals/rent", "/api/rentals/*/extend", "/api/rentals/*/return",
+            "/api/reviews");
+    private Duration ttl = Duration.ofHours(1); // App-Retries kommen nach Sekunden bis Minuten
+    private DataSize maxSize = DataSize.ofMegabytes(16); // Budget für gespeicherte Antworten, danach wird verdrängt
+    private DataSize maxResponseSize = DataSize.ofKilobytes(64); // größere Antworten werden nur vermerkt (Wiederholung: 409)
+    private DataSize maxRequestSize = DataSize.ofKilobytes(64); // größere Bodies mit Key werden mit 413 abgelehnt
+    private Duration waitTimeout = Duration.ofSeconds(10); // so lange wartet ein paralleles Duplikat auf das Original
+}
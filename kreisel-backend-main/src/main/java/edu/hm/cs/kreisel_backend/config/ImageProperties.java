@@ -0,0 +1,18 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+public class ImageProperties {
+    private List<Integer> variantWidths = List.of(160, 480, 1024); // vorgerenderte Breiten in Pixel
+    private int workerThreads = 2; // Threads für die Thumbnail-Erzeugung
+    private int queueCapacity = 100; // wartende Aufträge, darüber werden neue verworfen
+    private long maxPixels = 40_000_000; // Schutz vor Dekompressionsbomben
+    private Duration gcGracePeriod = Duration.ofHours(1); // so lange bleiben unreferenzierte Blobs liegen
+    private DataSize cacheSize = DataSize.ofMegabytes(64); // Budget für gecachte Bildbytes (off-heap), 0 = aus
+    private DataSize cacheMaxEntrySize = DataSize.ofMegabytes(1); // größere Dateien gehen immer per sendfile/Disk
+}
@@ -0,0 +1,12 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class JwtProperties {
+    // Base64, mindestens 32 Bytes (HS256); leer = zufälliger Schlüssel pro Start, Tokens gelten dann nur auf diesem Knoten
+    private String secret = "";
+    private Duration expiration = Duration.ofHours(10);
+}
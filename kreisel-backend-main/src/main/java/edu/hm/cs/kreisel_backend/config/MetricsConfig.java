@@ -0,0 +1,178 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import edu.hm.cs.kreisel_backend.datasource.ReplicaMonitor;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.monitoring.CountSnapshot;
+import edu.hm.cs.kreisel_backend.security.RateLimiter;
+import edu.hm.cs.kreisel_backend.service.AvailabilityStreamService;
+import edu.hm.cs.kreisel_backend.service.ImageCache;
+import edu.hm.cs.kreisel_backend.web.IdempotencyStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Fachliche Gauges für Prometheus. Endpunkt-Timer (http.server.requests), Repository-Timer
+ * (spring.data.repository.invocations) und die @Timed/@Counted-Metriken der Services kommen von Spring Boot,
+ * Perzentile dazu in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Werte aus dem CountSnapshot (COUNT-Abfragen im festen Takt, nicht pro Scrape)
+    @Bean
+    public MeterBinder locationMetrics(CountSnapshot counts) {
+        return registry -> {
+            for (Location location : Location.values()) {
+                Gauge.builder("kreisel.items.available", counts, snapshot -> snapshot.getAvailableItems(location))
+                        .description("Verfügbare Items pro Standort")
+                        .tag("location", location.name())
+                        .register(registry);
+                Gauge.builder("kreisel.rentals.active", counts, snapshot -> snapshot.getActiveRentals(location))
+                        .description("Laufende Ausleihen pro Standort")
+                        .tag("location", location.name())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder imageCacheMetrics(ImageCache imageCache) {
+        return registry -> {
+            Gauge.builder("kreisel.images.cache.hit.ratio", imageCache, cache -> cache.stats().hitRatio())
+                    .register(registry);
+            Gauge.builder("kreisel.images.cache.size", imageCache, cache -> cache.stats().cachedBytes())
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.images.served", imageCache, cache -> cache.stats().bytesServed())
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.images.served.cached", imageCache,
+                            cache -> cache.stats().bytesServedFromCache())
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder availabilityStreamMetrics(AvailabilityStreamService streamService) {
+        return registry -> {
+            Gauge.builder("kreisel.stream.subscribers", streamService, AvailabilityStreamService::getSubscriberCount)
+                    .description("Offene SSE-Verbindungen (Live-Verfügbarkeit)")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.stream.disconnected.slow", streamService,
+                            AvailabilityStreamService::getDisconnectedSlowCount)
+                    .description("Wegen vollem Puffer getrennte SSE-Clients")
+                    .register(registry);
+        };
+    }
+
+    // Rückstau der Outbox (inkl. aufgegebener Events), Stand aus dem CountSnapshot
+    @Bean
+    public MeterBinder outboxMetrics(CountSnapshot counts) {
+        return registry -> Gauge.builder("kreisel.outbox.pending", counts, CountSnapshot::getPendingOutboxEvents)
+                .description("Noch nicht zugestellte Domain-Events")
+                .register(registry);
+    }
+
+    // Ausführungen/Replays zählt der Filter selbst (kreisel.idempotency.requests)
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyStore idempotencyStore) {
+        return registry -> Gauge.builder("kreisel.idempotency.entries", idempotencyStore, IdempotencyStore::size)
+                .description("Gespeicherte bzw. laufende Requests mit Idempotency-Key")
+                .register(registry);
+    }
+
+    // Abgewiesene Requests zählt der RateLimiter selbst (kreisel.ratelimit.rejected)
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimiter rateLimiter) {
+        return registry -> Gauge.builder("kreisel.ratelimit.buckets", rateLimiter, RateLimiter::size)
+                .description("Gehaltene Token-Buckets (IPs und User)")
+                .register(registry);
+    }
+
+    // 1 auf dem Knoten, der die Hintergrund-Jobs ausführt; ohne Cluster-Betrieb immer 1
+    @Bean
+    public MeterBinder clusterMetrics(LeaderElection leaderElection) {
+        return registry -> Gauge.builder("kreisel.cluster.leader", leaderElection, election -> election.isLeader() ? 1 : 0)
+                .description("Dieser Knoten ist Leader")
+                .register(registry);
+    }
+
+    // Nur mit app.datasource.replica.enabled; Lag -1 = Replica nicht erreichbar
+    @Bean
+    public MeterBinder replicaMetrics(ObjectProvider<ReplicaMonitor> replicaMonitor) {
+        return registry -> replicaMonitor.ifAvailable(monitor -> {
+            Gauge.builder("kreisel.datasource.replica.lag", monitor, m -> m.getLagMillis() < 0 ? -1 : m.getLagMillis() / 1000.0)
+                    .description("Gemessener Rückstand der Read-Replica")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("kreisel.datasource.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                    .description("Read-only-Transaktionen lesen von der Replica")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.datasource.connections", monitor, ReplicaMonitor::getReplicaReads)
+                    .description("Vergebene Verbindungen nach Ziel")
+                    .tags("target", "replica", "mode", "read")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.datasource.connections", monitor, ReplicaMonitor::getPrimaryReads)
+                    .description("Vergebene Verbindungen nach Ziel")
+                    .tags("target", "primary", "mode", "read")
+                    .register(registry);
+            FunctionCounter.builder("kreisel.datasource.connections", monitor, ReplicaMonitor::getWrites)
+                    .description("Vergebene Verbindungen nach Ziel")
+                    .tags("target", "primary", "mode", "write")
+                    .register(registry);
+        });
+    }
+
+    // Trefferquote pro Region aus den Hibernate-Statistiken (nur mit app.hibernate-cache.enabled)
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : HibernateCacheConfig.REGIONS) {
+                regionCounter("kreisel.cache.l2.requests", statistics, region, CacheRegionStatistics::getHitCount)
+                        .tag("result", "hit").register(registry);
+                regionCounter("kreisel.cache.l2.requests", statistics, region, CacheRegionStatistics::getMissCount)
+                        .tag("result", "miss").register(registry);
+                regionCounter("kreisel.cache.l2.puts", statistics, region, CacheRegionStatistics::getPutCount)
+                        .register(registry);
+                Gauge.builder("kreisel.cache.l2.hit.ratio", statistics, stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                        .description("Trefferquote im Second-Level- bzw. Query-Cache seit dem Start")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static FunctionCounter.Builder<Statistics> regionCounter(String name, Statistics statistics, String region,
+                                                                     ToLongFunction<CacheRegionStatistics> value) {
+        return FunctionCounter.builder(name, statistics, stats -> {
+                    CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+                    return regionStatistics == null ? 0 : value.applyAsLong(regionStatistics);
+                })
+                .description("Second-Level- bzw. Query-Cache pro Region")
+                .tag("region", region);
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return 0;
+        }
+        long requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? 0 : (double) statistics.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,36 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.notification.FileNotificationSender;
+import edu.hm.cs.kreisel_backend.notification.NotificationSender;
+import edu.hm.cs.kreisel_backend.notification.SmtpNotificationSender;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.nio.file.Path;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.notifications")
+    public NotificationProperties notificationProperties() {
+        return new NotificationProperties();
+    }
+
+    // JavaMailSender gibt es nur, wenn spring.mail.host gesetzt ist
+    @Bean
+    public NotificationSender notificationSender(NotificationProperties properties,
+                                                 ObjectProvider<JavaMailSender> mailSender,
+                                                 ObjectMapper objectMapper) {
+        return switch (properties.getSender()) {
+            case SMTP -> new SmtpNotificationSender(mailSender.getIfAvailable(() -> {
+                throw new IllegalStateException("app.notifications.sender=smtp braucht spring.mail.host");
+            }), properties.getFrom());
+            case FILE -> new FileNotificationSender(Path.of(properties.getFileDir()), objectMapper);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+@Data
+public class NotificationProperties {
+    private boolean enabled = true; // false = Erinnerungs-Job läuft nicht
+    private Sender sender = Sender.FILE;
+    private String from = "kreisel@hm.edu";
+    private String fileDir = "notifications"; // Zielverzeichnis für sender=file
+    private int daysBeforeDue = 2; // Erinnerung, sobald das Enddatum höchstens so viele Tage entfernt ist
+    private int overdueLookbackDays = 30; // ältere überfällige Ausleihen werden nicht mehr angeschrieben
+    private int chunkSize = 500; // User pro Abfrage-Chunk
+
+    public enum Sender {
+        SMTP, FILE
+    }
+}
@@ -0,0 +1,15 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.outbox")
+    public OutboxProperties outboxProperties() {
+        return new OutboxProperties();
+    }
+}
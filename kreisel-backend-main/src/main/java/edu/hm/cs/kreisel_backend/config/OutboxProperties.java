@@ -0,0 +1,16 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class OutboxProperties {
+    private boolean enabled = true; // false = Events werden nur geschrieben, nicht zugestellt
+    private Duration pollInterval = Duration.ofMillis(500); // Pause zwischen zwei Abfragen, wenn nichts ansteht
+    private int batchSize = 100; // Events pro Abfrage
+    private int maxAttempts = 10; // danach bleibt das Event unzugestellt liegen (siehe last_error)
+    private Duration retryDelay = Duration.ofSeconds(5); // erste Wartezeit nach einem Fehler, verdoppelt sich
+    private Duration maxRetryDelay = Duration.ofHours(1);
+    private Duration retention = Duration.ofDays(1); // so lange bleiben zugestellte Events zur Diagnose stehen
+}
@@ -0,0 +1,30 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Duration idleTimeout = Duration.ofMinutes(10); // so lange unbenutzte Buckets werden verworfen
+    private long maxKeys = 100_000; // Obergrenze gehaltener Buckets (IPs + User), danach wird verdrängt
+    // Routengruppen, die Zuordnung der Pfade steht in SecurityConfig
+    private Map<String, Limit> groups = new LinkedHashMap<>(Map.of(
+            // pro IP; großzügig, weil sich das Campus-WLAN wenige NAT-Adressen teilt (Semesterstart)
+            "login", new Limit(100, 200),
+            "public", new Limit(120, 600), // pro IP und nur ohne Token, öffentliche Item- und Review-Listen
+            "user", new Limit(60, 300))); // pro angemeldetem User, alle übrigen API-Aufrufe
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long capacity; // Burst: so viele Requests gehen sofort durch
+        private long refillPerMinute; // danach dauerhaft erlaubte Rate
+    }
+}
@@ -0,0 +1,99 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import edu.hm.cs.kreisel_backend.datasource.ReadWriteRoutingDataSource;
+import edu.hm.cs.kreisel_backend.datasource.ReplicaReadJpaDialect;
+import edu.hm.cs.kreisel_backend.datasource.ReplicaMonitor;
+import edu.hm.cs.kreisel_backend.datasource.ReplicaPools;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.replica")
+    public ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+
+    /**
+     * Ersetzt die DataSource von Spring Boot durch zwei Hikari-Pools (primär und Replica) hinter einem
+     * {@link ReadWriteRoutingDataSource}. Ohne app.datasource.replica.enabled bleibt alles beim Alten.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    static class Routing {
+
+        @Bean
+        public ReplicaPools replicaPools(DataSourceProperties dataSourceProperties, ReplicaProperties replica,
+                                         Environment environment) {
+            // spring.datasource.hikari.* gilt weiter für den primären Pool
+            HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+            if (primary.getPoolName() == null) {
+                primary.setPoolName("kreisel-primary");
+            }
+
+            HikariDataSource replicaPool = new HikariDataSource();
+            replicaPool.setPoolName("kreisel-replica");
+            replicaPool.setJdbcUrl(replica.getUrl());
+            replicaPool.setUsername(replica.getUsername());
+            replicaPool.setPassword(replica.getPassword());
+            replicaPool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicaPool.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            replicaPool.setReadOnly(true);
+            return new ReplicaPools(primary, replicaPool);
+        }
+
+        @Bean
+        public ReplicaMonitor replicaMonitor(ReplicaPools pools, ReplicaProperties replica) {
+            return new ReplicaMonitor(pools.primary(), pools.replica(), replica);
+        }
+
+        // Verbindung erst beim ersten Statement holen, dann steht das read-only-Flag der Transaktion fest
+        @Bean
+        public DataSource dataSource(ReplicaPools pools, ReplicaMonitor monitor) {
+            return new LazyConnectionDataSourceProxy(
+                    new ReadWriteRoutingDataSource(pools.primary(), pools.replica(), monitor));
+        }
+
+        // Sonst hält Hibernate (mit Open-in-View) die erste Verbindung bis zum Ende des Requests, auch für
+        // spätere Schreib-Transaktionen; so wird pro Transaktion neu geroutet
+        @Bean
+        public HibernatePropertiesCustomizer connectionPerTransaction() {
+            return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        }
+
+        // Replica-Stände nicht in den Second-Level-/Query-Cache schreiben. Der JpaTransactionManager übernimmt
+        // den Dialekt der EntityManagerFactory, daher wird er dort gesetzt, bevor sie initialisiert wird
+        @Bean
+        public static BeanPostProcessor replicaReadJpaDialect() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                        factory.setJpaDialect(new ReplicaReadJpaDialect());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
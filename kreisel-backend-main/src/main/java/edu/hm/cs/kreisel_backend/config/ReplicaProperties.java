@@ -0,0 +1,17 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class ReplicaProperties {
+    private boolean enabled = false; // read-only-Transaktionen an die Replica, braucht das Flyway-Schema (replica_heartbeat)
+    private String url = "";
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(2); // kurz, sonst wartet der Fallback auf die primäre DB zu lange
+    private Duration maxLag = Duration.ofSeconds(5); // größerer Rückstand = Lesezugriffe wieder auf die primäre DB
+    private Duration checkInterval = Duration.ofSeconds(1); // Heartbeat schreiben und Rückstand messen
+}
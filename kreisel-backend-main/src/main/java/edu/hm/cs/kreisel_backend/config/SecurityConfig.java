@@ -1,6 +1,9 @@
 package edu.hm.cs.kreisel_backend.config;
 
 import edu.hm.cs.kreisel_backend.security.JwtAuthenticationFilter;
+import edu.hm.cs.kreisel_backend.security.RateLimitFilter;
+import edu.hm.cs.kreisel_backend.security.RateLimitFilter.KeyType;
+import edu.hm.cs.kreisel_backend.security.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -22,12 +26,15 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -47,6 +54,11 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
+                        // Health und Prometheus-Scrape ohne Login, restliche Actuator-Endpunkte nur für Admins
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Cache-Kennzahlen nur für Admins, muss vor der Bild-Freigabe stehen
+                        .requestMatchers("/api/items/images/cache-stats").hasRole("ADMIN")
                         // Öffentlichen Zugang zu Bildern erlauben
                         .requestMatchers("/api/items/images/**").permitAll()
                         // Öffentlichen Zugriff auf Item-Details erlauben
@@ -54,6 +66,11 @@ public class SecurityConfig {
                         // Zugriff auf Reviews für alle erlauben (nur Lesen)
                         .requestMatchers(HttpMethod.GET, "/api/reviews/item/**").permitAll()
 
+                        // User kann seine eigenen Daten zugreifen (vor /api/users/{id}, das "me" sonst mit abdeckt)
+                        .requestMatchers("/api/users/me").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/users/me").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/users/me").authenticated()
+
                         // Admin-only endpoints
                         .requestMatchers("/api/users").hasRole("ADMIN")
                         .requestMatchers("/api/users/{id}").hasRole("ADMIN")
@@ -66,14 +83,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/items/{id}/image").hasRole("ADMIN")
 
                         // Item-Verwaltung nur für Admins
+                        .requestMatchers(HttpMethod.POST, "/api/items/import").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/items").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/items/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/items/{id}").hasRole("ADMIN")
 
-                        // User kann seine eigenen Daten zugreifen
-                        .requestMatchers("/api/users/me").authenticated()
-                        .requestMatchers(HttpMethod.PUT, "/api/users/me").authenticated()
-                        .requestMatchers(HttpMethod.DELETE, "/api/users/me").authenticated()
+                        // Warteliste für ausgeliehene Items
+                        .requestMatchers("/api/items/{id}/waitlist").authenticated()
 
                         // Review-Funktionalität für authentifizierte Benutzer
                         .requestMatchers(HttpMethod.POST, "/api/reviews").authenticated()
@@ -94,11 +110,35 @@ public class SecurityConfig {
                 .headers(headers -> headers
                         .frameOptions(FrameOptionsConfig::disable)
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // beide nach dem JWT-Filter: das IP-Limit der öffentlichen Listen gilt nur ohne gültigen Token
+                .addFilterAfter(ipRateLimitFilter(), JwtAuthenticationFilter.class)
+                .addFilterAfter(userRateLimitFilter(), JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Limits pro Routengruppe, Werte unter app.rate-limit.groups.*; die erste passende Gruppe zählt
+    RateLimitFilter ipRateLimitFilter() {
+        return new RateLimitFilter(rateLimiter, KeyType.IP)
+                // Brute Force auf Login/Registrierung
+                .limit("login", antMatcher(HttpMethod.POST, "/api/auth/login"))
+                .limit("login", antMatcher(HttpMethod.POST, "/api/auth/register"))
+                // Scraping der öffentlichen Listen, nur anonym; angemeldete Studierende hinter derselben
+                // NAT-Adresse zählen im User-Bucket
+                .limitAnonymous("public", antMatcher(HttpMethod.GET, "/api/items"))
+                .limitAnonymous("public", antMatcher(HttpMethod.GET, "/api/items/*"))
+                .limitAnonymous("public", antMatcher(HttpMethod.GET, "/api/reviews/item/**"));
+    }
+
+    RateLimitFilter userRateLimitFilter() {
+        return new RateLimitFilter(rateLimiter, KeyType.USER)
+                // Bilder kommen gecacht und in Massen (Listen mit Thumbnails), Live-Stream ist eine Verbindung
+                .exclude(antMatcher("/api/items/images/**"))
+                .exclude(antMatcher("/api/items/stream"))
+                .limit("user", AnyRequestMatcher.INSTANCE);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
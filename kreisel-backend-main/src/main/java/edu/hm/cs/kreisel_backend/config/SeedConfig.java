@@ -0,0 +1,37 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.seed.DataSeeder;
+import edu.hm.cs.kreisel_backend.seed.SeedProperties;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Synthetische Testdaten beim Start: --spring.profiles.active=seed (Mengen in application-seed.properties)
+@Configuration
+@Profile("seed")
+public class SeedConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.seed")
+    public SeedProperties seedProperties() {
+        return new SeedProperties();
+    }
+
+    // BCrypt nur einmal, alle Nutzer teilen sich den Hash
+    @Bean
+    public DataSeeder dataSeeder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 SeedProperties properties, PasswordEncoder passwordEncoder) {
+        return new DataSeeder(jdbcTemplate, transactionTemplate, properties,
+                passwordEncoder.encode(properties.getPassword()));
+    }
+
+    @Bean
+    public ApplicationRunner seedRunner(DataSeeder dataSeeder) {
+        return args -> dataSeeder.seed();
+    }
+}
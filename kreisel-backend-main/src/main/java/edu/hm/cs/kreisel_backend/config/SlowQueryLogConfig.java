@@ -0,0 +1,39 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.monitoring.ObservedDataSource;
+import edu.hm.cs.kreisel_backend.monitoring.SlowQueryLogger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SlowQueryLogConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.slow-query")
+    public SlowQueryProperties slowQueryProperties() {
+        return new SlowQueryProperties();
+    }
+
+    // Legt den Slow-Query-Wrapper um die DataSource (Hikari bleibt darunter unverändert)
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+                    SlowQueryProperties config = properties.getObject();
+                    if (config.isEnabled()) {
+                        return new ObservedDataSource(dataSource,
+                                new SlowQueryLogger(config.getThresholdMs()), config.getSampleRate());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
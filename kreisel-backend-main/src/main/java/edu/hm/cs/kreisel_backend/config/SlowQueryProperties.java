@@ -0,0 +1,10 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+@Data
+public class SlowQueryProperties {
+    private boolean enabled = true;
+    private long thresholdMs = 200; // nur langsamere Statements werden geloggt
+    private double sampleRate = 0.05; // Anteil der Statements, die überhaupt gemessen werden (0.0 - 1.0)
+}
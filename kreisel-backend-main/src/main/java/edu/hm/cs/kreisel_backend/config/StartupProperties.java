@@ -0,0 +1,9 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+@Data
+public class StartupProperties {
+    private String reportFile = ""; // Zeitleiste des Starts als JSON, leer = nur Zusammenfassung im Log
+    private int slowestBeans = 15; // so viele Beans mit der längsten eigenen Initialisierung im Bericht
+}
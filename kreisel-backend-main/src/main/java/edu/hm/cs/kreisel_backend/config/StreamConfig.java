@@ -0,0 +1,15 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StreamConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.stream")
+    public StreamProperties streamProperties() {
+        return new StreamProperties();
+    }
+}
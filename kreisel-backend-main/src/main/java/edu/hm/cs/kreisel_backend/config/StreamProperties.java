@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class StreamProperties {
+    private int maxSubscribers = 10_000; // darüber 503, Tomcat erlaubt standardmäßig 8192 Verbindungen
+    private int bufferSize = 64; // Events pro Client; läuft der Puffer über, wird der Client getrennt
+    private Duration timeout = Duration.ofMinutes(30); // danach verbindet sich der Browser (EventSource) neu
+    private Duration heartbeatInterval = Duration.ofSeconds(30); // hält Proxies offen, erkennt tote Verbindungen
+}
@@ -0,0 +1,15 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WaitlistConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.waitlist")
+    public WaitlistProperties waitlistProperties() {
+        return new WaitlistProperties();
+    }
+}
@@ -0,0 +1,11 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class WaitlistProperties {
+    private Duration holdDuration = Duration.ofHours(2); // so lange ist ein zurückgegebenes Item für den Nächsten reserviert
+    private int maxEntriesPerUser = 5; // Wartelisten-Plätze pro User, wie die Obergrenze aktiver Ausleihen
+}
@@ -0,0 +1,159 @@
+package edu.hm.cs.kreisel_backend.controller;
+
+import edu.hm.cs.kreisel_backend.service.ImageCache;
+import edu.hm.cs.kreisel_backend.service.ImageService;
+import edu.hm.cs.kreisel_backend.service.ImageService.ImageFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Auslieferung der Item-Bilder mit Cache-Headern, bedingten Requests (ETag/Last-Modified) und Range-Support.
+ * Häufig abgerufene kleine Bilder kommen aus dem {@link ImageCache}, größere Dateien gehen per Tomcat-sendfile
+ * raus, sonst per FileChannel.transferTo.
+ */
+@RestController
+@RequestMapping("/api/items/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_DEFAULT = "public, max-age=86400";
+
+    // Tomcat-Request-Attribute für sendfile (werden nach dem Handler vom Connector ausgewertet)
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Kleine Dateien lohnen sendfile nicht (gleiche Grenze wie Tomcats DefaultServlet)
+    static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private final ImageService imageService;
+    private final ImageCache imageCache;
+
+    // Kennzahlen des Bild-Caches (Trefferquote, belegte und ausgelieferte Bytes), nur für Admins
+    @GetMapping("/cache-stats")
+    public ImageCache.Stats getCacheStats() {
+        return imageCache.stats();
+    }
+
+    // Serve images, optional als vorgerenderte Variante (?w=160 -> kleinste Variante mit mindestens 160px)
+    @GetMapping("/{filename:.+}")
+    public void getImage(@PathVariable String filename,
+                         @RequestParam(name = "w", required = false) Integer width,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<ImageFile> resolved = imageService.resolve(filename, width);
+        if (resolved.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ImageFile image = resolved.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.immutable() ? CACHE_IMMUTABLE : CACHE_DEFAULT);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Setzt ETag/Last-Modified und antwortet ggf. direkt mit 304
+        if (new ServletWebRequest(request, response).checkNotModified(image.etag(), image.lastModified())) {
+            return;
+        }
+
+        response.setContentType(image.contentType());
+
+        long start = 0;
+        long length = image.length();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, image)) {
+            // Ungültiger oder leerer Range-Header wird ignoriert (RFC 9110, 14.2): dann kommt die ganze Datei
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Mehrere Bereiche (multipart/byteranges) werden nicht unterstützt, dann kommt ebenfalls die ganze Datei;
+            // 416 nur für einen einzelnen, gültigen Bereich außerhalb der Datei
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                long rangeStart = range.getRangeStart(image.length());
+                long rangeEnd = range.getRangeEnd(image.length());
+                if (image.length() == 0 || rangeStart >= image.length() || rangeStart > rangeEnd) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + image.length());
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = rangeStart;
+                length = rangeEnd - rangeStart + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + rangeStart + "-" + rangeEnd + "/" + image.length());
+            }
+        }
+
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        transfer(image, start, length, request, response);
+    }
+
+    // If-Range: Bereich nur liefern, wenn der Client noch dieselbe Version hat
+    private boolean ifRangeMatches(HttpServletRequest request, ImageFile image) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(image.etag());
+    }
+
+    private void transfer(ImageFile image, long start, long length, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Optional<ByteBuffer> cached = imageCache.get(image);
+        if (cached.isPresent()) {
+            ByteBuffer data = cached.get();
+            data.position((int) start).limit((int) (start + length));
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (data.hasRemaining()) {
+                out.write(data);
+            }
+            imageCache.recordServed(length, true);
+            return;
+        }
+        imageCache.recordServed(length, false);
+
+        if (length >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
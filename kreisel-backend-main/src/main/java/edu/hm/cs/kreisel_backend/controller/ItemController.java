@@ -1,26 +1,27 @@
 package edu.hm.cs.kreisel_backend.controller;
 
+import edu.hm.cs.kreisel_backend.dto.ItemImportResult;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Item.*;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.security.SecurityUtils;
+import edu.hm.cs.kreisel_backend.service.AvailabilityStreamService;
+import edu.hm.cs.kreisel_backend.service.ImageUploadService;
+import edu.hm.cs.kreisel_backend.service.ItemImportService;
 import edu.hm.cs.kreisel_backend.service.ItemService;
+import edu.hm.cs.kreisel_backend.service.UploadRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/items")
@@ -29,6 +30,9 @@ public class ItemController {
 
     private final ItemService itemService;
     private final SecurityUtils securityUtils;
+    private final ItemImportService itemImportService;
+    private final ImageUploadService imageUploadService;
+    private final AvailabilityStreamService availabilityStreamService;
 
     //nur der User soll diese Methode haben um nach seinen Wünschen zu filtern
     // Haupt-GET-Endpunkt mit allen Filtern
@@ -53,6 +57,15 @@ public class ItemController {
         ));
     }
 
+    // Live-Verfügbarkeit per SSE statt Polling: Events "availability" mit {itemId, location, available}.
+    // Erst die Liste per GET laden, dann nur noch die Änderungen anwenden.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam Location location) {
+        return availabilityStreamService.subscribe(location)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(503).build());
+    }
+
     //hier was sinnvolles machen
     @GetMapping("/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
@@ -101,64 +114,104 @@ public class ItemController {
         itemService.deleteItem(id);
         return ResponseEntity.ok().build();
     }
-    // Add these methods to your existing ItemController
+    // nur der Admin soll das machen dürfen
+    // Bulk-Import als Multipart-Upload (Feld "file", .csv oder .ndjson), unterliegt dem Multipart-Größenlimit
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importItems(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ItemImportService.Format format) {
+        ItemImportService.Format resolved = format != null
+                ? format
+                : ItemImportService.Format.detect(file.getContentType(), file.getOriginalFilename());
+        try (InputStream input = file.getInputStream()) {
+            return runImport(input, resolved);
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Import fehlgeschlagen: " + e.getMessage());
+        }
+    }
 
-    @Autowired
-    private Path fileStoragePath;
+    // nur der Admin soll das machen dürfen
+    // Bulk-Import als roher Body (text/csv oder application/x-ndjson), wird direkt aus dem Request gestreamt
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importItemsStream(HttpServletRequest request) {
+        ItemImportService.Format format = ItemImportService.Format.detect(request.getContentType(), null);
+        try (InputStream input = request.getInputStream()) {
+            return runImport(input, format);
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Import fehlgeschlagen: " + e.getMessage());
+        }
+    }
 
-    // Upload image for an item
+    private ResponseEntity<?> runImport(InputStream input, ItemImportService.Format format) throws IOException {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        if (!currentUser.getRole().equals(User.Role.ADMIN)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        if (format == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unbekanntes Format, erlaubt sind CSV und NDJSON"));
+        }
+
+        try {
+            ItemImportResult result = itemImportService.importItems(input, format);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Add these methods to your existing ItemController
+
+    // Upload image for an item (Multipart, Feld "image")
     @PostMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadItemImage(
             @PathVariable Long id,
             @RequestParam("image") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return runUpload(id, input, file.getSize());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Failed to upload image: " + e.getMessage());
+        }
+    }
+
+    // Upload als roher Body (image/*): wird ohne Multipart-Zwischenspeicher direkt in die Temp-Datei gestreamt
+    @PostMapping(value = "/{id}/image", consumes = {
+            MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE, "image/webp",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> uploadItemImageStream(@PathVariable Long id, HttpServletRequest request) {
+        try (InputStream input = request.getInputStream()) {
+            return runUpload(id, input, request.getContentLengthLong());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Failed to upload image: " + e.getMessage());
+        }
+    }
 
+    private ResponseEntity<?> runUpload(Long id, InputStream input, long declaredLength) {
         try {
-            Item item = itemService.getItemById(id);
-            if (item == null) {
+            if (!itemService.existsById(id)) {
                 return ResponseEntity.notFound().build();
             }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : "";
-            String filename = "item_" + id + "_" + UUID.randomUUID().toString() + extension;
-
-            // Save file
-            Path targetLocation = fileStoragePath.resolve(filename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // Update item with image URL
-            String imageUrl = "/api/items/images/" + filename;
-            item.setImageUrl(imageUrl);
-            itemService.updateItem(id, item);
+            // Update item with image URL, Thumbnails entstehen danach im Hintergrund
+            String imageUrl = imageUploadService.upload(id, input, declaredLength);
 
             return ResponseEntity.ok().body(Map.of(
                     "imageUrl", imageUrl
             ));
+        } catch (UploadRejectedException e) {
+            int status = switch (e.getReason()) {
+                case TOO_LARGE -> 413;
+                case UNSUPPORTED_TYPE -> 415;
+                case BUSY -> 503;
+            };
+            return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Failed to upload image: " + e.getMessage());
         }
     }
 
-    // Serve images
-    @GetMapping("/images/{filename:.+}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
-        try {
-            Path filePath = fileStoragePath.resolve(filename);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG) // Adjust content type as needed
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(500).build();
-        }
-    }
-
 }
@@ -1,5 +1,7 @@
 package edu.hm.cs.kreisel_backend.controller;
 
+import edu.hm.cs.kreisel_backend.dto.PageResponse;
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.security.SecurityUtils;
@@ -20,9 +22,14 @@ public class UserController {
     private final SecurityUtils securityUtils;
 
     // Nur der admin soll diese Methode haben um alle user zu suchen
+    // Seitenweise, optional mit Präfix-Suche auf email/fullName, ohne Groß-/Kleinschreibung (z. B. ?search=max&page=0&size=20)
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public PageResponse<UserSummary> getAllUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return PageResponse.of(userService.getUserPage(search, page, size));
     }
 
     // Wieder nur der admin soll diese Methode haben um nach den Usern zu schauen
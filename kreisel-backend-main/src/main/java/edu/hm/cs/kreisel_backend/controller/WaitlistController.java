@@ -0,0 +1,57 @@
+package edu.hm.cs.kreisel_backend.controller;
+
+import edu.hm.cs.kreisel_backend.dto.WaitlistStatus;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.security.SecurityUtils;
+import edu.hm.cs.kreisel_backend.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Warteliste des aktuellen Users für ein ausgeliehenes Item
+@RestController
+@RequestMapping("/api/items/{itemId}/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+    private final SecurityUtils securityUtils;
+
+    // Anstellen; 409 wenn das Item frei ist (direkt ausleihen) oder das Limit erreicht ist
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@PathVariable Long itemId) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            return ResponseEntity.ok(waitlistService.join(currentUser.getId(), itemId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<WaitlistStatus> getWaitlistStatus(@PathVariable Long itemId) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return waitlistService.getStatus(currentUser.getId(), itemId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long itemId) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return waitlistService.leave(currentUser.getId(), itemId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
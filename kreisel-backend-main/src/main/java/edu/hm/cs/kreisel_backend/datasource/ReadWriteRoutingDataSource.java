@@ -0,0 +1,55 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Verbindungen aus read-only-Transaktionen ({@code @Transactional(readOnly = true)}) gehen an die Read-Replica,
+ * alle anderen an die primäre DB. Entschieden wird beim Holen der Verbindung; davor muss ein
+ * LazyConnectionDataSourceProxy liegen, damit das read-only-Flag der Transaktion dann schon gesetzt ist.
+ * <p>
+ * Meldet der {@link ReplicaMonitor} zu viel Rückstand oder scheitert die Verbindung zur Replica, lesen auch
+ * read-only-Transaktionen von der primären DB.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaMonitor monitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            monitor.recordWrite();
+            return primary.getConnection();
+        }
+        if (monitor.isReplicaUsable()) {
+            try {
+                Connection connection = replica.getConnection();
+                monitor.recordReplicaRead();
+                return connection;
+            } catch (SQLException e) {
+                monitor.markUnavailable(e);
+            }
+        }
+        monitor.recordPrimaryRead();
+        return primary.getConnection();
+    }
+
+    // Nur die primäre DB kennt andere Benutzer
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        monitor.recordWrite();
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,119 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import edu.hm.cs.kreisel_backend.config.ReplicaProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Misst den Rückstand der Read-Replica über eine Heartbeat-Zeile: jeder Lauf schreibt die aktuelle Zeit in
+ * replica_heartbeat auf der primären DB und liest die replizierte Zeile auf der Replica. Der Abstand zu jetzt
+ * ist der Rückstand, um höchstens ein checkInterval zu groß. Liegt er über maxLag oder ist die Replica nicht
+ * erreichbar, lesen alle Transaktionen von der primären DB, bis eine Messung wieder passt.
+ * <p>
+ * Im Cluster-Betrieb schreibt jeder Knoten den Heartbeat, es gilt der jüngste.
+ */
+@Slf4j
+public class ReplicaMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+
+    // Bis zur ersten Messung liest alles von der primären DB
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    public ReplicaMonitor(DataSource primary, DataSource replica, ReplicaProperties properties) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout((int) Math.max(1, properties.getConnectionTimeout().toSeconds()));
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval:PT1S}")
+    public void check() {
+        try {
+            writeHeartbeat();
+        } catch (RuntimeException e) {
+            // Ohne primäre DB gibt es nichts Neues zu replizieren; gemessen wird trotzdem
+            log.warn("Replica: Heartbeat konnte nicht geschrieben werden: {}", e.getMessage());
+        }
+
+        LocalDateTime replicated;
+        try {
+            replicated = replica.queryForObject("select beat_at from replica_heartbeat where id = 1", LocalDateTime.class);
+        } catch (RuntimeException e) {
+            update(false, -1, "nicht erreichbar: " + e.getMessage());
+            return;
+        }
+        long lag = Math.max(0, Duration.between(replicated, LocalDateTime.now()).toMillis());
+        update(lag <= properties.getMaxLag().toMillis(), lag, "Rückstand " + lag + " ms");
+    }
+
+    private void writeHeartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        if (primary.update("update replica_heartbeat set beat_at = ? where id = 1", now) == 0) {
+            primary.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", now);
+        }
+    }
+
+    private void update(boolean usable, long lag, String reason) {
+        lagMillis = lag;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica: wieder in Betrieb ({})", reason);
+            } else {
+                log.warn("Replica: Lesezugriffe gehen an die primäre DB ({})", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    // Verbindung zur Replica gescheitert: bis zur nächsten erfolgreichen Messung nicht mehr versuchen
+    void markUnavailable(Exception e) {
+        update(false, lagMillis, "Verbindung fehlgeschlagen: " + e.getMessage());
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    // -1 = unbekannt (Replica nicht erreichbar)
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    void recordReplicaRead() {
+        replicaReads.increment();
+    }
+
+    void recordPrimaryRead() {
+        primaryReads.increment();
+    }
+
+    void recordWrite() {
+        writes.increment();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+}
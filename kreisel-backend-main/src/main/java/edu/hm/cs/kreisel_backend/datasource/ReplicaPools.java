@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Beide Pools als ein Bean, damit außer der Routing-DataSource keine weitere DataSource im Kontext liegt
+public record ReplicaPools(HikariDataSource primary, HikariDataSource replica) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
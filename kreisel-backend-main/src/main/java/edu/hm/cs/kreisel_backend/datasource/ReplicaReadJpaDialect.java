@@ -0,0 +1,57 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Read-only-Transaktionen lesen mit {@link ReadWriteRoutingDataSource} von der Replica, die bis zu max-lag
+ * hinterherhinkt. Damit dieser Stand nicht im Second-Level- und Query-Cache landet und dort bis zur TTL
+ * frischere Daten der primären DB überdeckt, laufen sie mit {@link CacheStoreMode#BYPASS}: aus dem Cache lesen
+ * ja, hineinschreiben nein. Hibernate wertet dafür bei find() die Session-Property und bei Queries den
+ * CacheMode der Session aus, daher werden beide gesetzt. Nach der Transaktion gilt wieder der vorherige Stand,
+ * Open-in-View nutzt die Session weiter.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    static final String CACHE_STORE_MODE = AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE;
+
+    private record ReadOnlyTransactionData(Session session, CacheMode previousCacheMode, Object previousStoreMode,
+                                           Object delegate) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        ReadOnlyTransactionData readOnly = new ReadOnlyTransactionData(session, session.getCacheMode(),
+                session.getProperties().get(CACHE_STORE_MODE), transactionData);
+        session.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        session.setCacheMode(CacheMode.GET);
+        return readOnly;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.session().setProperty(CACHE_STORE_MODE,
+                    readOnly.previousStoreMode() != null ? readOnly.previousStoreMode() : CacheStoreMode.USE);
+            readOnly.session().setCacheMode(readOnly.previousCacheMode());
+            super.cleanupTransaction(readOnly.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package edu.hm.cs.kreisel_backend.dto;
+
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+
+/**
+ * Verfügbarkeit eines Items hat sich geändert (Ausleihe, Rückgabe, Admin-Änderung, Löschen).
+ * Wird aus den Domain-Events (Outbox) abgeleitet und unverändert als SSE-Payload an die Clients geschickt.
+ */
+public record ItemAvailabilityChange(Long itemId, Location location, boolean available) {
+}
@@ -0,0 +1,42 @@
+package edu.hm.cs.kreisel_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ergebnis eines Bulk-Imports inkl. Fehlerbericht pro Zeile.
+ */
+@Data
+public class ItemImportResult {
+
+    // Fehlerliste begrenzen, damit ein komplett kaputter Upload die Antwort nicht aufbläht
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated;
+    private long durationMs;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
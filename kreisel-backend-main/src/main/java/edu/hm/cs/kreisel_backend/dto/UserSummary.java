@@ -0,0 +1,20 @@
+package edu.hm.cs.kreisel_backend.dto;
+
+import edu.hm.cs.kreisel_backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Schlanke Projektion eines Users für Admin-Listen.
+ * Wird direkt per JPQL-Konstruktor-Ausdruck befüllt, die rentals-Collection wird dabei nie geladen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String fullName;
+    private String email;
+    private User.Role role;
+}
@@ -0,0 +1,10 @@
+package edu.hm.cs.kreisel_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Eigener Wartelisten-Platz: position 1 = als Nächstes dran. Ist holdUntil gesetzt, ist das Item bis dahin
+ * für den User reserviert (position 0) und kann über POST /api/rentals/rent ausgeliehen werden.
+ */
+public record WaitlistStatus(Long itemId, long position, LocalDateTime holdUntil) {
+}
@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.event;
+
+/**
+ * Fachliches Ereignis, das im selben Transaktionskontext wie die Änderung in die Outbox geschrieben
+ * und danach asynchron als Spring-Event an die Consumer (@EventListener) verteilt wird.
+ * Zustellung ist at-least-once: Consumer müssen doppelte Events vertragen.
+ */
+public sealed interface DomainEvent
+        permits RentalCreated, RentalExtended, RentalReturned, ReviewCreated, ItemChanged, WaitlistHoldGranted {
+
+    // ID des betroffenen Aggregats (Ausleihe, Bewertung bzw. Item), nur zur Diagnose in der Outbox
+    Long aggregateId();
+}
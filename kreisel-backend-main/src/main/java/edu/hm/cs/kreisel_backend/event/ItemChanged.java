@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.event;
+
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+
+// Anlegen, Ändern oder Löschen eines Items; previousLocation ist gesetzt, wenn das Item umgezogen ist
+public record ItemChanged(Long itemId, Location location, Location previousLocation, boolean available,
+                          boolean deleted) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return itemId;
+    }
+}
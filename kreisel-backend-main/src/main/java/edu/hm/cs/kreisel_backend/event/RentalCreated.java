@@ -0,0 +1,14 @@
+package edu.hm.cs.kreisel_backend.event;
+
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+
+import java.time.LocalDate;
+
+public record RentalCreated(Long rentalId, Long itemId, Long userId, Location location, LocalDate endDate)
+        implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return rentalId;
+    }
+}
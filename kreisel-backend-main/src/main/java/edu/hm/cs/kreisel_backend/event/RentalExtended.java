@@ -0,0 +1,11 @@
+package edu.hm.cs.kreisel_backend.event;
+
+import java.time.LocalDate;
+
+public record RentalExtended(Long rentalId, Long itemId, Long userId, LocalDate endDate) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return rentalId;
+    }
+}
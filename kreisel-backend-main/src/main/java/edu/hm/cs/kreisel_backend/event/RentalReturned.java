@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.event;
+
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+
+// heldForWaitlist: das Item wurde nicht frei, sondern direkt für den nächsten Wartenden reserviert
+public record RentalReturned(Long rentalId, Long itemId, Long userId, Location location, boolean heldForWaitlist)
+        implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return rentalId;
+    }
+}
@@ -0,0 +1,9 @@
+package edu.hm.cs.kreisel_backend.event;
+
+public record ReviewCreated(Long reviewId, Long itemId, Long userId, int rating) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return reviewId;
+    }
+}
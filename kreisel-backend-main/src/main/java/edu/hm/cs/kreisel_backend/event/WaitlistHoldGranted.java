@@ -0,0 +1,13 @@
+package edu.hm.cs.kreisel_backend.event;
+
+import java.time.LocalDateTime;
+
+// Item ist für den nächsten Wartenden bis holdUntil reserviert (Anlass für eine Benachrichtigung)
+public record WaitlistHoldGranted(Long entryId, Long itemId, Long userId, LocalDateTime holdUntil)
+        implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return entryId;
+    }
+}
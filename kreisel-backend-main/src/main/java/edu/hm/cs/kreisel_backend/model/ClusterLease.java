@@ -0,0 +1,26 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lease für die Leader-Wahl: wer owner ist und vor expiresAt verlängert, bleibt Leader
+@Entity
+@Table(name = "cluster_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLease {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
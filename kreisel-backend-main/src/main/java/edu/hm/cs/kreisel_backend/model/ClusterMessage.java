@@ -0,0 +1,37 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Nachricht an die anderen Knoten (Cache-Invalidierung, Live-Verfügbarkeit), payload ist die Nachricht als JSON
+@Entity
+@Table(name = "cluster_message", indexes = @Index(name = "idx_cluster_message_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class ClusterMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cluster_message_seq")
+    @SequenceGenerator(name = "cluster_message_seq", sequenceName = "cluster_message_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String nodeId; // Absender, der eigene Knoten liest seine Nachrichten nicht
+
+    @Column(nullable = false, length = 64)
+    private String messageType; // einfacher Klassenname, z.B. AvailabilityBroadcast
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ClusterMessage(String nodeId, String messageType, String payload) {
+        this.nodeId = nodeId;
+        this.messageType = messageType;
+        this.payload = payload;
+    }
+}
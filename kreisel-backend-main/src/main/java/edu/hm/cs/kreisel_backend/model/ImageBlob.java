@@ -0,0 +1,33 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Gespeicherter Bildinhalt, Schlüssel ist der SHA-256; refCount = Anzahl Items, die darauf zeigen
+@Entity
+@Table(name = "image_blob", indexes = @Index(name = "idx_image_blob_unreferenced_since", columnList = "unreferenced_since"))
+@Data
+@NoArgsConstructor
+public class ImageBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(length = 16)
+    private String extension;
+
+    private long size;
+    private int refCount;
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime unreferencedSince; // gesetzt sobald refCount 0 erreicht, Basis für die GC-Schonfrist
+
+    public ImageBlob(String hash, String extension, long size) {
+        this.hash = hash;
+        this.extension = extension;
+        this.size = size;
+        this.refCount = 1;
+    }
+}
@@ -3,15 +3,20 @@ package edu.hm.cs.kreisel_backend.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
 @Entity
-@Table(name = "app_item")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item") // HibernateCacheConfig.ITEM_REGION
+@Table(name = "app_item", indexes = @Index(name = "idx_app_item_image_url", columnList = "image_url"))
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_item_seq")
+    @SequenceGenerator(name = "app_item_seq", sequenceName = "app_item_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -23,6 +28,7 @@ public class Item {
 
     // Simple image storage
     private String imageUrl; // Store path or URL to image
+    private String imageVariants; // vorhandene Thumbnail-Breiten, z. B. "160,480,1024" (abrufbar per ?w=160)
 
     // Review statistics
     private Double averageRating = 0.0;
@@ -0,0 +1,53 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Versandte Benachrichtigung; (type, referenceId, dueDate) verhindert doppelte Mails zum selben Anlass
+@Entity
+@Table(name = "notification",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_reference",
+                columnNames = {"type", "reference_id", "due_date"}),
+        indexes = @Index(name = "idx_notification_user", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(nullable = false)
+    private Long referenceId; // Ausleihe bzw. Wartelisten-Eintrag
+
+    @Column(nullable = false)
+    private LocalDate dueDate; // Enddatum der Ausleihe bzw. Ende der Reservierung
+
+    private LocalDateTime sentAt = LocalDateTime.now();
+
+    public enum Type {
+        DUE_SOON, OVERDUE, WAITLIST_HOLD
+    }
+
+    public Notification(User user, Type type, Long referenceId, LocalDate dueDate) {
+        this.user = user;
+        this.type = type;
+        this.referenceId = referenceId;
+        this.dueDate = dueDate;
+    }
+}
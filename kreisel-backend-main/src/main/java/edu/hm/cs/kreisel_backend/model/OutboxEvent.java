@@ -0,0 +1,41 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Ausstehendes bzw. zugestelltes Domain-Event (Transactional Outbox), payload ist das Event als JSON
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_pending", columnList = "processed_at, available_at"))
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String eventType; // einfacher Klassenname des Events, z.B. RentalCreated
+
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime availableAt = createdAt; // frühester Zustellzeitpunkt, nach Fehlern in der Zukunft
+    private LocalDateTime processedAt; // null = noch nicht zugestellt
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxEvent(String eventType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+}
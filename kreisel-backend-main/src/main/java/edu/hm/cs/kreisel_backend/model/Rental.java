@@ -10,11 +10,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 @Getter
 @Setter
 @Entity
-@Table(name = "app_rental")
+@Table(name = "app_rental", indexes = @Index(name = "idx_app_rental_end_date", columnList = "end_date"))
 public class Rental {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_rental_seq")
+        @SequenceGenerator(name = "app_rental_seq", sequenceName = "app_rental_seq", allocationSize = 50)
         private Long id;
 
         @ManyToOne
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
     @Data
     public class Review {
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+        @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
         private Long id;
 
         @ManyToOne
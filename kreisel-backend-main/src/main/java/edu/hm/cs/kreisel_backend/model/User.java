@@ -4,7 +4,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Pattern;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Setter;
 
 import java.util.List;
@@ -12,11 +16,18 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "app_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user") // HibernateCacheConfig.USER_REGION
+@Table(name = "app_user", indexes = {
+        // email ist bereits über den Unique-Constraint indiziert; die Admin-Suche läuft über die lower-Spalten
+        @Index(name = "idx_app_user_full_name_lower", columnList = "full_name_lower"),
+        @Index(name = "idx_app_user_email_lower", columnList = "email_lower")
+})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_user_seq")
+    @SequenceGenerator(name = "app_user_seq", sequenceName = "app_user_seq", allocationSize = 50)
     private Long id;
 
     private String fullName;
@@ -28,10 +39,25 @@ public class User {
 
     private String password;
 
+    // Von der DB berechnet (lower), nur für die Präfix-Suche in UserRepository
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "full_name_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(full_name))")
+    private String fullNameLower;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(email))")
+    private String emailLower;
+
     @Enumerated(EnumType.STRING)
     private Role role = Role.USER;
 
+    // wird bei der JSON-Ausgabe nachgeladen; mehrere User (z. B. Reviews eines Items) in einem SELECT
     @OneToMany(mappedBy = "user")
+    @BatchSize(size = 50)
     @JsonManagedReference("user-rentals")
     private List<Rental> rentals;
 
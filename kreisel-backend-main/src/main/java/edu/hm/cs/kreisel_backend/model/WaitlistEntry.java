@@ -0,0 +1,45 @@
+package edu.hm.cs.kreisel_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// Platz in der Warteliste eines Items; holdUntil gesetzt = Item ist für diesen User bis dahin reserviert
+@Entity
+@Table(name = "waitlist_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_entry_item_user", columnNames = {"item_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_waitlist_entry_item_created", columnList = "item_id, created_at"),
+                @Index(name = "idx_waitlist_entry_user", columnList = "user_id"),
+                @Index(name = "idx_waitlist_entry_hold_until", columnList = "hold_until")
+        })
+@Data
+@NoArgsConstructor
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entry_seq")
+    @SequenceGenerator(name = "waitlist_entry_seq", sequenceName = "waitlist_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "item_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    private LocalDateTime createdAt = LocalDateTime.now(); // Reihenfolge (FIFO)
+    private LocalDateTime holdUntil; // null = wartet noch
+
+    public WaitlistEntry(Item item, User user) {
+        this.item = item;
+        this.user = user;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import edu.hm.cs.kreisel_backend.repository.RentalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Zählwerte für die fachlichen Gauges (verfügbare Items und laufende Ausleihen pro Standort, Outbox-Rückstau),
+ * im festen Takt per COUNT ermittelt. Ein Scrape von /actuator/prometheus liest nur den letzten Stand und
+ * löst keine Datenbankabfragen aus, egal wie oft er kommt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountSnapshot {
+
+    private final ItemRepository itemRepository;
+    private final RentalRepository rentalRepository;
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final Map<Location, Long> availableItems = new EnumMap<>(Location.class);
+    private final Map<Location, Long> activeRentals = new EnumMap<>(Location.class);
+    private volatile long pendingOutboxEvents;
+
+    @Scheduled(fixedDelayString = "${app.metrics.count-refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            Map<Location, Long> available = new EnumMap<>(Location.class);
+            Map<Location, Long> active = new EnumMap<>(Location.class);
+            for (Location location : Location.values()) {
+                available.put(location, itemRepository.countByLocationAndAvailableTrue(location));
+                active.put(location, rentalRepository.countByItemLocationAndReturnDateIsNull(location));
+            }
+            long pending = outboxEventRepository.countByProcessedAtIsNull();
+            synchronized (this) {
+                availableItems.putAll(available);
+                activeRentals.putAll(active);
+            }
+            pendingOutboxEvents = pending;
+        } catch (DataAccessException e) {
+            // letzter Stand bleibt stehen, der nächste Lauf versucht es erneut
+            log.warn("Zählwerte für die Metriken nicht aktualisiert: {}", e.getMessage());
+        }
+    }
+
+    public synchronized long getAvailableItems(Location location) {
+        return availableItems.getOrDefault(location, 0L);
+    }
+
+    public synchronized long getActiveRentals(Location location) {
+        return activeRentals.getOrDefault(location, 0L);
+    }
+
+    public long getPendingOutboxEvents() {
+        return pendingOutboxEvents;
+    }
+}
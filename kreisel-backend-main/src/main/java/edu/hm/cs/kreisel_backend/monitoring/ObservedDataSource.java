@@ -0,0 +1,173 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DataSource-Wrapper, der Dauer und Zeilenanzahl von JDBC-Statements an einen {@link StatementObserver} meldet.
+ * Nur ein Anteil {@code sampleRate} der Statements wird überhaupt gemessen, alle anderen laufen
+ * ungewrappt durch – damit bleibt der Overhead im Normalfall bei einem Zufallswert pro Statement.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+    private final StatementObserver observer;
+    private final double sampleRate;
+
+    public ObservedDataSource(DataSource target, StatementObserver observer, double sampleRate) {
+        super(target);
+        this.observer = observer;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ObservedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && sampled()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Misst eine Ausführung: Zeit im execute-Aufruf plus Zeit in ResultSet.next(), gemeldet beim Schließen.
+     */
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        private String currentSql;
+        private long elapsedNanos;
+        private long rows;
+        private boolean pending;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                report();
+                currentSql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                Object result = ObservedDataSource.invoke(target, method, args);
+                elapsedNanos = System.nanoTime() - start;
+                rows = 0;
+                pending = true;
+
+                if (result instanceof ResultSet resultSet) {
+                    return wrapResultSet(resultSet);
+                }
+                if (result instanceof Integer count) {
+                    rows = Math.max(count, 0);
+                    report();
+                } else if (result instanceof Long count) {
+                    rows = Math.max(count, 0);
+                    report();
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        rows += Math.max(count, 0);
+                    }
+                    report();
+                } else if (result instanceof long[] counts) {
+                    for (long count : counts) {
+                        rows += Math.max(count, 0);
+                    }
+                    report();
+                }
+                return result;
+            }
+
+            Object result = ObservedDataSource.invoke(target, method, args);
+            if ("getResultSet".equals(name) && result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet);
+            }
+            if ("close".equals(name)) {
+                report();
+            }
+            return result;
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            return (ResultSet) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                        if ("next".equals(method.getName())) {
+                            long start = System.nanoTime();
+                            Object hasNext = ObservedDataSource.invoke(resultSet, method, args);
+                            elapsedNanos += System.nanoTime() - start;
+                            if (Boolean.TRUE.equals(hasNext)) {
+                                rows++;
+                            }
+                            return hasNext;
+                        }
+                        Object result = ObservedDataSource.invoke(resultSet, method, args);
+                        if ("close".equals(method.getName())) {
+                            report();
+                        }
+                        return result;
+                    });
+        }
+
+        private void report() {
+            if (pending) {
+                pending = false;
+                observer.onStatement(currentSql, elapsedNanos, rows);
+            }
+        }
+    }
+}
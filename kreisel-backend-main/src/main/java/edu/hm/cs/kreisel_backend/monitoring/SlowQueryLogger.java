@@ -0,0 +1,31 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schreibt nur Statements oberhalb der Schwelle ins Log "kreisel.slow-query"
+ * (in logback-spring.xml über einen AsyncAppender angebunden).
+ */
+public class SlowQueryLogger implements StatementObserver {
+
+    static final String LOGGER_NAME = "kreisel.slow-query";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final long thresholdNanos;
+
+    public SlowQueryLogger(long thresholdMs) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    @Override
+    public void onStatement(String sql, long durationNanos, long rows) {
+        if (durationNanos >= thresholdNanos && log.isWarnEnabled()) {
+            log.warn("slow query: {} ms, {} rows: {}",
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), rows, sql);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.config.StartupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Wertet die Zeitleiste des Starts aus (BufferingApplicationStartup, gesetzt in KreiselBackendApplication):
+ * Dauer der Startphasen und die Beans mit der längsten eigenen Initialisierung, d.h. ohne die dabei erzeugten
+ * Abhängigkeiten. Die Zusammenfassung geht ins Log, mit app.startup.report-file zusätzlich als JSON in eine
+ * Datei. Die vollständige Zeitleiste liefert /actuator/startup.
+ */
+@Slf4j
+@Component
+public class StartupReport {
+
+    static final String BEAN_STEP = "spring.beans.instantiate";
+
+    private final StartupProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public StartupReport(StartupProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    public record Step(String name, String detail, long startMillis, long durationMillis, long selfMillis) {
+    }
+
+    // startMillis relativ zum Beginn der Zeitleiste
+    public record Report(long readyMillis, List<Step> phases, List<Step> slowestBeans) {
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        Report report = build(startup.getBufferedTimeline(), event.getTimeTaken(), properties.getSlowestBeans());
+        log.info("Start in {} ms; Phasen: {}; langsamste Beans: {}", report.readyMillis(),
+                report.phases().stream().map(step -> step.name() + "=" + step.durationMillis() + "ms")
+                        .collect(Collectors.joining(", ")),
+                report.slowestBeans().stream().limit(5).map(step -> step.detail() + "=" + step.selfMillis() + "ms")
+                        .collect(Collectors.joining(", ")));
+        if (!properties.getReportFile().isBlank()) {
+            write(report, Path.of(properties.getReportFile()));
+        }
+    }
+
+    /**
+     * Phasen sind die Schritte der obersten Ebene und ihre direkten Kinder (z.B. die Schritte innerhalb von
+     * spring.context.refresh), ohne einzelne Beans. Wiederholte Phasen (spring.beans.smart-initialize läuft
+     * einmal je Bean) werden zusammengezählt.
+     */
+    static Report build(StartupTimeline timeline, Duration timeTaken, int slowestBeans) {
+        List<TimelineEvent> events = timeline.getEvents();
+        Map<Long, Long> childDurations = new HashMap<>();
+        Set<Long> topLevel = new HashSet<>();
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (step.getParentId() == null) {
+                topLevel.add(step.getId());
+            } else {
+                childDurations.merge(step.getParentId(), event.getDuration().toMillis(), Long::sum);
+            }
+        }
+
+        long origin = timeline.getStartTime().toEpochMilli();
+        List<Step> phases = events.stream()
+                .filter(event -> !BEAN_STEP.equals(event.getStartupStep().getName()))
+                .filter(event -> event.getStartupStep().getParentId() == null
+                        || topLevel.contains(event.getStartupStep().getParentId()))
+                .sorted(Comparator.comparing(TimelineEvent::getStartTime))
+                .map(event -> step(event, origin, childDurations))
+                .collect(Collectors.toMap(Step::name, Function.identity(), StartupReport::merge, LinkedHashMap::new))
+                .values().stream()
+                .toList();
+        List<Step> beans = events.stream()
+                .filter(event -> BEAN_STEP.equals(event.getStartupStep().getName()))
+                .map(event -> step(event, origin, childDurations))
+                .sorted(Comparator.comparingLong(Step::selfMillis).reversed())
+                .limit(slowestBeans)
+                .toList();
+        return new Report(timeTaken != null ? timeTaken.toMillis() : -1, phases, beans);
+    }
+
+    private static Step step(TimelineEvent event, long origin, Map<Long, Long> childDurations) {
+        StartupStep step = event.getStartupStep();
+        long duration = event.getDuration().toMillis();
+        String detail = null;
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                detail = tag.getValue();
+            }
+        }
+        return new Step(step.getName(), detail, event.getStartTime().toEpochMilli() - origin, duration,
+                Math.max(0, duration - childDurations.getOrDefault(step.getId(), 0L)));
+    }
+
+    private static Step merge(Step first, Step next) {
+        return new Step(first.name(), first.detail(), first.startMillis(),
+                first.durationMillis() + next.durationMillis(), first.selfMillis() + next.selfMillis());
+    }
+
+    private void write(Report report, Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            log.info("Startbericht geschrieben: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Startbericht konnte nicht geschrieben werden: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+/**
+ * Callback für jedes beobachtete JDBC-Statement einer {@link ObservedDataSource}.
+ */
+@FunctionalInterface
+public interface StatementObserver {
+
+    /**
+     * @param sql           SQL mit Platzhaltern, Bind-Werte werden nie übergeben
+     * @param durationNanos Ausführungszeit inkl. Lesen des ResultSets
+     * @param rows          gelesene Zeilen (Query) bzw. betroffene Zeilen (Update/Batch)
+     */
+    void onStatement(String sql, long durationNanos, long rows);
+}
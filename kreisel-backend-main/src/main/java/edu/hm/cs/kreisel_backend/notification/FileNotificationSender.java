@@ -0,0 +1,39 @@
+package edu.hm.cs.kreisel_backend.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Mail-Ersatz für Entwicklung und Tests: jede Nachricht als JSON-Zeile in <dir>/notifications.jsonl
+public class FileNotificationSender implements NotificationSender {
+
+    static final String FILE_NAME = "notifications.jsonl";
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileNotificationSender(Path directory, ObjectMapper objectMapper) {
+        this.file = directory.resolve(FILE_NAME);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void send(NotificationMessage message) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, objectMapper.writeValueAsString(message) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Benachrichtigung konnte nicht geschrieben werden", e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,4 @@
+package edu.hm.cs.kreisel_backend.notification;
+
+public record NotificationMessage(String recipient, String subject, String body) {
+}
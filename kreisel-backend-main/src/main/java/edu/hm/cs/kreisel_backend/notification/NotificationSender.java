@@ -0,0 +1,11 @@
+package edu.hm.cs.kreisel_backend.notification;
+
+/**
+ * Versandweg für Benachrichtigungen, gewählt über app.notifications.sender (smtp oder file).
+ * Wirft bei Fehlern eine RuntimeException; der Aufrufer vermerkt die Nachricht dann nicht als
+ * versandt und versucht es beim nächsten Lauf erneut.
+ */
+public interface NotificationSender {
+
+    void send(NotificationMessage message);
+}
@@ -0,0 +1,23 @@
+package edu.hm.cs.kreisel_backend.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+// Versand per SMTP (spring.mail.*), lokal z.B. gegen Mailpit auf localhost:1025
+@RequiredArgsConstructor
+public class SmtpNotificationSender implements NotificationSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    @Override
+    public void send(NotificationMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.recipient());
+        mail.setSubject(message.subject());
+        mail.setText(message.body());
+        mailSender.send(mail);
+    }
+}
@@ -0,0 +1,26 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.ClusterMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ClusterMessageRepository extends JpaRepository<ClusterMessage, Long> {
+
+    // Nachrichten der anderen Knoten ab since, in Schreibreihenfolge je Knoten
+    @Query("SELECT m FROM ClusterMessage m WHERE m.createdAt >= :since AND m.nodeId <> :nodeId "
+            + "ORDER BY m.createdAt, m.id")
+    List<ClusterMessage> findSince(@Param("since") LocalDateTime since, @Param("nodeId") String nodeId,
+                                   Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClusterMessage m WHERE m.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
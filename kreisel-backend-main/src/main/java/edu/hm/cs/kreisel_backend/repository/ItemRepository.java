@@ -2,16 +2,36 @@ package edu.hm.cs.kreisel_backend.repository;
 
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Item.Location;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    // 🔹 Für erste Filterstufe: Location
+    // 🔹 Für erste Filterstufe: Location (Query-Cache, ungültig bei jeder Änderung an app_item)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "item-queries")})
     List<Item> findByLocation(Location location);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "item-queries")})
     List<Item> findByLocationAndAvailable(Location location, boolean available);
 
+    // 🔹 Item-Zeile sperren: Ausleihe, Rückgabe und Warteliste sehen den Zustand nacheinander, nicht parallel
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
     // 🔹 Für optionale Textsuche (kombinierbar im Service)
     List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrBrandContainingIgnoreCase(
             String name, String description, String brand
@@ -19,4 +39,24 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     // 🔹 Für alle verfügbaren Items (falls Location nicht relevant)
     List<Item> findByAvailableTrue();
+
+    // 🔹 Für die Metriken (Gauge pro Standort), läuft nur im Takt des CountSnapshot
+    long countByLocationAndAvailableTrue(Location location);
+
+    // 🔹 Thumbnails eintragen, aber nur wenn das Bild inzwischen nicht ersetzt wurde
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.imageVariants = :variants WHERE i.id = :id AND i.imageUrl = :imageUrl")
+    int updateImageVariants(@Param("id") Long id, @Param("imageUrl") String imageUrl, @Param("variants") String variants);
+
+    // 🔹 Thumbnail-Breiten zu einem Bild für ?w= (idx_app_item_image_url), gecacht im ImageService
+    @Query("SELECT i.imageVariants FROM Item i WHERE i.imageUrl = :imageUrl AND i.imageVariants IS NOT NULL")
+    List<String> findImageVariantsByImageUrl(@Param("imageUrl") String imageUrl, Pageable pageable);
+
+    // 🔹 Bewertungsstatistik setzen, ohne die übrigen Felder zu überschreiben (Consumer von ReviewCreated)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.averageRating = :averageRating, i.reviewCount = :reviewCount WHERE i.id = :id")
+    int updateRatingStatistics(@Param("id") Long id, @Param("averageRating") double averageRating,
+                               @Param("reviewCount") int reviewCount);
 }
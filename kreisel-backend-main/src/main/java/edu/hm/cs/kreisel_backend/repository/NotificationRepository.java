@@ -0,0 +1,17 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.Notification;
+import edu.hm.cs.kreisel_backend.model.Notification.Type;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Bereits versandte Erinnerungen eines Chunks in einer Abfrage (über uk_notification_reference)
+    List<Notification> findByTypeInAndReferenceIdIn(Collection<Type> types, Collection<Long> referenceIds);
+
+    boolean existsByTypeAndReferenceIdAndDueDate(Type type, Long referenceId, LocalDate dueDate);
+}
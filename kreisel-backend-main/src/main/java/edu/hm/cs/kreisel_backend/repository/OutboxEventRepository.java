@@ -0,0 +1,28 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Nächster Batch in Schreibreihenfolge; Events über maxAttempts bleiben als "dead letter" liegen
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.availableAt <= :now "
+            + "AND e.attempts < :maxAttempts ORDER BY e.id")
+    List<OutboxEvent> findDispatchable(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                                       Pageable pageable);
+
+    long countByProcessedAtIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,7 +1,12 @@
 package edu.hm.cs.kreisel_backend.repository;
 
+import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Rental;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -9,12 +14,34 @@ import java.util.Optional;
 
 public interface RentalRepository extends JpaRepository<Rental, Long> {
 
+    // Listen laden User und Item per Join mit, sonst folgt pro Ausleihe ein eigenes SELECT (N+1)
+    @Override
+    @EntityGraph(attributePaths = {"user", "item"})
+    List<Rental> findAll();
+
+    @EntityGraph(attributePaths = {"user", "item"})
     List<Rental> findByUserId(Long userId);
 
+    @EntityGraph(attributePaths = {"user", "item"})
     List<Rental> findByUserIdAndReturnDateIsNull(Long userId);
 
+    @EntityGraph(attributePaths = {"user", "item"})
     List<Rental> findByUserIdAndReturnDateIsNotNull(Long userId);
 
     Optional<Rental> findByItemIdAndReturnDateIsNull(Long itemId);
 
+    // Aktive Ausleihen pro Standort (für die Metriken)
+    long countByItemLocationAndReturnDateIsNull(Item.Location location);
+
+    // Erinnerungs-Job, Chunk-Schlüssel: User mit offenen Ausleihen im Enddatum-Bereich (idx_app_rental_end_date)
+    @Query("SELECT DISTINCT r.user.id FROM Rental r WHERE r.returnDate IS NULL AND r.endDate BETWEEN :from AND :to "
+            + "AND r.user.id > :afterUserId ORDER BY r.user.id")
+    List<Long> findUserIdsWithOpenRentalsDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                    @Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "item"})
+    @Query("SELECT r FROM Rental r WHERE r.returnDate IS NULL AND r.endDate BETWEEN :from AND :to "
+            + "AND r.user.id IN :userIds ORDER BY r.user.id, r.endDate")
+    List<Rental> findOpenRentalsDueBetweenForUsers(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                   @Param("userIds") List<Long> userIds);
 }
\ No newline at end of file
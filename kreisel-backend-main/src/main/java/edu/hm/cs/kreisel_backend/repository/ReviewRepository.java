@@ -1,6 +1,7 @@
 package edu.hm.cs.kreisel_backend.repository;
 
 import edu.hm.cs.kreisel_backend.model.Review;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,9 +10,12 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // Item, User und Ausleihe per Join statt je ein SELECT pro Review
+    @EntityGraph(attributePaths = {"item", "user", "rental"})
     List<Review> findByItemId(Long itemId);
     List<Review> findByUserId(Long userId);
     Optional<Review> findByRentalId(Long rentalId);
+    long countByItemId(Long itemId);
 
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.item.id = :itemId")
     Double getAverageRatingForItem(@Param("itemId") Long itemId);
@@ -1,7 +1,12 @@
 package edu.hm.cs.kreisel_backend.repository;
 
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
 import edu.hm.cs.kreisel_backend.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,4 +16,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    // 🔹 Admin-Liste: nur die benötigten Spalten, ohne rentals
+    @Query(value = "SELECT new edu.hm.cs.kreisel_backend.dto.UserSummary(u.id, u.fullName, u.email, u.role) FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    // 🔹 Präfix-Suche auf email und fullName ohne Groß-/Kleinschreibung; prefix muss kleingeschrieben sein
+    // (LIKE 'x%' auf den berechneten lower-Spalten kann deren Indizes nutzen)
+    @Query(value = "SELECT new edu.hm.cs.kreisel_backend.dto.UserSummary(u.id, u.fullName, u.email, u.role) FROM User u " +
+            "WHERE u.emailLower LIKE :prefix ESCAPE '\\' OR u.fullNameLower LIKE :prefix ESCAPE '\\'",
+            countQuery = "SELECT COUNT(u) FROM User u " +
+                    "WHERE u.emailLower LIKE :prefix ESCAPE '\\' OR u.fullNameLower LIKE :prefix ESCAPE '\\'")
+    Page<UserSummary> searchSummariesByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
 }
@@ -0,0 +1,34 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    Optional<WaitlistEntry> findByItemIdAndUserId(Long itemId, Long userId);
+
+    long countByUserId(Long userId);
+
+    // Nächster Wartender ohne Reservierung, FIFO nach Eintragungszeit
+    Optional<WaitlistEntry> findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(Long itemId);
+
+    // Position = Anzahl der Wartenden vor dem Eintrag + 1
+    @Query("SELECT COUNT(e) + 1 FROM WaitlistEntry e WHERE e.item.id = :itemId AND e.holdUntil IS NULL "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id))")
+    long findPosition(@Param("itemId") Long itemId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id);
+
+    @Query("SELECT e.item.id FROM WaitlistEntry e WHERE e.id = :id")
+    Optional<Long> findItemIdById(@Param("id") Long id);
+
+    @Query("SELECT e.item.id FROM WaitlistEntry e WHERE e.user.id = :userId AND e.holdUntil IS NOT NULL")
+    List<Long> findHeldItemIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT e.id FROM WaitlistEntry e WHERE e.holdUntil < :now")
+    List<Long> findExpiredHolds(@Param("now") LocalDateTime now);
+}
@@ -5,7 +5,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,12 +19,20 @@ import java.util.Arrays;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final KreiselUserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
     private static final String JWT_COOKIE_NAME = "jwt";
+    static final String TIMER_NAME = "kreisel.security.jwt.filter";
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, KreiselUserDetailsService userDetailsService,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -41,7 +50,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // If we have a JWT, validate it and set up authentication
+        // (nur diese Prüfung wird gemessen, nicht der Rest der Filterkette)
         if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "rejected";
             try {
                 String username = jwtUtil.extractUsername(jwt);
                 if (username != null) {
@@ -51,10 +63,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 userDetails, null, userDetails.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
+                        outcome = "authenticated";
                     }
                 }
             } catch (Exception e) {
                 // Invalid token, just continue without authentication
+            } finally {
+                sample.stop(meterRegistry.timer(TIMER_NAME, "outcome", outcome));
             }
         }
 
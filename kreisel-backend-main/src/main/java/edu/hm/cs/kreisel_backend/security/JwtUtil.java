@@ -1,9 +1,12 @@
 package edu.hm.cs.kreisel_backend.security;
 
+import edu.hm.cs.kreisel_backend.config.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -16,8 +19,22 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private final long jwtExpirationInMs = 1000 * 60 * 60 * 10; // 10 hours
+    private final Key key;
+    private final long jwtExpirationInMs;
+
+    // Zufälliger Schlüssel, 10 Stunden gültig (Tests, Benchmarks)
+    public JwtUtil() {
+        this(new JwtProperties());
+    }
+
+    // Mit app.jwt.secret akzeptieren alle Knoten die Tokens der anderen
+    @Autowired
+    public JwtUtil(JwtProperties properties) {
+        this.key = properties.getSecret().isBlank()
+                ? Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                : Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+        this.jwtExpirationInMs = properties.getExpiration().toMillis();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -0,0 +1,110 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate-Limit pro Routengruppe, Buckets im {@link RateLimiter}. Die Gruppen werden in SecurityConfig
+ * zugeordnet; pro Request zählt die erste passende Gruppe. Zu viele Requests bekommen 429 mit Retry-After.
+ * <p>
+ * Keine Spring-Bean: SecurityConfig legt je eine Instanz pro Schlüsselart an, beide nach dem JWT-Filter.
+ * Regeln aus {@link #limitAnonymous} gelten nur ohne gültigen Token, Angemeldete zählen dann im User-Bucket
+ * statt sich den Bucket ihrer (NAT-)IP zu teilen. Die IP ist getRemoteAddr(); hinter einem Proxy braucht es
+ * server.forward-headers-strategy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum KeyType { IP, USER }
+
+    // group null: Ausnahme
+    private record Rule(String group, RequestMatcher matcher, boolean anonymousOnly) {
+    }
+
+    private final RateLimiter rateLimiter;
+    private final KeyType keyType;
+    private final List<Rule> rules = new ArrayList<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, KeyType keyType) {
+        this.rateLimiter = rateLimiter;
+        this.keyType = keyType;
+    }
+
+    public RateLimitFilter limit(String group, RequestMatcher matcher) {
+        rules.add(new Rule(group, matcher, false));
+        return this;
+    }
+
+    // Wie limit, aber nur für Requests ohne angemeldeten User; Angemeldete bleiben hier unbegrenzt
+    public RateLimitFilter limitAnonymous(String group, RequestMatcher matcher) {
+        rules.add(new Rule(group, matcher, true));
+        return this;
+    }
+
+    // Ausnahme vor den folgenden Regeln, passende Requests bleiben unbegrenzt
+    public RateLimitFilter exclude(RequestMatcher matcher) {
+        rules.add(new Rule(null, matcher, false));
+        return this;
+    }
+
+    // Beide Instanzen sind dieselbe Klasse, sonst hielte OncePerRequestFilter die zweite für schon gelaufen
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + keyType;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = key(request);
+        if (key != null) {
+            for (Rule rule : rules) {
+                if (rule.matcher().matches(request)) {
+                    if (rule.group() == null || (rule.anonymousOnly() && currentUser() != null)) {
+                        break;
+                    }
+                    long retryAfterSeconds = rateLimiter.tryConsume(rule.group(), key);
+                    if (retryAfterSeconds > 0) {
+                        response.setStatus(429);
+                        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                        response.getWriter().write("{\"error\":\"Zu viele Anfragen, bitte später erneut versuchen\"}");
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String key(HttpServletRequest request) {
+        if (keyType == KeyType.IP) {
+            return request.getRemoteAddr();
+        }
+        // ohne gültigen Token greift nur das IP-Limit
+        return currentUser();
+    }
+
+    // nach dem JWT-Filter gesetzt, sonst null
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
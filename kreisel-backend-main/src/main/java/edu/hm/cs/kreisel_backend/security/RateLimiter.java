@@ -0,0 +1,71 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.hm.cs.kreisel_backend.config.RateLimitProperties;
+import edu.hm.cs.kreisel_backend.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hält die Token-Buckets pro Routengruppe und Schlüssel (IP oder User). Buckets, die länger als
+ * app.rate-limit.idle-timeout nicht benutzt wurden, verwirft Caffeine – ein neuer Bucket startet voll,
+ * das ist für inaktive Schlüssel ohnehin der Zustand.
+ */
+@Component
+public class RateLimiter {
+
+    static final String METRIC_NAME = "kreisel.ratelimit.rejected";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaxKeys())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Verbraucht ein Token aus dem Bucket von group und key. Liefert 0, wenn der Request durch darf,
+     * sonst die Sekunden bis zum nächsten Token (für Retry-After). Unbekannte Gruppen sind unbegrenzt.
+     */
+    public long tryConsume(String group, String key) {
+        Limit limit = properties.getGroups().get(group);
+        if (limit == null) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        double tokensPerNano = limit.getRefillPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        long waitNanos = buckets.get(group + ":" + key, k -> new TokenBucket(limit.getCapacity(), now))
+                .tryConsume(limit.getCapacity(), tokensPerNano, now);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        meterRegistry.counter(METRIC_NAME, "group", group).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
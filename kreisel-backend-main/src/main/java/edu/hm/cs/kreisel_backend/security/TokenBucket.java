@@ -0,0 +1,38 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token-Bucket ohne Locks: der Zustand (Tokens, Zeitpunkt des letzten Auffüllens) ist unveränderlich und
+ * wird per compareAndSet ersetzt. Aufgefüllt wird beim Zugriff anhand der vergangenen Zeit, es läuft kein Timer.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, long now) {
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * Entnimmt ein Token. Liefert 0, wenn der Request durch darf, sonst die Wartezeit in Nanosekunden,
+     * bis wieder ein Token da ist.
+     */
+    long tryConsume(long capacity, double tokensPerNano, long now) {
+        while (true) {
+            State current = state.get();
+            // nanoTime verschiedener Threads kann minimal hinter refilledAt liegen
+            long elapsed = Math.max(0, now - current.refilledAt());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+                return 0;
+            }
+        }
+    }
+}
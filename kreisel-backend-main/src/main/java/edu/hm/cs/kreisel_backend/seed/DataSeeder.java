@@ -0,0 +1,321 @@
+package edu.hm.cs.kreisel_backend.seed;
+
+import edu.hm.cs.kreisel_backend.model.Item.Category;
+import edu.hm.cs.kreisel_backend.model.Item.Gender;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.model.Item.Subcategory;
+import edu.hm.cs.kreisel_backend.model.Item.Zustand;
+import edu.hm.cs.kreisel_backend.model.User.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Erzeugt synthetische Nutzer, Items, Ausleih-Historien und Bewertungen in großen Mengen.
+ * <p>
+ * Geschrieben wird direkt per JDBC-Batch (ohne Persistence Context, eine Transaktion pro Batch)
+ * mit selbst vergebenen IDs hinter dem aktuellen Maximum; danach werden die Sequenzen neu gesetzt,
+ * damit Hibernate anschließend ohne Kollision weiterzählt. Deshalb vor dem ersten Insert der Anwendung laufen lassen.
+ * <p>
+ * Deterministisch: Jede Tabelle hat ihren eigenen, aus dem Seed abgeleiteten Zufallsgenerator,
+ * mehr Ausleihen ändern also nicht die Items. Verteilungen:
+ * <ul>
+ *     <li>Standorte, Geschlecht, Zustand gewichtet; Unterkategorie passt zur Kategorie, Größe zur Unterkategorie</li>
+ *     <li>Beliebtheit von Items und Aktivität von Nutzern schief verteilt (wenige sehr aktiv)</li>
+ *     <li>Laufzeiten 1-90 Tage, jede zehnte verlängert; Bewertungen überwiegend gut</li>
+ * </ul>
+ */
+@Slf4j
+public class DataSeeder {
+
+    // muss zu allocationSize der @SequenceGenerator passen (pooled optimizer)
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Elif", "Felix", "Greta", "Hannes",
+            "Ida", "Jonas", "Kim", "Lukas", "Mia", "Noah", "Paula", "Quirin", "Sophie", "Tobias", "Vera", "Yusuf"};
+    private static final String[] LAST_NAMES = {"Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer",
+            "Wagner", "Becker", "Schulz", "Hoffmann", "Huber", "Bauer", "Yilmaz", "Nguyen", "Kowalski"};
+    private static final String[] BRANDS = {"Vaude", "Jack Wolfskin", "Salomon", "Atomic", "Burton", "Deuter",
+            "Mammut", "Ortovox", "The North Face", "Columbia"};
+    private static final String[] COMMENTS = {"Top Zustand", "Hat gut gepasst", "Etwas abgenutzt, aber ok",
+            "Gerne wieder", "Passt nicht ganz wie beschrieben", null};
+
+    private static final Location[] LOCATIONS = Location.values();
+    private static final double[] LOCATION_WEIGHTS = {0.45, 0.35, 0.20}; // PASING, LOTHSTRASSE, KARLSTRASSE
+    private static final Category[] CATEGORIES = Category.values();
+    private static final double[] CATEGORY_WEIGHTS = {0.35, 0.15, 0.20, 0.05, 0.25};
+    private static final Gender[] GENDERS = Gender.values();
+    private static final double[] GENDER_WEIGHTS = {0.3, 0.3, 0.4};
+    private static final int[] RATINGS = {5, 4, 3, 2, 1};
+    private static final double[] RATING_WEIGHTS = {0.40, 0.30, 0.15, 0.10, 0.05};
+
+    private static final Map<Category, Subcategory[]> SUBCATEGORIES = Map.of(
+            Category.KLEIDUNG, new Subcategory[]{Subcategory.HOSEN, Subcategory.JACKEN},
+            Category.SCHUHE, new Subcategory[]{Subcategory.STIEFEL, Subcategory.WANDERSCHUHE},
+            Category.ACCESSOIRES, new Subcategory[]{Subcategory.MUETZEN, Subcategory.HANDSCHUHE,
+                    Subcategory.SCHALS, Subcategory.BRILLEN},
+            Category.TASCHEN, new Subcategory[0],
+            Category.EQUIPMENT, new Subcategory[]{Subcategory.FLASCHEN, Subcategory.SKI,
+                    Subcategory.SNOWBOARDS, Subcategory.HELME});
+
+    private static final String[] CLOTHING_SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final double[] CLOTHING_WEIGHTS = {0.05, 0.2, 0.3, 0.25, 0.15, 0.05};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeedProperties properties;
+    private final String passwordHash;
+
+    public record Result(int users, int items, int rentals, int activeRentals, int reviews, long durationMillis) {
+    }
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, SeedProperties properties,
+                      String passwordHash) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.passwordHash = passwordHash;
+    }
+
+    public Result seed() {
+        long start = System.nanoTime();
+        LocalDate today = properties.getReferenceDate() != null ? properties.getReferenceDate() : LocalDate.now();
+
+        long firstUserId = maxId("app_user") + 1;
+        long firstItemId = maxId("app_item") + 1;
+        long firstRentalId = maxId("app_rental") + 1;
+        long firstReviewId = maxId("review") + 1;
+
+        insertUsers(firstUserId);
+        BitSet rentedNow = insertItems(firstItemId);
+        int[] reviewCounts = new int[properties.getItems()];
+        long[] ratingSums = new long[properties.getItems()];
+        int reviews = insertRentals(today, firstUserId, firstItemId, firstRentalId, firstReviewId,
+                reviewCounts, ratingSums);
+        int active = insertActiveRentals(today, rentedNow, firstUserId, firstItemId,
+                firstRentalId + properties.getRentals());
+        updateRatings(firstItemId, reviewCounts, ratingSums);
+
+        restartSequence("app_user_seq", "app_user");
+        restartSequence("app_item_seq", "app_item");
+        restartSequence("app_rental_seq", "app_rental");
+        restartSequence("review_seq", "review");
+
+        Result result = new Result(properties.getUsers(), properties.getItems(), properties.getRentals() + active,
+                active, reviews, (System.nanoTime() - start) / 1_000_000);
+        log.info("Seed {} fertig: {}", properties.getSeed(), result);
+        return result;
+    }
+
+    // Nutzer user{n}@hm.edu mit n = id - 1 (leere DB: user0, user1, ...), alle mit demselben Passwort-Hash
+    private void insertUsers(long firstId) {
+        Random random = random(1);
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getUsers(); i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[]{firstId + i, name, "user" + (firstId - 1 + i) + "@hm.edu", passwordHash, Role.USER.name()});
+            flushIfFull("INSERT INTO app_user (id, full_name, email, password, role) VALUES (?, ?, ?, ?, ?)", batch);
+        }
+        flush("INSERT INTO app_user (id, full_name, email, password, role) VALUES (?, ?, ?, ?, ?)", batch);
+    }
+
+    // Liefert die Items (Index ab 0), die aktuell ausgeliehen sind
+    private BitSet insertItems(long firstId) {
+        String sql = "INSERT INTO app_item (id, name, size, available, description, brand, average_rating, "
+                + "review_count, location, gender, category, subcategory, zustand) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0.0, 0, ?, ?, ?, ?, ?)";
+        Random random = random(2);
+        BitSet rentedNow = new BitSet(properties.getItems());
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getItems(); i++) {
+            Category category = pick(random, CATEGORIES, CATEGORY_WEIGHTS);
+            Subcategory[] options = SUBCATEGORIES.get(category);
+            Subcategory subcategory = options.length == 0 ? null : options[random.nextInt(options.length)];
+            Gender gender = pick(random, GENDERS, GENDER_WEIGHTS);
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            boolean rented = random.nextDouble() < properties.getActiveRentalShare();
+            if (rented) {
+                rentedNow.set(i);
+            }
+            batch.add(new Object[]{firstId + i, itemName(category, subcategory, brand), size(random, subcategory),
+                    !rented, "Synthetisches Item " + i, brand,
+                    pick(random, LOCATIONS, LOCATION_WEIGHTS).name(), gender.name(), category.name(),
+                    subcategory != null ? subcategory.name() : null,
+                    random.nextDouble() < 0.2 ? Zustand.NEU.name() : Zustand.GEBRAUCHT.name()});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        return rentedNow;
+    }
+
+    // Abgeschlossene Ausleihen; Bewertungen werden pro Batch direkt hinter die Ausleihen geschrieben (FK)
+    private int insertRentals(LocalDate today, long firstUserId, long firstItemId, long firstRentalId,
+                              long firstReviewId, int[] reviewCounts, long[] ratingSums) {
+        String rentalSql = "INSERT INTO app_rental (id, user_id, item_id, rental_date, end_date, return_date, extended) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String reviewSql = "INSERT INTO review (id, item_id, user_id, rental_id, rating, comment, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Random random = random(3);
+        List<Object[]> rentals = new ArrayList<>(properties.getBatchSize());
+        List<Object[]> reviews = new ArrayList<>();
+        int reviewCount = 0;
+        for (int i = 0; i < properties.getRentals(); i++) {
+            int user = skewed(random, properties.getUsers(), 1.5);
+            int item = skewed(random, properties.getItems(), 2.0);
+            LocalDate rentalDate = today.minusDays(2 + random.nextInt(properties.getHistoryDays()));
+            LocalDate endDate = rentalDate.plusDays(1 + random.nextInt(90));
+            boolean extended = random.nextInt(10) == 0;
+            if (extended) {
+                endDate = endDate.plusDays(30);
+            }
+            // meist pünktlich, manchmal zu spät; zurückgegeben ist alles vor heute
+            LocalDate returnDate = random.nextInt(8) == 0
+                    ? endDate.plusDays(1 + random.nextInt(14))
+                    : rentalDate.plusDays(random.nextInt((int) (endDate.toEpochDay() - rentalDate.toEpochDay()) + 1));
+            if (!returnDate.isBefore(today)) {
+                returnDate = today.minusDays(1);
+            }
+            long rentalId = firstRentalId + i;
+            rentals.add(new Object[]{rentalId, firstUserId + user, firstItemId + item, rentalDate, endDate,
+                    returnDate, extended});
+
+            if (random.nextDouble() < properties.getReviewShare()) {
+                int rating = pick(random, RATINGS, RATING_WEIGHTS);
+                reviews.add(new Object[]{firstReviewId + reviewCount, firstItemId + item, firstUserId + user,
+                        rentalId, rating, COMMENTS[random.nextInt(COMMENTS.length)],
+                        Timestamp.valueOf(returnDate.atTime(random.nextInt(24), random.nextInt(60)))});
+                reviewCounts[item]++;
+                ratingSums[item] += rating;
+                reviewCount++;
+            }
+            if (rentals.size() >= properties.getBatchSize()) {
+                flush(rentalSql, rentals);
+                flush(reviewSql, reviews);
+            }
+        }
+        flush(rentalSql, rentals);
+        flush(reviewSql, reviews);
+        return reviewCount;
+    }
+
+    // Laufende Ausleihen für alle als ausgeliehen markierten Items, höchstens 5 pro Nutzer (wie RentalService)
+    private int insertActiveRentals(LocalDate today, BitSet rentedNow, long firstUserId, long firstItemId,
+                                    long firstRentalId) {
+        String sql = "INSERT INTO app_rental (id, user_id, item_id, rental_date, end_date, return_date, extended) "
+                + "VALUES (?, ?, ?, ?, ?, NULL, ?)";
+        Random random = random(4);
+        int capacity = properties.getUsers() * 5;
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        int count = 0;
+        for (int item = rentedNow.nextSetBit(0); item >= 0; item = rentedNow.nextSetBit(item + 1)) {
+            if (count == capacity) {
+                // mehr laufende Ausleihen als Nutzer * 5 geht nicht: Rest wieder freigeben
+                jdbcTemplate.update("UPDATE app_item SET available = TRUE WHERE id >= ?", firstItemId + item);
+                break;
+            }
+            // reihum verteilt, damit kein Nutzer über dem Limit landet
+            int user = count % properties.getUsers();
+            LocalDate rentalDate = today.minusDays(random.nextInt(60));
+            LocalDate endDate = today.plusDays(1 + random.nextInt(60));
+            batch.add(new Object[]{firstRentalId + count, firstUserId + user, firstItemId + item, rentalDate,
+                    endDate, random.nextInt(10) == 0});
+            count++;
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        return count;
+    }
+
+    private void updateRatings(long firstItemId, int[] reviewCounts, long[] ratingSums) {
+        String sql = "UPDATE app_item SET average_rating = ?, review_count = ? WHERE id = ?";
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < reviewCounts.length; i++) {
+            if (reviewCounts[i] > 0) {
+                // wie ReviewService.updateItemRating
+                batch.add(new Object[]{(double) ratingSums[i] / reviewCounts[i], reviewCounts[i], firstItemId + i});
+                flushIfFull(sql, batch);
+            }
+        }
+        flush(sql, batch);
+    }
+
+    // Pooled Optimizer: nextval liefert das obere Ende des Blocks, daher + ALLOCATION_SIZE
+    private void restartSequence(String sequence, String table) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId(table) + ALLOCATION_SIZE));
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() >= properties.getBatchSize()) {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+            batch.clear();
+        }
+    }
+
+    private Random random(int stream) {
+        return new Random(properties.getSeed() * 31 + stream);
+    }
+
+    // Index in [0, n), kleine Indizes deutlich häufiger (exponent > 1)
+    private static int skewed(Random random, int n, double exponent) {
+        return Math.min(n - 1, (int) (n * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private static <T> T pick(Random random, T[] values, double[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pick(Random random, int[] values, double[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pickIndex(Random random, double[] weights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String itemName(Category category, Subcategory subcategory, String brand) {
+        String type = subcategory != null ? subcategory.name() : category.name();
+        return brand + " " + type.charAt(0) + type.substring(1).toLowerCase();
+    }
+
+    private static String size(Random random, Subcategory subcategory) {
+        if (subcategory == null) {
+            return random.nextBoolean() ? "20L" : "30L";
+        }
+        return switch (subcategory) {
+            case HOSEN, JACKEN -> pick(random, CLOTHING_SIZES, CLOTHING_WEIGHTS);
+            case STIEFEL, WANDERSCHUHE -> String.valueOf(Math.clamp(Math.round(41 + random.nextGaussian() * 3), 35, 48));
+            case SKI -> (140 + 5 * random.nextInt(11)) + "cm";
+            case SNOWBOARDS -> (140 + 5 * random.nextInt(6)) + "cm";
+            case HELME -> pick(random, new String[]{"S", "M", "L"}, new double[]{0.25, 0.5, 0.25});
+            case FLASCHEN -> pick(random, new String[]{"0.5L", "0.75L", "1L"}, new double[]{0.4, 0.3, 0.3});
+            case MUETZEN, HANDSCHUHE, SCHALS, BRILLEN -> "Einheitsgröße";
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package edu.hm.cs.kreisel_backend.seed;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class SeedProperties {
+    private long seed = 42; // gleicher Seed + gleiche Mengen = gleiche Daten
+    private int users = 5_000;
+    private int items = 20_000;
+    private int rentals = 200_000; // abgeschlossene Ausleihen (Historie)
+    private double activeRentalShare = 0.1; // Anteil der Items, die gerade ausgeliehen sind
+    private double reviewShare = 0.3; // Anteil der zurückgegebenen Ausleihen mit Bewertung
+    private int historyDays = 730; // Historie reicht so weit zurück
+    private LocalDate referenceDate; // "heute" für die Daten, leer = aktuelles Datum
+    private String password = "kreisel123"; // für alle Nutzer user{n}@hm.edu
+    private int batchSize = 10_000;
+}
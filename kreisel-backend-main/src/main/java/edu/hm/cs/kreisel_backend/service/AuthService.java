@@ -6,6 +6,8 @@ import edu.hm.cs.kreisel_backend.dto.RegisterRequest;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
 import edu.hm.cs.kreisel_backend.security.JwtUtil;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed("kreisel.service")
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -63,6 +66,7 @@ public class AuthService {
                 .build();
     }
 
+    @Counted(value = "kreisel.auth.login.failures", recordFailuresOnly = true, description = "fehlgeschlagene Logins")
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Email oder Passwort falsch"));
@@ -0,0 +1,211 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.AvailabilityBroadcast;
+import edu.hm.cs.kreisel_backend.cluster.ClusterBus;
+import edu.hm.cs.kreisel_backend.config.StreamProperties;
+import edu.hm.cs.kreisel_backend.dto.ItemAvailabilityChange;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.RentalCreated;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live-Verfügbarkeit per Server-Sent Events, gespeist aus den Outbox-Events (Ausleihe, Rückgabe,
+ * Item-Änderung), die der {@link OutboxDispatcher} nach dem Commit zustellt.
+ * <p>
+ * Das Veröffentlichen blockiert nie: Jeder Client hat eine eigene, begrenzte Queue, der Publisher
+ * macht nur {@code offer()}. Geschrieben wird von einem Virtual Thread pro Client, der bei leerer Queue
+ * parkt – tausende ruhende Verbindungen kosten so weder Plattform-Threads noch Servlet-Threads
+ * (SseEmitter läuft asynchron). Ein Client, dessen Queue voll ist, wird getrennt statt Events zu
+ * verlieren; EventSource verbindet sich neu und lädt die Liste frisch.
+ * <p>
+ * Im Cluster stellt nur der Leader Outbox-Events zu; er reicht die Änderungen über den {@link ClusterBus}
+ * an die Clients der anderen Knoten weiter.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityStreamService {
+
+    private static final String EVENT_NAME = "availability";
+
+    private final StreamProperties properties;
+    private final ClusterBus clusterBus;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder disconnectedSlow = new LongAdder();
+
+    // Eine Factory für alle Sender, damit die Namen durchzählen (Thread.Builder selbst ist nicht thread-safe)
+    private final ThreadFactory senderThreads = Thread.ofVirtual().name("sse-availability-", 0).factory();
+
+    // Heartbeat als SSE-Kommentar, damit nicht jede Queue ein eigenes Objekt braucht
+    private static final Message HEARTBEAT = new Message(0, null);
+
+    private record Message(long id, ItemAvailabilityChange change) {
+    }
+
+    /**
+     * Öffnet einen Stream für den Standort, leer wenn das Limit an Verbindungen erreicht ist.
+     */
+    public Optional<SseEmitter> subscribe(Location location) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(location, emitter, new ArrayBlockingQueue<>(properties.getBufferSize()));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.start();
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onRentalCreated(RentalCreated event) {
+        onAvailabilityChanged(new ItemAvailabilityChange(event.itemId(), event.location(), false));
+    }
+
+    @EventListener
+    public void onRentalReturned(RentalReturned event) {
+        onAvailabilityChanged(new ItemAvailabilityChange(event.itemId(), event.location(), !event.heldForWaitlist()));
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChanged event) {
+        if (event.previousLocation() != null && event.previousLocation() != event.location()) {
+            // am alten Standort verschwindet das Item
+            onAvailabilityChanged(new ItemAvailabilityChange(event.itemId(), event.previousLocation(), false));
+        }
+        onAvailabilityChanged(new ItemAvailabilityChange(event.itemId(), event.location(),
+                event.available() && !event.deleted()));
+    }
+
+    public void onAvailabilityChanged(ItemAvailabilityChange change) {
+        if (change.location() == null) {
+            return;
+        }
+        publishLocally(change);
+        clusterBus.broadcast(new AvailabilityBroadcast(change));
+    }
+
+    // Von einem anderen Knoten: nur an die eigenen Clients, nicht erneut verteilen
+    @EventListener
+    public void onAvailabilityBroadcast(AvailabilityBroadcast broadcast) {
+        if (broadcast.change().location() != null) {
+            publishLocally(broadcast.change());
+        }
+    }
+
+    private void publishLocally(ItemAvailabilityChange change) {
+        Message message = new Message(sequence.incrementAndGet(), change);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.location == change.location()) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:PT30S}",
+            initialDelayString = "${app.stream.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDisconnectedSlowCount() {
+        return disconnectedSlow.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    private final class Subscriber {
+        private final Location location;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private volatile Thread sender;
+
+        Subscriber(Location location, SseEmitter emitter, BlockingQueue<Message> queue) {
+            this.location = location;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void start() {
+            sender = senderThreads.newThread(this::drain);
+            sender.start();
+        }
+
+        void offer(Message message) {
+            if (!queue.offer(message) && message != HEARTBEAT) {
+                // zu langsamer Client: trennen, er holt sich beim Reconnect den aktuellen Stand
+                disconnectedSlow.increment();
+                emitter.complete();
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                // sofort etwas senden, damit Client und Proxies den Stream als offen sehen
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!Thread.currentThread().isInterrupted()) {
+                    Message message = queue.take();
+                    if (message == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(message.id()))
+                                .name(EVENT_NAME)
+                                .data(message.change(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Client weg oder Emitter schon abgeschlossen
+                log.debug("SSE-Client getrennt: {}", e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            if (subscribers.remove(this)) {
+                Thread thread = sender;
+                if (thread != null && thread != Thread.currentThread()) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Räumt periodisch unreferenzierte Bild-Blobs ab (Intervall: app.images.gc-interval)
+@Component
+@RequiredArgsConstructor
+public class BlobGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobGarbageCollector.class);
+
+    private final BlobStoreService blobStoreService;
+    private final LeaderElection leaderElection;
+
+    @Scheduled(initialDelayString = "${app.images.gc-interval:PT1H}", fixedDelayString = "${app.images.gc-interval:PT1H}")
+    public void run() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        int removed = blobStoreService.collectGarbage();
+        if (removed > 0) {
+            log.info("Bild-GC: {} unreferenzierte Blobs gelöscht", removed);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.model.ImageBlob;
+import edu.hm.cs.kreisel_backend.repository.ImageBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Inhaltsadressierter Bildspeicher unter {@code <upload-dir>/blobs/ab/cd/<sha256>.<ext>}.
+ * Gleicher Inhalt wird nur einmal abgelegt; Items zählen per refCount auf den Blob,
+ * die Garbage Collection entfernt Blobs, die länger als die Schonfrist unreferenziert sind.
+ * Varianten ({@code <sha256>_w160.jpg}) liegen im selben Verzeichnis und werden mit dem Blob gelöscht.
+ */
+@Service
+public class BlobStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStoreService.class);
+
+    static final String BLOB_DIR = "blobs";
+
+    // <sha256>[_w<breite>][.<ext>]
+    private static final Pattern BLOB_FILENAME = Pattern.compile("([0-9a-f]{64})(?:_w\\d+)?(?:\\.[A-Za-z0-9]{1,10})?");
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_BYTES = 12;
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp");
+
+    private final Path fileStoragePath;
+    private final Path blobRoot;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageProperties properties;
+    private final ImageCache imageCache;
+
+    // Schreiben+Referenzieren und GC-Löschen desselben Hashs dürfen sich nicht überholen
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+
+    public record StoredBlob(String hash, String filename, long size) {
+    }
+
+    public BlobStoreService(Path fileStoragePath, ImageBlobRepository imageBlobRepository, ImageProperties properties,
+                            ImageCache imageCache) {
+        this.fileStoragePath = fileStoragePath;
+        this.blobRoot = fileStoragePath.resolve(BLOB_DIR);
+        this.imageBlobRepository = imageBlobRepository;
+        this.properties = properties;
+        this.imageCache = imageCache;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Hash aus Dateiname oder Bild-URL, leer für alte item_{id}_...-Dateien
+    public static Optional<String> hashOf(String filenameOrUrl) {
+        if (filenameOrUrl == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = BLOB_FILENAME.matcher(filenameOrUrl.substring(filenameOrUrl.lastIndexOf('/') + 1));
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    /**
+     * Physischer Pfad zu einem ausgelieferten Dateinamen: Blobs im Shard-Verzeichnis,
+     * ältere Uploads flach im Upload-Verzeichnis.
+     */
+    public Path locate(String filename) {
+        return hashOf(filename)
+                .map(hash -> shardDir(hash).resolve(filename))
+                .orElseGet(() -> fileStoragePath.resolve(filename));
+    }
+
+    /**
+     * Streamt den Inhalt über NIO-Channels in eine Temp-Datei und legt ihn ab (falls noch nicht vorhanden),
+     * danach wird der refCount erhöht. Der Typ wird an den ersten Bytes erkannt, nicht an der Dateiendung;
+     * über {@code maxBytes} wird abgebrochen, ohne den Rest zu lesen.
+     * Der Aufrufer besitzt damit eine Referenz und muss sie per {@link #release(String)} wieder abgeben.
+     */
+    public StoredBlob store(InputStream input, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(fileStoragePath, "upload_", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            String ext = null;
+            long size = 0;
+
+            try (ReadableByteChannel in = Channels.newChannel(input);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                boolean eof = false;
+                while (!eof) {
+                    eof = in.read(buffer) < 0;
+                    // Für die Typerkennung erst genug Bytes sammeln
+                    if (ext == null && !eof && buffer.position() < SNIFF_BYTES) {
+                        continue;
+                    }
+                    buffer.flip();
+                    if (ext == null) {
+                        ext = sniffExtension(buffer);
+                    }
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new UploadRejectedException(UploadRejectedException.Reason.TOO_LARGE,
+                                "Bild größer als " + maxBytes + " Bytes");
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String filename = hash + ext;
+
+            ReentrantLock lock = lockFor(hash);
+            lock.lock();
+            try {
+                Path target = shardDir(hash).resolve(filename);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                acquire(hash, ext, size);
+            } finally {
+                lock.unlock();
+            }
+            return new StoredBlob(hash, filename, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Endung aus den Magic Bytes; unbekannte Formate werden gar nicht erst gespeichert
+    private static String sniffExtension(ByteBuffer buffer) {
+        byte[] head = new byte[Math.min(SNIFF_BYTES, buffer.remaining())];
+        buffer.duplicate().get(head);
+        String contentType = ImageService.sniffContentType(head);
+        String ext = contentType != null ? EXTENSIONS.get(contentType) : null;
+        if (ext == null) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.UNSUPPORTED_TYPE,
+                    "Nur JPEG, PNG, GIF und WebP sind erlaubt");
+        }
+        return ext;
+    }
+
+    // Gleicher Inhalt mit anderer Endung bekommt denselben Eintrag; die zuerst gespeicherte Endung bleibt
+    private void acquire(String hash, String extension, long size) {
+        if (imageBlobRepository.incrementRefCount(hash) == 0) {
+            imageBlobRepository.save(new ImageBlob(hash, extension, size));
+        }
+    }
+
+    // Referenz abgeben; Dateien bleiben bis zur nächsten GC nach Ablauf der Schonfrist liegen
+    public void release(String filenameOrUrl) {
+        hashOf(filenameOrUrl).ifPresent(hash -> imageBlobRepository.decrementRefCount(hash, LocalDateTime.now()));
+    }
+
+    /**
+     * Löscht unreferenzierte Blobs samt Varianten sowie Dateien ohne DB-Eintrag (z. B. nach Absturz zwischen
+     * Verschieben und Referenzieren), jeweils erst nach Ablauf der Schonfrist.
+     *
+     * @return Anzahl gelöschter Blobs
+     */
+    public int collectGarbage() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getGcGracePeriod());
+        int removed = 0;
+
+        for (String hash : imageBlobRepository.findUnreferencedBefore(cutoff)) {
+            ReentrantLock lock = lockFor(hash);
+            lock.lock();
+            try {
+                if (imageBlobRepository.deleteIfUnreferenced(hash, cutoff) == 1) {
+                    deleteFiles(hash);
+                    removed++;
+                }
+            } catch (IOException e) {
+                log.warn("Blob {} konnte nicht gelöscht werden: {}", hash, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        removed += sweepOrphans(cutoff);
+        return removed;
+    }
+
+    private int sweepOrphans(LocalDateTime cutoff) {
+        if (!Files.isDirectory(blobRoot)) {
+            return 0;
+        }
+        long cutoffMillis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int removed = 0;
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(blobRoot, 3)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            log.warn("Blob-Verzeichnis nicht lesbar: {}", e.getMessage());
+            return 0;
+        }
+
+        for (Path file : files) {
+            Optional<String> hash = hashOf(file.getFileName().toString());
+            if (hash.isEmpty() || !file.getFileName().toString().equals(hash.get() + extensionOf(file))) {
+                continue; // nur Originale betrachten, Varianten gehen mit ihrem Original
+            }
+            ReentrantLock lock = lockFor(hash.get());
+            lock.lock();
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis
+                        && !imageBlobRepository.existsById(hash.get())) {
+                    deleteFiles(hash.get());
+                    removed++;
+                }
+            } catch (IOException e) {
+                log.warn("Verwaister Blob {} konnte nicht gelöscht werden: {}", file, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    private void deleteFiles(String hash) throws IOException {
+        Path dir = shardDir(hash);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, hash + "*")) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+                imageCache.invalidate(file);
+            }
+        }
+    }
+
+    // Zwei Ebenen à 256 Verzeichnisse halten die Einträge pro Verzeichnis klein
+    private Path shardDir(String hash) {
+        return blobRoot.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4));
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % locks.length];
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot) : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.service.ImageService.ImageFile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hält die Bytes häufig abgerufener Bilder in Direct-ByteBuffers (außerhalb des Heaps), begrenzt auf ein
+ * Byte-Budget. Caffeine entscheidet per W-TinyLFU, was bleibt: einmalige Abrufe verdrängen die Dauerbrenner nicht.
+ * Einträge sind an ETag und Größe gebunden; ändert sich die Datei, wird neu geladen.
+ */
+@Component
+public class ImageCache {
+
+    private final Cache<Path, CachedImage> cache;
+    private final long budgetBytes;
+    private final long maxEntryBytes;
+    private final boolean enabled;
+
+    private final LongAdder bytesServed = new LongAdder();
+    private final LongAdder bytesServedFromCache = new LongAdder();
+
+    private record CachedImage(ByteBuffer data, String etag) {
+    }
+
+    public record Stats(long hitCount, long missCount, double hitRatio, long evictionCount, long entries,
+                        long cachedBytes, long budgetBytes, long bytesServed, long bytesServedFromCache) {
+    }
+
+    public ImageCache(ImageProperties properties) {
+        this.budgetBytes = Math.max(properties.getCacheSize().toBytes(), 0);
+        this.enabled = budgetBytes > 0;
+        this.maxEntryBytes = Math.min(properties.getCacheMaxEntrySize().toBytes(), Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(budgetBytes)
+                .weigher((Path path, CachedImage image) -> image.data().capacity())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Liefert die Bytes des Bildes aus dem Cache oder lädt sie von der Platte. Leer, wenn das Bild nicht
+     * gecacht wird (zu groß oder Cache aus) – dann liest der Aufrufer selbst von der Platte.
+     * Der Buffer ist eine eigene, schreibgeschützte Sicht und darf frei positioniert werden.
+     */
+    public Optional<ByteBuffer> get(ImageFile image) {
+        if (!isCacheable(image)) {
+            return Optional.empty();
+        }
+        try {
+            CachedImage cached = cache.get(image.path(), path -> load(path, image));
+            // Datei wurde ersetzt (andere Version als beim Laden): neu einlesen und Eintrag überschreiben
+            if (!cached.etag().equals(image.etag()) || cached.data().capacity() != image.length()) {
+                cached = load(image.path(), image);
+                cache.put(image.path(), cached);
+            }
+            return Optional.of(cached.data().duplicate());
+        } catch (UncheckedIOException e) {
+            cache.invalidate(image.path());
+            return Optional.empty();
+        }
+    }
+
+    public boolean isCacheable(ImageFile image) {
+        return enabled && image.length() <= maxEntryBytes;
+    }
+
+    public void invalidate(Path path) {
+        cache.invalidate(path);
+    }
+
+    // Für die Kennzahlen: jede ausgelieferte Antwort, ob aus Cache oder Platte
+    public void recordServed(long bytes, boolean fromCache) {
+        bytesServed.add(bytes);
+        if (fromCache) {
+            bytesServedFromCache.add(bytes);
+        }
+    }
+
+    public Stats stats() {
+        // Gewichte werden asynchron nachgeführt; ohne cleanUp() hinkt cachedBytes nach put/replace hinterher
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        long cachedBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new Stats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                cache.estimatedSize(), cachedBytes, budgetBytes, bytesServed.sum(), bytesServedFromCache.sum());
+    }
+
+    private static CachedImage load(Path path, ImageFile image) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) image.length());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // bis der Buffer voll ist
+            }
+            if (buffer.hasRemaining()) {
+                // Datei wurde zwischen resolve() und Laden gekürzt
+                throw new IOException("Datei kürzer als erwartet: " + path);
+            }
+            return new CachedImage(buffer.flip().asReadOnlyBuffer(), image.etag());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Auflösen und Beschreiben gespeicherter Item-Bilder für die Auslieferung.
+ * Content-Type wird einmal per Magic Bytes erkannt und zusammen mit Größe/Änderungszeit gecacht.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    // Nur einfache Dateinamen, keine Pfade (schützt vor ../-Traversal)
+    private static final Pattern SAFE_FILENAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,200}");
+
+    // [item_{id}_]{sha256}[_w{breite}].{ext}: Name ändert sich mit dem Inhalt, daher unbegrenzt cachebar
+    private static final Pattern CONTENT_HASHED = Pattern.compile("(?:item_\\d+_)?([0-9a-f]{64})(_w\\d+)?(\\.[A-Za-z0-9]+)?");
+
+    private static final List<String> VARIANT_FORMATS = List.of("jpg", "png");
+    private static final int VARIANT_WIDTHS_CACHE_SIZE = 10_000;
+    private static final Duration VARIANT_WIDTHS_TTL = Duration.ofMinutes(1);
+
+    private final Path fileStoragePath;
+    private final BlobStoreService blobStoreService;
+    private final ItemRepository itemRepository;
+
+    private final Map<String, ImageFile> metadataCache = new ConcurrentHashMap<>();
+
+    // Thumbnail-Breiten pro Dateiname, eigener Cache statt des Katalog-Query-Caches (item-queries)
+    private final Cache<String, List<Integer>> variantWidths = Caffeine.newBuilder()
+            .maximumSize(VARIANT_WIDTHS_CACHE_SIZE)
+            .expireAfterWrite(VARIANT_WIDTHS_TTL)
+            .build();
+
+    public record ImageFile(Path path, String contentType, long length, long lastModified, String etag,
+                            boolean immutable) {
+    }
+
+    /**
+     * Liefert die kleinste vorgerenderte Variante, die mindestens {@code width} Pixel breit ist,
+     * sonst das Original.
+     */
+    public Optional<ImageFile> resolve(String filename, Integer width) {
+        Optional<ImageFile> original = resolve(filename);
+        // Nur zu vorhandenen Bildern nach Varianten suchen, erfundene Namen kosten keine DB-Abfrage
+        if (original.isEmpty() || width == null || width <= 0) {
+            return original;
+        }
+        OptionalInt candidate = variantWidths.get(filename, this::loadVariantWidths).stream()
+                .mapToInt(Integer::intValue)
+                .filter(variantWidth -> variantWidth >= width)
+                .min();
+        if (candidate.isPresent()) {
+            for (String format : VARIANT_FORMATS) {
+                Optional<ImageFile> variant =
+                        resolve(ImageVariantService.variantFilename(filename, candidate.getAsInt(), format));
+                if (variant.isPresent()) {
+                    return variant;
+                }
+            }
+        }
+        return original;
+    }
+
+    // Nach dem Eintragen neuer Varianten (ImageVariantService), andere Knoten sehen sie nach Ablauf der TTL
+    public void forgetVariantWidths(String filename) {
+        variantWidths.invalidate(filename);
+    }
+
+    // Vorhandene Breiten aus image_variants statt jede mögliche Variantendatei auf der Platte zu suchen;
+    // unlesbare Einträge werden übersprungen
+    private List<Integer> loadVariantWidths(String filename) {
+        List<String> variants = itemRepository.findImageVariantsByImageUrl(
+                ImageUploadService.IMAGE_URL_PREFIX + filename, PageRequest.of(0, 1));
+        if (variants.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> widths = new ArrayList<>();
+        for (String token : variants.get(0).split(",")) {
+            try {
+                widths.add(Integer.valueOf(token.trim()));
+            } catch (NumberFormatException e) {
+                // kaputter Eintrag: diese Breite gibt es eben nicht
+            }
+        }
+        return widths;
+    }
+
+    public Optional<ImageFile> resolve(String filename) {
+        if (filename == null || !SAFE_FILENAME.matcher(filename).matches()) {
+            return Optional.empty();
+        }
+        Path path = blobStoreService.locate(filename).normalize();
+        if (!path.startsWith(fileStoragePath) || !Files.isRegularFile(path)) {
+            metadataCache.remove(filename);
+            return Optional.empty();
+        }
+
+        try {
+            long length = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            ImageFile cached = metadataCache.get(filename);
+            if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+                return Optional.of(cached);
+            }
+
+            var hashed = CONTENT_HASHED.matcher(filename);
+            boolean immutable = hashed.matches();
+            String etag = immutable
+                    ? "\"" + hashed.group(1) + (hashed.group(2) != null ? hashed.group(2) : "") + "\""
+                    : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            ImageFile image = new ImageFile(path, detectContentType(path), length, lastModified, etag, immutable);
+            metadataCache.put(filename, image);
+            return Optional.of(image);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Content-Type anhand der ersten Bytes statt der Dateiendung
+    static String detectContentType(Path path) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(path)) {
+            head = in.readNBytes(12);
+        }
+        String sniffed = sniffContentType(head);
+        if (sniffed != null) {
+            return sniffed;
+        }
+        String probed = Files.probeContentType(path);
+        return probed != null ? probed : "application/octet-stream";
+    }
+
+    public static String sniffContentType(byte[] head) {
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(head, 'R', 'I', 'F', 'F') && head.length >= 12
+                && Arrays.equals(Arrays.copyOfRange(head, 8, 12), new byte[]{'W', 'E', 'B', 'P'})) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.FileStorageProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ablauf eines Bild-Uploads: Blob speichern (gestreamt, mit Größen- und Typprüfung), erst danach das Item
+ * umhängen und Thumbnails anstoßen. Die Zahl gleichzeitiger Uploads ist begrenzt, damit viele parallele
+ * Admin-Uploads nicht Threads und Temp-Platz binden.
+ */
+@Service
+public class ImageUploadService {
+
+    public static final String IMAGE_URL_PREFIX = "/api/items/images/";
+
+    private final BlobStoreService blobStoreService;
+    private final ItemService itemService;
+    private final ImageVariantService imageVariantService;
+    private final long maxImageBytes;
+    private final Semaphore permits;
+
+    public ImageUploadService(BlobStoreService blobStoreService, ItemService itemService,
+                              ImageVariantService imageVariantService, FileStorageProperties properties) {
+        this.blobStoreService = blobStoreService;
+        this.itemService = itemService;
+        this.imageVariantService = imageVariantService;
+        this.maxImageBytes = properties.getMaxImageSize().toBytes();
+        this.permits = new Semaphore(properties.getMaxConcurrentUploads());
+    }
+
+    /**
+     * @param declaredLength Content-Length bzw. Größe des Parts, -1 wenn unbekannt
+     * @return neue Bild-URL des Items
+     */
+    public String upload(Long itemId, InputStream input, long declaredLength) throws IOException {
+        // Angekündigte Übergröße sofort ablehnen, ohne den Body zu lesen
+        if (declaredLength > maxImageBytes) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.TOO_LARGE,
+                    "Bild größer als " + maxImageBytes + " Bytes");
+        }
+        if (!permits.tryAcquire()) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.BUSY,
+                    "Zu viele gleichzeitige Uploads, bitte später erneut versuchen");
+        }
+
+        try {
+            BlobStoreService.StoredBlob blob = blobStoreService.store(input, maxImageBytes);
+
+            // Item erst nach dem atomaren Verschieben umhängen; schlägt das fehl, Referenz wieder abgeben
+            String imageUrl = IMAGE_URL_PREFIX + blob.filename();
+            try {
+                itemService.updateItemImage(itemId, imageUrl);
+            } catch (RuntimeException e) {
+                blobStoreService.release(imageUrl);
+                throw e;
+            }
+            imageVariantService.generateVariantsAsync(itemId, blob.filename(), imageUrl);
+            return imageUrl;
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.EntityCacheInvalidator;
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Erzeugt nach dem Upload asynchron verkleinerte Varianten eines Item-Bildes (nur JDK-ImageIO)
+ * und trägt die vorhandenen Breiten am Item ein.
+ * Dateischema: {@code <basis>_w<breite>.<jpg|png>} neben dem Original; bei Blobs teilen sich alle Items
+ * mit gleichem Bild dieselben Varianten, vorhandene werden nicht neu gerendert.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final Path fileStoragePath;
+    private final BlobStoreService blobStoreService;
+    private final ItemRepository itemRepository;
+    private final ImageService imageService;
+    private final EntityCacheInvalidator cacheInvalidator;
+    private final ImageProperties properties;
+    private final TaskExecutor executor;
+
+    public ImageVariantService(Path fileStoragePath, BlobStoreService blobStoreService, ItemRepository itemRepository,
+                               ImageService imageService, EntityCacheInvalidator cacheInvalidator,
+                               ImageProperties properties,
+                               @Qualifier("imageVariantExecutor") TaskExecutor executor) {
+        this.fileStoragePath = fileStoragePath;
+        this.blobStoreService = blobStoreService;
+        this.itemRepository = itemRepository;
+        this.imageService = imageService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    // Dateiname einer Variante, z. B. item_1_abc.jpg + 160 -> item_1_abc_w160.jpg
+    public static String variantFilename(String filename, int width, String extension) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot > 0 ? filename.substring(0, dot) : filename;
+        return base + "_w" + width + "." + extension;
+    }
+
+    /**
+     * Stellt die Erzeugung in den begrenzten Worker-Pool. Ist die Queue voll, wird der Auftrag verworfen –
+     * das Original bleibt ausgeliefert, nur eben ohne Thumbnails.
+     */
+    public void generateVariantsAsync(Long itemId, String filename, String imageUrl) {
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(itemId, filename, imageUrl);
+                } catch (Exception e) {
+                    log.warn("Thumbnails für Item {} ({}) fehlgeschlagen: {}", itemId, filename, e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Thumbnail-Queue voll, Item {} bleibt ohne Varianten", itemId);
+        }
+    }
+
+    List<Integer> generateVariants(Long itemId, String filename, String imageUrl) throws IOException {
+        Path original = blobStoreService.locate(filename);
+        BufferedImage source = readBounded(original);
+        if (source == null) {
+            log.info("Kein von ImageIO lesbares Bild, keine Thumbnails: {}", filename);
+            return List.of();
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        List<Integer> widths = new ArrayList<>();
+
+        for (int width : properties.getVariantWidths().stream().sorted().toList()) {
+            // Nicht hochskalieren: größere Breiten liefert das Original
+            if (width >= source.getWidth()) {
+                break;
+            }
+            Path target = original.resolveSibling(variantFilename(filename, width, format));
+            if (!Files.exists(target)) {
+                writeAtomically(scale(source, width, alpha), format, target);
+            }
+            widths.add(width);
+        }
+
+        String variants = widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+        int updated = itemRepository.updateImageVariants(itemId, imageUrl, variants.isEmpty() ? null : variants);
+        imageService.forgetVariantWidths(filename);
+        if (updated > 0) {
+            cacheInvalidator.itemUpdatedInBulk(itemId);
+        }
+        return widths;
+    }
+
+    // Abmessungen vor dem Dekodieren prüfen, damit riesige Bilder nicht den Heap sprengen
+    private BufferedImage readBounded(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxPixels()) {
+                    throw new IOException("Bild zu groß: " + pixels + " Pixel");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Schrittweise halbieren und zuletzt bilinear auf Zielbreite skalieren (deutlich schärfer als ein einziger Schritt)
+    static BufferedImage scale(BufferedImage source, int targetWidth, boolean alpha) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private void writeAtomically(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(fileStoragePath, "variant_", ".tmp");
+        try {
+            if ("jpg".equals(format)) {
+                writeJpeg(image, temp);
+            } else {
+                ImageIO.write(image, format, temp.toFile());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.85f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
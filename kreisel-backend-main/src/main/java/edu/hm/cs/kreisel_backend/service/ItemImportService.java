@@ -0,0 +1,251 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.dto.ItemImportResult;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Item.*;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk-Import von Items aus CSV oder NDJSON.
+ * Die Eingabe wird zeilenweise gelesen (nie komplett im Speicher) und in Batches
+ * mit je eigener Transaktion geschrieben. Ungültige Zeilen landen im Fehlerbericht,
+ * der Rest wird trotzdem importiert.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        // Format aus Content-Type oder Dateiname ableiten, null wenn unbekannt
+        public static Format detect(String contentType, String filename) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+            if (type.contains("csv") || name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("jsonl") || name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            return null;
+        }
+    }
+
+    public ItemImportResult importItems(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ItemImportResult result = new ItemImportResult();
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+        List<Long> batchLines = new ArrayList<>(BATCH_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            String line;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                result.setTotalRows(result.getTotalRows() + 1);
+                try {
+                    Map<String, String> row = format == Format.CSV ? csvRow(header, line) : jsonRow(line);
+                    batch.add(toItem(row));
+                    batchLines.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    result.addError(lineNumber, e.getMessage());
+                }
+
+                if (batch.size() >= BATCH_SIZE) {
+                    flush(batch, batchLines, result);
+                }
+            }
+        }
+        flush(batch, batchLines, result);
+
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    // Ein Batch = eine Transaktion; schlägt sie fehl, werden alle Zeilen des Batches als Fehler gemeldet
+    private void flush(List<Item> batch, List<Long> batchLines, ItemImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.saveAll(batch);
+                // Über HTTP (Open-in-View) teilen sich alle Batches den EntityManager des Requests: ohne clear
+                // blieben alle importierten Items verwaltet und jeder Flush prüfte die früheren Batches mit
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + batch.size());
+        } catch (RuntimeException e) {
+            for (Long line : batchLines) {
+                result.addError(line, "Batch konnte nicht gespeichert werden: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private List<String> parseHeader(String line) {
+        List<String> header = new ArrayList<>();
+        for (String column : parseCsvLine(line)) {
+            header.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        if (!header.contains("name") || !header.contains("location")) {
+            throw new IllegalArgumentException("CSV-Header muss mindestens die Spalten name und location enthalten");
+        }
+        return header;
+    }
+
+    private Map<String, String> csvRow(List<String> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException("Zu viele Spalten: " + values.size() + " statt " + header.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            row.put(header.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    private Map<String, String> jsonRow(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Ungültiges JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Jede Zeile muss ein JSON-Objekt sein");
+        }
+        Map<String, String> row = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                row.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+            }
+        });
+        return row;
+    }
+
+    // Einfacher RFC-4180-Parser für eine Zeile (Felder in "..." mit "" als Escape, keine Zeilenumbrüche in Feldern)
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Nicht geschlossenes Anführungszeichen");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private Item toItem(Map<String, String> row) {
+        String name = text(row, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("name ist erforderlich");
+        }
+        Location location = parseEnum(Location.class, row, "location");
+        if (location == null) {
+            throw new IllegalArgumentException("location ist erforderlich");
+        }
+
+        Item item = new Item();
+        item.setName(name);
+        item.setSize(text(row, "size"));
+        item.setDescription(text(row, "description"));
+        item.setBrand(text(row, "brand"));
+        item.setLocation(location);
+        item.setGender(parseEnum(Gender.class, row, "gender"));
+        item.setCategory(parseEnum(Category.class, row, "category"));
+        item.setSubcategory(parseEnum(Subcategory.class, row, "subcategory"));
+        item.setZustand(parseEnum(Zustand.class, row, "zustand"));
+
+        String available = text(row, "available");
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Ungültiger Wert für available: " + available);
+            }
+            item.setAvailable(Boolean.parseBoolean(available));
+        }
+        return item;
+    }
+
+    private static String text(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, Map<String, String> row, String column) {
+        String value = text(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ungültiger Wert für " + column + ": " + value);
+        }
+    }
+}
@@ -1,25 +1,35 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Item.*;
 import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("kreisel.service")
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final BlobStoreService blobStoreService;
+    private final OutboxService outboxService;
 
-    // Haupt-Filtermethode
+    // Haupt-Filtermethode; read-only, damit sie mit app.datasource.replica von der Replica liest
+    @Transactional(readOnly = true)
     public List<Item> filterItems(Location location, Boolean available, String searchQuery,
                                   Gender gender, Category category, Subcategory subcategory, String size) {
-        return itemRepository.findAll().stream()
-                .filter(item -> item.getLocation() == location)
-                .filter(item -> available == null || item.isAvailable() == available)
+        // Standort (Pflicht) und Verfügbarkeit filtert die DB, den Rest der Service
+        List<Item> candidates = available != null
+                ? itemRepository.findByLocationAndAvailable(location, available)
+                : itemRepository.findByLocation(location);
+        return candidates.stream()
                 .filter(item -> matchesSearch(item, searchQuery))
                 .filter(item -> gender == null || item.getGender() == gender)
                 .filter(item -> category == null || item.getCategory() == category)
@@ -28,7 +38,7 @@ public class ItemService {
                 .toList();
     }
 
-    private boolean matchesSearch(Item item, String searchQuery) {
+    boolean matchesSearch(Item item, String searchQuery) {
         if (searchQuery == null) return true;
         String query = searchQuery.toLowerCase();
         return item.getName().toLowerCase().contains(query) ||
@@ -36,18 +46,33 @@ public class ItemService {
                 (item.getDescription() != null && item.getDescription().toLowerCase().contains(query));
     }
 
-
+    @Transactional(readOnly = true)
     public Item getItemById(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
     }
 
+    // Für Schreibpfade (Bild-Upload direkt nach dem Anlegen): bewusst nicht read-only, die Replica
+    // kennt ein gerade angelegtes Item evtl. noch nicht
+    public boolean existsById(Long id) {
+        return itemRepository.existsById(id);
+    }
+
+    // Bilder nur über den Upload (der hält die Blob-Referenz): eine mitgeschickte URL würde beim Löschen eine
+    // fremde Referenz abgeben, und die GC entfernte ein Bild, das ein anderes Item noch zeigt
+    @Transactional
     public Item createItem(Item item) {
-        return itemRepository.save(item);
+        item.setImageUrl(null);
+        item.setImageVariants(null);
+        Item saved = itemRepository.save(item);
+        outboxService.record(new ItemChanged(saved.getId(), saved.getLocation(), null, saved.isAvailable(), false));
+        return saved;
     }
 
+    @Transactional
     public Item updateItem(Long id, Item updated) {
         Item existing = getItemById(id);
+        Location previousLocation = existing.getLocation();
         existing.setName(updated.getName());
         existing.setSize(updated.getSize());
         existing.setDescription(updated.getDescription());
@@ -58,10 +83,34 @@ public class ItemService {
         existing.setCategory(updated.getCategory());
         existing.setSubcategory(updated.getSubcategory());
         existing.setZustand(updated.getZustand());
-        return itemRepository.save(existing);
+        Item saved = itemRepository.save(existing);
+        outboxService.record(new ItemChanged(id, saved.getLocation(), previousLocation, saved.isAvailable(), false));
+        return saved;
+    }
+
+    // Neues Bild setzen; alte Thumbnails gehören zum alten Bild und werden verworfen.
+    // Die Referenz auf das neue Bild bringt der Aufrufer mit (BlobStoreService.store), die alte wird hier abgegeben.
+    // Item-Sperre: zwei gleichzeitige Uploads sähen sonst dieselbe alte URL und gäben deren Blob doppelt ab
+    @Transactional
+    public Item updateItemImage(Long id, String imageUrl) {
+        Item existing = itemRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        String previousUrl = existing.getImageUrl();
+        existing.setImageUrl(imageUrl);
+        existing.setImageVariants(null);
+        Item saved = itemRepository.save(existing);
+        blobStoreService.release(previousUrl);
+        outboxService.record(new ItemChanged(id, saved.getLocation(), null, saved.isAvailable(), false));
+        return saved;
     }
 
+    @Transactional
     public void deleteItem(Long id) {
+        Optional<Item> existing = itemRepository.findById(id);
         itemRepository.deleteById(id);
+        existing.ifPresent(item -> {
+            blobStoreService.release(item.getImageUrl());
+            outboxService.record(new ItemChanged(id, item.getLocation(), null, false, true));
+        });
     }
 }
@@ -0,0 +1,227 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.NotificationProperties;
+import edu.hm.cs.kreisel_backend.event.WaitlistHoldGranted;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Notification;
+import edu.hm.cs.kreisel_backend.model.Notification.Type;
+import edu.hm.cs.kreisel_backend.model.Rental;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.notification.NotificationMessage;
+import edu.hm.cs.kreisel_backend.notification.NotificationSender;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.NotificationRepository;
+import edu.hm.cs.kreisel_backend.repository.RentalRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rückgabe-Erinnerungen und Überfällig-Hinweise, dazu die Nachricht bei einer Wartelisten-Reservierung.
+ * <p>
+ * Der Erinnerungs-Lauf holt nur offene Ausleihen im Enddatum-Fenster [heute - overdueLookbackDays,
+ * heute + daysBeforeDue] (Bereichsabfrage über idx_app_rental_end_date) und arbeitet es in Chunks von
+ * User-IDs ab. Pro User geht höchstens eine Mail mit allen fälligen Ausleihen raus; schon versandte
+ * Anlässe (Typ, Ausleihe, Enddatum) stehen in notification und werden übersprungen. Eine verlängerte
+ * Ausleihe hat ein neues Enddatum und wird daher erneut erinnert.
+ */
+@Slf4j
+@Service
+@Timed("kreisel.service")
+public class NotificationService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final Set<Type> REMINDER_TYPES = Set.of(Type.DUE_SOON, Type.OVERDUE);
+
+    private final RentalRepository rentalRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final NotificationSender sender;
+    private final NotificationProperties properties;
+
+    private final Counter remindersSent;
+    private final Counter waitlistSent;
+    private final Counter failed;
+    private final Counter deduplicated;
+    private final Counter rentalsScanned;
+
+    public NotificationService(RentalRepository rentalRepository, NotificationRepository notificationRepository,
+                               UserRepository userRepository, ItemRepository itemRepository,
+                               NotificationSender sender, NotificationProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.rentalRepository = rentalRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.sender = sender;
+        this.properties = properties;
+        this.remindersSent = Counter.builder("kreisel.notifications.sent").tag("type", "reminder")
+                .description("Versandte Benachrichtigungen").register(meterRegistry);
+        this.waitlistSent = Counter.builder("kreisel.notifications.sent").tag("type", "waitlist")
+                .description("Versandte Benachrichtigungen").register(meterRegistry);
+        this.failed = Counter.builder("kreisel.notifications.failed")
+                .description("Fehlgeschlagene Versandversuche, werden wiederholt").register(meterRegistry);
+        this.deduplicated = Counter.builder("kreisel.notifications.deduplicated")
+                .description("Übersprungene, schon erinnerte Ausleihen").register(meterRegistry);
+        this.rentalsScanned = Counter.builder("kreisel.notifications.rentals.scanned")
+                .description("Vom Erinnerungs-Job geprüfte Ausleihen").register(meterRegistry);
+    }
+
+    public record ReminderRun(int users, int rentals, int sent, int deduplicated, int failed, long durationMillis) {
+    }
+
+    public ReminderRun sendDueReminders(LocalDate today) {
+        return sendDueReminders(today, () -> true);
+    }
+
+    /**
+     * Wie {@link #sendDueReminders(LocalDate)}, bricht aber vor dem nächsten Chunk ab, sobald keepRunning false
+     * liefert (Leaderschaft verloren). Schon Versandtes ist vermerkt, der nächste Lauf macht beim Rest weiter.
+     */
+    public ReminderRun sendDueReminders(LocalDate today, BooleanSupplier keepRunning) {
+        long start = System.nanoTime();
+        LocalDate from = today.minusDays(properties.getOverdueLookbackDays());
+        LocalDate to = today.plusDays(properties.getDaysBeforeDue());
+        RunTotals totals = new RunTotals();
+
+        // Keyset über die User-ID statt OFFSET, damit spätere Chunks nicht teurer werden
+        Long afterUserId = 0L;
+        while (keepRunning.getAsBoolean()) {
+            List<Long> userIds = rentalRepository.findUserIdsWithOpenRentalsDueBetween(from, to, afterUserId,
+                    PageRequest.of(0, properties.getChunkSize()));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            processChunk(userIds, from, to, today, totals);
+            afterUserId = userIds.get(userIds.size() - 1);
+            if (userIds.size() < properties.getChunkSize()) {
+                break;
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        ReminderRun run = new ReminderRun(totals.users, totals.rentals, totals.sent, totals.deduplicated,
+                totals.failed, durationMillis);
+        log.info("Erinnerungen: {} Mails an {} User ({} Ausleihen geprüft, {} schon erinnert, {} fehlgeschlagen) in {} ms",
+                run.sent(), run.users(), run.rentals(), run.deduplicated(), run.failed(), durationMillis);
+        return run;
+    }
+
+    private void processChunk(List<Long> userIds, LocalDate from, LocalDate to, LocalDate today, RunTotals totals) {
+        List<Rental> rentals = rentalRepository.findOpenRentalsDueBetweenForUsers(from, to, userIds);
+        totals.users += userIds.size();
+        totals.rentals += rentals.size();
+        rentalsScanned.increment(rentals.size());
+
+        Set<String> alreadySent = notificationRepository.findByTypeInAndReferenceIdIn(REMINDER_TYPES,
+                        rentals.stream().map(Rental::getId).toList()).stream()
+                .map(n -> key(n.getType(), n.getReferenceId(), n.getDueDate()))
+                .collect(Collectors.toSet());
+
+        // Query liefert nach User sortiert, die Reihenfolge bleibt erhalten
+        Map<Long, List<Rental>> pendingByUser = new LinkedHashMap<>();
+        for (Rental rental : rentals) {
+            if (alreadySent.contains(key(typeOf(rental, today), rental.getId(), rental.getEndDate()))) {
+                totals.deduplicated++;
+                deduplicated.increment();
+                continue;
+            }
+            pendingByUser.computeIfAbsent(rental.getUser().getId(), userId -> new ArrayList<>()).add(rental);
+        }
+
+        pendingByUser.forEach((userId, pending) -> {
+            User user = pending.get(0).getUser();
+            try {
+                sender.send(reminderMessage(user, pending, today));
+            } catch (RuntimeException e) {
+                // nicht als versandt vermerken, der nächste Lauf versucht es erneut
+                totals.failed++;
+                failed.increment();
+                log.warn("Erinnerung an User {} fehlgeschlagen: {}", userId, e.getMessage());
+                return;
+            }
+            notificationRepository.saveAll(pending.stream()
+                    .map(rental -> new Notification(user, typeOf(rental, today), rental.getId(), rental.getEndDate()))
+                    .toList());
+            totals.sent++;
+            remindersSent.increment();
+        });
+    }
+
+    // Wirft bei Versandfehlern, die Outbox stellt das Event dann erneut zu
+    @EventListener
+    public void onWaitlistHoldGranted(WaitlistHoldGranted event) {
+        LocalDate holdDate = event.holdUntil().toLocalDate();
+        if (notificationRepository.existsByTypeAndReferenceIdAndDueDate(Type.WAITLIST_HOLD, event.entryId(), holdDate)) {
+            deduplicated.increment();
+            return;
+        }
+        User user = userRepository.findById(event.userId()).orElse(null);
+        Item item = itemRepository.findById(event.itemId()).orElse(null);
+        if (user == null || item == null) {
+            return; // inzwischen gelöscht
+        }
+        String body = "Hallo " + user.getFullName() + ",\n\n"
+                + "\"" + item.getName() + "\" ist wieder da und bis "
+                + event.holdUntil().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
+                + " Uhr für dich reserviert. Danach geht es an den Nächsten auf der Warteliste.\n";
+        try {
+            sender.send(new NotificationMessage(user.getEmail(), "Kreisel: Dein Item ist reserviert", body));
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+        notificationRepository.save(new Notification(user, Type.WAITLIST_HOLD, event.entryId(), holdDate));
+        waitlistSent.increment();
+    }
+
+    private NotificationMessage reminderMessage(User user, List<Rental> rentals, LocalDate today) {
+        boolean anyOverdue = rentals.stream().anyMatch(rental -> typeOf(rental, today) == Type.OVERDUE);
+        StringBuilder body = new StringBuilder("Hallo ").append(user.getFullName()).append(",\n\n");
+        body.append(anyOverdue
+                ? "bitte gib deine ausgeliehenen Sachen zurück:\n"
+                : "bald ist die Rückgabe fällig:\n");
+        for (Rental rental : rentals) {
+            body.append("- ").append(rental.getItem().getName()).append(": ");
+            body.append(typeOf(rental, today) == Type.OVERDUE ? "seit " : "fällig am ");
+            body.append(rental.getEndDate().format(DATE_FORMAT)).append('\n');
+        }
+        if (!anyOverdue) {
+            body.append("\nEine Verlängerung um 30 Tage ist einmal pro Ausleihe möglich.\n");
+        }
+        String subject = anyOverdue ? "Kreisel: Rückgabe überfällig" : "Kreisel: Rückgabe bald fällig";
+        return new NotificationMessage(user.getEmail(), subject, body.toString());
+    }
+
+    private static Type typeOf(Rental rental, LocalDate today) {
+        return rental.getEndDate().isBefore(today) ? Type.OVERDUE : Type.DUE_SOON;
+    }
+
+    private static String key(Type type, Long referenceId, LocalDate dueDate) {
+        return type + ":" + referenceId + ":" + dueDate;
+    }
+
+    private static final class RunTotals {
+        int users;
+        int rentals;
+        int sent;
+        int deduplicated;
+        int failed;
+    }
+}
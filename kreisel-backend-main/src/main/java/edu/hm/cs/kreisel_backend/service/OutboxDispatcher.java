@@ -0,0 +1,104 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import edu.hm.cs.kreisel_backend.config.OutboxProperties;
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stellt Outbox-Events batchweise außerhalb der Request-Threads zu: jedes Event geht als Spring-Event an
+ * alle passenden @EventListener, danach wird es als zugestellt markiert. Wirft ein Consumer, wird das
+ * Event mit wachsendem Abstand erneut zugestellt (at-least-once, auch an Consumer, die es schon hatten).
+ * Die Reihenfolge entspricht der Schreibreihenfolge, nur wiederholte Events können später ankommen.
+ * Im Cluster läuft die Zustellung nur auf dem Leader.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxProperties properties;
+    private final LeaderElection leaderElection;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public void run() {
+        if (!properties.isEnabled() || !leaderElection.isLeader()) {
+            return;
+        }
+        // Rückstau direkt abarbeiten statt ein Poll-Intervall pro Batch zu warten; die Leaderschaft kann
+        // währenddessen enden, dann übernimmt der neue Leader den Rest
+        while (dispatchBatch() == properties.getBatchSize() && leaderElection.isLeader()) {
+            log.debug("Outbox: voller Batch zugestellt, hole den nächsten");
+        }
+    }
+
+    /**
+     * Stellt bis zu batchSize fällige Events zu und gibt zurück, wie viele abgefragt wurden.
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findDispatchable(now, properties.getMaxAttempts(),
+                PageRequest.of(0, properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                eventPublisher.publishEvent(outboxService.read(outboxEvent));
+                outboxEvent.setProcessedAt(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                markFailed(outboxEvent, e, now);
+            }
+        }
+        outboxEventRepository.saveAll(batch);
+        return batch.size();
+    }
+
+    private void markFailed(OutboxEvent outboxEvent, RuntimeException error, LocalDateTime now) {
+        int attempts = outboxEvent.getAttempts() + 1;
+        outboxEvent.setAttempts(attempts);
+        outboxEvent.setAvailableAt(now.plus(retryDelay(attempts)));
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        outboxEvent.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Outbox-Event {} ({}) nach {} Versuchen aufgegeben", outboxEvent.getId(),
+                    outboxEvent.getEventType(), attempts, error);
+        } else {
+            log.warn("Outbox-Event {} ({}) fehlgeschlagen, Versuch {}: {}", outboxEvent.getId(),
+                    outboxEvent.getEventType(), attempts, message);
+        }
+    }
+
+    // retryDelay, 2x, 4x, ... bis maxRetryDelay
+    Duration retryDelay(int attempts) {
+        Duration delay = properties.getRetryDelay().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxRetryDelay()) > 0 ? properties.getMaxRetryDelay() : delay;
+    }
+
+    // Zugestellte Events nur zur Diagnose aufheben
+    @Scheduled(initialDelayString = "PT1H", fixedDelayString = "PT1H")
+    public void purgeProcessed() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        int removed = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (removed > 0) {
+            log.info("Outbox: {} zugestellte Events gelöscht", removed);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.event.DomainEvent;
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Schreibseite der Transactional Outbox: Events landen in derselben Transaktion wie die fachliche
+ * Änderung in outbox_event und werden erst nach dem Commit vom {@link OutboxDispatcher} zugestellt.
+ * Ein Rollback verwirft also auch das Event, ein Absturz nach dem Commit verliert keins.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    // Typname in der Tabelle -> Event-Klasse, abgeleitet aus dem sealed Interface
+    private static final Map<String, Class<?>> EVENT_TYPES = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: ohne umgebende Transaktion wäre das Event nicht atomar mit der Änderung
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(event.getClass().getSimpleName(), event.aggregateId(), payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Event konnte nicht serialisiert werden: " + event, e);
+        }
+    }
+
+    public DomainEvent read(OutboxEvent outboxEvent) {
+        Class<?> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new RuntimeException("Unbekannter Event-Typ: " + outboxEvent.getEventType());
+        }
+        try {
+            return (DomainEvent) objectMapper.readValue(outboxEvent.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Event " + outboxEvent.getId() + " konnte nicht gelesen werden", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import edu.hm.cs.kreisel_backend.config.NotificationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Täglicher Erinnerungs-Lauf (Zeitpunkt: app.notifications.cron)
+@Component
+@RequiredArgsConstructor
+public class ReminderJob {
+
+    private final NotificationService notificationService;
+    private final NotificationProperties properties;
+    private final LeaderElection leaderElection;
+
+    @Scheduled(cron = "${app.notifications.cron:0 0 7 * * *}")
+    public void run() {
+        if (properties.isEnabled() && leaderElection.isLeader()) {
+            notificationService.sendDueReminders(LocalDate.now(), leaderElection::isLeader);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.RentalCreated;
+import edu.hm.cs.kreisel_backend.event.RentalExtended;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.repository.ItemRepository;
 import edu.hm.cs.kreisel_backend.repository.RentalRepository;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,6 +22,7 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("kreisel.service")
 public class RentalService {
 
     private static final int MAX_ACTIVE_RENTALS = 5;
@@ -24,6 +32,9 @@ public class RentalService {
     private final RentalRepository rentalRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final OutboxService outboxService;
+    private final WaitlistService waitlistService;
+    private final EntityManager entityManager;
 
     public List<Rental> getAllRentals() {
         return rentalRepository.findAll();
@@ -50,11 +61,14 @@ public class RentalService {
                 .orElse(null);
     }
 
+    @Transactional
+    @Counted(value = "kreisel.rentals.created", description = "Ausleihvorgänge")
     public Rental rentItem(Long userId, Long itemId, LocalDate endDate) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Item item = itemRepository.findById(itemId)
+        // Sperre, damit parallele Ausleihen, Rückgaben und Wartelisten-Änderungen nacheinander laufen
+        Item item = itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
 
         validateRentalRequest(userId, item, endDate);
@@ -70,12 +84,16 @@ public class RentalService {
         item.setAvailable(false);
         itemRepository.save(item);
 
-        return rentalRepository.save(rental);
+        Rental saved = rentalRepository.save(rental);
+        waitlistService.removeEntry(userId, itemId);
+        outboxService.record(new RentalCreated(saved.getId(), item.getId(), userId, item.getLocation(), saved.getEndDate()));
+        return saved;
     }
 
 
     private void validateRentalRequest(Long userId, Item item, LocalDate endDate) {
-        if (!item.isAvailable()) {
+        // ein reserviertes Item ist unverfügbar, außer für den Wartenden, dem es reserviert wurde
+        if (!item.isAvailable() && !waitlistService.hasActiveHold(userId, item.getId())) {
             throw new RuntimeException("Item ist nicht verfügbar");
         }
 
@@ -114,6 +132,8 @@ public class RentalService {
     }
 
 
+    @Transactional
+    @Counted(value = "kreisel.rentals.extended", description = "Verlängerungen")
     public Rental extendRental(Long rentalId) {
         Rental rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new RuntimeException("Rental not found"));
@@ -138,9 +158,13 @@ public class RentalService {
         rental.setEndDate(newEndDate);
         rental.setExtended(true);
 
-        return rentalRepository.save(rental);
+        Rental saved = rentalRepository.save(rental);
+        outboxService.record(new RentalExtended(saved.getId(), rental.getItem().getId(), rental.getUser().getId(), newEndDate));
+        return saved;
     }
 
+    @Transactional
+    @Counted(value = "kreisel.rentals.returned", description = "Rückgaben")
     public Rental returnRental(Long rentalId) {
         Rental rental = rentalRepository.findById(rentalId)
                 .orElseThrow(() -> new RuntimeException("Rental not found"));
@@ -149,14 +173,26 @@ public class RentalService {
             throw new RuntimeException("Rental ist bereits zurückgegeben");
         }
 
+        // Erst die Item-Sperre, dann den Stand der Ausleihe neu lesen: zwei gleichzeitige Rückgaben sähen sonst
+        // beide returnDate == null und vergäben das Item zweimal an Wartende
+        Item item = itemRepository.findByIdForUpdate(rental.getItem().getId())
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        entityManager.refresh(rental);
+        if (rental.getReturnDate() != null) {
+            throw new RuntimeException("Rental ist bereits zurückgegeben");
+        }
+
         rental.setReturnDate(LocalDate.now());
 
-        // Item als verfügbar markieren
-        Item item = rental.getItem();
-        item.setAvailable(true);
+        // Item für den nächsten Wartenden reservieren oder als verfügbar markieren
+        boolean held = waitlistService.offerToNextWaiter(item);
+        item.setAvailable(!held);
         itemRepository.save(item);
 
-        return rentalRepository.save(rental);
+        Rental saved = rentalRepository.save(rental);
+        outboxService.record(new RentalReturned(saved.getId(), item.getId(), rental.getUser().getId(),
+                item.getLocation(), held));
+        return saved;
     }
 
 }
@@ -1,5 +1,6 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.Review;
@@ -8,7 +9,10 @@ import edu.hm.cs.kreisel_backend.repository.ItemRepository;
 import edu.hm.cs.kreisel_backend.repository.RentalRepository;
 import edu.hm.cs.kreisel_backend.repository.ReviewRepository;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,18 +23,22 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("kreisel.service")
 public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final RentalRepository rentalRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
 
     // Get all reviews for an item
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByItemId(Long itemId) {
         return reviewRepository.findByItemId(itemId);
     }
 
     // Get average rating for an item
+    @Transactional(readOnly = true)
     public Double getAverageRatingForItem(Long itemId) {
         return reviewRepository.getAverageRatingForItem(itemId);
     }
@@ -80,6 +88,7 @@ public class ReviewService {
 
     // Create a review
     @Transactional
+    @Counted(value = "kreisel.reviews.created", description = "abgegebene Bewertungen")
     public Review createReview(Long rentalId, Long userId, int rating, String comment) {
         // Find rental
         Rental rental = rentalRepository.findById(rentalId)
@@ -112,17 +121,18 @@ public class ReviewService {
         review.setRating(rating);
         review.setComment(comment);
 
-        // Save review
+        // Save review, item statistics are updated asynchronously (onReviewCreated)
         Review savedReview = reviewRepository.save(review);
-
-        // Update item rating statistics
-        Double avgRating = reviewRepository.getAverageRatingForItem(item.getId());
-        List<Review> itemReviews = reviewRepository.findByItemId(item.getId());
-
-        item.setAverageRating(avgRating != null ? avgRating : 0.0);
-        item.setReviewCount(itemReviews.size());
-        itemRepository.save(item);
+        outboxService.record(new ReviewCreated(savedReview.getId(), item.getId(), userId, rating));
 
         return savedReview;
     }
+
+    // Update item rating statistics; recomputed from scratch, so duplicate deliveries are harmless
+    @EventListener
+    public void onReviewCreated(ReviewCreated event) {
+        Double avgRating = reviewRepository.getAverageRatingForItem(event.itemId());
+        long reviewCount = reviewRepository.countByItemId(event.itemId());
+        itemRepository.updateRatingStatistics(event.itemId(), avgRating != null ? avgRating : 0.0, (int) reviewCount);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import lombok.Getter;
+
+// Upload wurde bewusst abgelehnt (kein Serverfehler), der Controller übersetzt den Grund in einen Statuscode
+@Getter
+public class UploadRejectedException extends RuntimeException {
+
+    public enum Reason {
+        TOO_LARGE,
+        UNSUPPORTED_TYPE,
+        BUSY
+    }
+
+    private final Reason reason;
+
+    public UploadRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
@@ -1,25 +1,55 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
+@Timed("kreisel.service")
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WaitlistService waitlistService;
+
+    static final int MAX_PAGE_SIZE = 100;
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Seitenweise Admin-Liste mit optionaler Präfix-Suche auf email und fullName
+    public Page<UserSummary> getUserPage(String search, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by("id"));
+
+        if (search == null || search.isBlank()) {
+            return userRepository.findAllSummaries(pageRequest);
+        }
+        String prefix = escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%";
+        return userRepository.searchSummariesByPrefix(prefix, pageRequest);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -84,7 +114,9 @@ public class UserService {
         userRepository.save(existing);
     }
 
+    @Transactional
     public void deleteUser(Long id) {
+        waitlistService.releaseHoldsOf(id);
         userRepository.deleteById(id);
     }
 }
\ No newline at end of file
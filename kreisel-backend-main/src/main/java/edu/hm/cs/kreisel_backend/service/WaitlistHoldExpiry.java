@@ -0,0 +1,37 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Gibt verfallene Reservierungen an den Nächsten weiter (Intervall: app.waitlist.expiry-check-interval)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitlistHoldExpiry {
+
+    private final WaitlistService waitlistService;
+    private final LeaderElection leaderElection;
+
+    @Scheduled(fixedDelayString = "${app.waitlist.expiry-check-interval:PT1M}")
+    public void run() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        List<Long> expired = waitlistService.findExpiredHolds();
+        for (Long entryId : expired) {
+            try {
+                waitlistService.expireHold(entryId);
+            } catch (RuntimeException e) {
+                log.warn("Warteliste: Reservierung {} konnte nicht freigegeben werden", entryId, e);
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Warteliste: {} verfallene Reservierungen weitergegeben", expired.size());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.WaitlistProperties;
+import edu.hm.cs.kreisel_backend.dto.WaitlistStatus;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.WaitlistHoldGranted;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.model.WaitlistEntry;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import edu.hm.cs.kreisel_backend.repository.WaitlistEntryRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Warteliste für ausgeliehene Items: statt wiederholt "rent" zu versuchen, stellt man sich einmal an.
+ * Bei der Rückgabe wird das Item in derselben Transaktion für den Ersten der Liste reserviert
+ * (holdUntil), nur er kann es dann ausleihen. Verfällt die Reservierung, geht sie an den Nächsten
+ * bzw. das Item wird wieder frei. Alle Zustandswechsel sperren vorher die Item-Zeile.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("kreisel.service")
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final WaitlistProperties properties;
+
+    // Mehrfaches Anstellen liefert den bestehenden Platz zurück
+    @Transactional
+    @Counted(value = "kreisel.waitlist.joined", description = "Wartelisten-Eintragungen")
+    public WaitlistStatus join(Long userId, Long itemId) {
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+
+        Optional<WaitlistEntry> existing = waitlistEntryRepository.findByItemIdAndUserId(itemId, userId);
+        if (existing.isPresent()) {
+            return toStatus(existing.get());
+        }
+
+        if (item.isAvailable()) {
+            throw new RuntimeException("Item ist verfügbar und kann direkt ausgeliehen werden");
+        }
+
+        if (waitlistEntryRepository.countByUserId(userId) >= properties.getMaxEntriesPerUser()) {
+            throw new RuntimeException("Maximale Anzahl an Wartelisten-Plätzen (" + properties.getMaxEntriesPerUser() + ") erreicht");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return toStatus(waitlistEntryRepository.save(new WaitlistEntry(item, user)));
+    }
+
+    public Optional<WaitlistStatus> getStatus(Long userId, Long itemId) {
+        return waitlistEntryRepository.findByItemIdAndUserId(itemId, userId).map(this::toStatus);
+    }
+
+    // Wer eine Reservierung aufgibt, gibt sie sofort an den Nächsten weiter
+    @Transactional
+    public boolean leave(Long userId, Long itemId) {
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        Optional<WaitlistEntry> entry = waitlistEntryRepository.findByItemIdAndUserId(itemId, userId);
+        if (entry.isEmpty()) {
+            return false;
+        }
+        waitlistEntryRepository.delete(entry.get());
+        if (entry.get().getHoldUntil() != null) {
+            releaseHold(item);
+        }
+        return true;
+    }
+
+    /**
+     * Vor dem Löschen eines Users: seine Reservierungen weitergeben. Der Cascade auf waitlist_entry allein ließe
+     * das reservierte Item für immer unverfügbar, seine übrigen Wartelisten-Plätze verschwinden mit dem User.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseHoldsOf(Long userId) {
+        for (Long itemId : waitlistEntryRepository.findHeldItemIdsByUserId(userId)) {
+            leave(userId, itemId);
+        }
+    }
+
+    /**
+     * Reserviert das Item für den nächsten Wartenden. Läuft in der Transaktion der Rückgabe, der
+     * Aufrufer hält die Sperre auf das Item und lässt es bei true unverfügbar.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean offerToNextWaiter(Item item) {
+        Optional<WaitlistEntry> next = waitlistEntryRepository
+                .findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(item.getId());
+        if (next.isEmpty()) {
+            return false;
+        }
+        WaitlistEntry entry = next.get();
+        entry.setHoldUntil(LocalDateTime.now().plus(properties.getHoldDuration()));
+        waitlistEntryRepository.save(entry);
+        outboxService.record(new WaitlistHoldGranted(entry.getId(), item.getId(), entry.getUser().getId(),
+                entry.getHoldUntil()));
+        return true;
+    }
+
+    // Darf der User das (unverfügbare) Item trotzdem ausleihen, weil es für ihn reserviert ist?
+    public boolean hasActiveHold(Long userId, Long itemId) {
+        return waitlistEntryRepository.findByItemIdAndUserId(itemId, userId)
+                .map(entry -> entry.getHoldUntil() != null && entry.getHoldUntil().isAfter(LocalDateTime.now()))
+                .orElse(false);
+    }
+
+    // Nach erfolgreicher Ausleihe ist der Platz verbraucht
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeEntry(Long userId, Long itemId) {
+        waitlistEntryRepository.findByItemIdAndUserId(itemId, userId).ifPresent(waitlistEntryRepository::delete);
+    }
+
+    public List<Long> findExpiredHolds() {
+        return waitlistEntryRepository.findExpiredHolds(LocalDateTime.now());
+    }
+
+    // Einzeln und erst nach der Item-Sperre gelesen: der Eintrag kann inzwischen ausgeliehen oder verlassen worden sein
+    @Transactional
+    public void expireHold(Long entryId) {
+        waitlistEntryRepository.findItemIdById(entryId).ifPresent(itemId -> {
+            Item item = itemRepository.findByIdForUpdate(itemId)
+                    .orElseThrow(() -> new RuntimeException("Item not found"));
+            waitlistEntryRepository.findById(entryId)
+                    .filter(entry -> entry.getHoldUntil() != null && entry.getHoldUntil().isBefore(LocalDateTime.now()))
+                    .ifPresent(entry -> {
+                        waitlistEntryRepository.delete(entry);
+                        releaseHold(item);
+                    });
+        });
+    }
+
+    // Reservierung weitergeben oder das Item wieder freigeben
+    private void releaseHold(Item item) {
+        if (offerToNextWaiter(item)) {
+            return;
+        }
+        item.setAvailable(true);
+        itemRepository.save(item);
+        outboxService.record(new ItemChanged(item.getId(), item.getLocation(), null, true, false));
+    }
+
+    private WaitlistStatus toStatus(WaitlistEntry entry) {
+        if (entry.getHoldUntil() != null) {
+            return new WaitlistStatus(entry.getItem().getId(), 0, entry.getHoldUntil());
+        }
+        long position = waitlistEntryRepository.findPosition(entry.getItem().getId(), entry.getCreatedAt(), entry.getId());
+        return new WaitlistStatus(entry.getItem().getId(), position, null);
+    }
+}
@@ -0,0 +1,255 @@
+package edu.hm.cs.kreisel_backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.config.IdempotencyProperties;
+import edu.hm.cs.kreisel_backend.web.IdempotencyStore.Entry;
+import edu.hm.cs.kreisel_backend.web.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key für die schreibenden POSTs der App (Ausleihen, Verlängern, Zurückgeben, Bewerten).
+ * Wiederholt der Client einen Request mit demselben Key, kommt die gespeicherte Antwort zurück, ohne dass
+ * der Controller erneut läuft; ein paralleles Duplikat wartet auf die laufende Ausführung.
+ * <p>
+ * Keys gelten pro User und Pfad. Derselbe Key mit anderem Body gibt 422. Antworten mit 5xx oder Exception
+ * werden nicht gespeichert, der nächste Versuch führt neu aus. Antworten über max-response-size werden nur
+ * vermerkt: eine Wiederholung bekommt 409 statt erneut auszuführen. Läuft als Servlet-Filter nach der
+ * Security-Kette, der User ist hier also schon gesetzt und abgelehnte Requests kommen gar nicht an.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String METRIC_NAME = "kreisel.idempotency.requests";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, 400, HEADER + " muss 1 bis " + MAX_KEY_LENGTH + " Zeichen lang sein");
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Body einmal einlesen: für den Fingerprint und für den Controller
+        long maxRequestBytes = properties.getMaxRequestSize().toBytes();
+        byte[] body = request.getInputStream().readNBytes((int) maxRequestBytes + 1);
+        if (body.length > maxRequestBytes) {
+            reject(response, 413, "Request zu groß für " + HEADER);
+            return;
+        }
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String fingerprint = fingerprint(body);
+        String storeKey = authentication.getName() + " " + request.getRequestURI() + " " + key;
+
+        while (true) {
+            Entry entry = new Entry(fingerprint);
+            Entry existing = store.putIfAbsent(storeKey, entry);
+            if (existing == null) {
+                execute(cachedRequest, response, filterChain, storeKey, entry);
+                return;
+            }
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                reject(response, 422, HEADER + " wurde bereits für einen anderen Request verwendet");
+                return;
+            }
+            boolean inFlight = !existing.getResult().isDone();
+            StoredResponse stored;
+            try {
+                stored = existing.getResult().get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, 409, "Request mit diesem " + HEADER + " läuft noch");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(response, 409, "Request mit diesem " + HEADER + " läuft noch");
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (stored != null && !stored.isStored()) {
+                reject(response, 409, "Request mit diesem " + HEADER
+                        + " wurde bereits ausgeführt, die Antwort war zu groß zum Speichern");
+                return;
+            }
+            // Original abgebrochen: neuer Versuch, ggf. führt dieser Request jetzt selbst aus
+            if (stored != null) {
+                count(inFlight ? "collapsed" : "replayed");
+                replay(stored, response);
+                return;
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < 500) {
+                store.complete(storeKey, entry, new StoredResponse(responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(storeKey, entry);
+            }
+        }
+        count("executed");
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        count("rejected");
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(Map.of("error", message)));
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter(METRIC_NAME, "outcome", outcome).increment();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Liefert den schon gelesenen Body erneut aus
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Der Body liegt schon komplett im Speicher: sofort lesbar und sofort zu Ende
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
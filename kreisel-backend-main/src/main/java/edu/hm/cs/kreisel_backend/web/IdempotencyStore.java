@@ -0,0 +1,101 @@
+package edu.hm.cs.kreisel_backend.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.hm.cs.kreisel_backend.config.IdempotencyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gespeicherte Antworten zu Idempotency-Keys, begrenzt auf ein Byte-Budget und eine TTL (Caffeine).
+ * Ein Eintrag wird schon beim Start der Ausführung angelegt; parallele Duplikate finden ihn und warten
+ * auf dessen Ergebnis, statt selbst auszuführen. Nur im Speicher dieser Instanz.
+ */
+@Component
+public class IdempotencyStore {
+
+    // Grobe Schätzung für Schlüssel und Verwaltung, damit auch laufende Einträge etwas wiegen
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<String, Entry> cache;
+    private final long maxResponseBytes;
+
+    /**
+     * Gespeicherte Antwort. Ohne body (null) nur ein Vermerk, dass ausgeführt wurde, die Antwort aber über
+     * max-response-size lag und nicht gespeichert ist.
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+
+        static StoredResponse notStored(int status) {
+            return new StoredResponse(status, null, null);
+        }
+
+        public boolean isStored() {
+            return body != null;
+        }
+    }
+
+    /**
+     * Eine Ausführung zu einem Key. Das Ergebnis ist null, wenn die Ausführung abgebrochen ist
+     * (Exception oder 5xx) – dann darf ein Wartender selbst ausführen.
+     */
+    public static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> getResult() {
+            return result;
+        }
+
+        private int weight() {
+            StoredResponse response = result.getNow(null);
+            return ENTRY_OVERHEAD + (response == null || !response.isStored() ? 0 : response.body().length);
+        }
+    }
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this.maxResponseBytes = properties.getMaxResponseSize().toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    // Legt den Eintrag an, falls es noch keinen gibt; sonst kommt der bestehende zurück
+    public Entry putIfAbsent(String key, Entry entry) {
+        return cache.asMap().putIfAbsent(key, entry);
+    }
+
+    public void complete(String key, Entry entry, StoredResponse response) {
+        entry.result.complete(response);
+        if (response.body().length <= maxResponseBytes) {
+            // erneutes put, damit Caffeine das Gewicht mit Body neu berechnet
+            cache.asMap().replace(key, entry, entry);
+        } else {
+            // Body nicht behalten, aber die Ausführung vermerken: eine Wiederholung darf nicht erneut ausführen.
+            // Parallel Wartende haben den Eintrag schon und bekommen die volle Antwort.
+            Entry marker = new Entry(entry.fingerprint);
+            marker.result.complete(StoredResponse.notStored(response.status()));
+            cache.asMap().replace(key, entry, marker);
+        }
+    }
+
+    public void abandon(String key, Entry entry) {
+        cache.asMap().remove(key, entry);
+        entry.result.complete(null);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
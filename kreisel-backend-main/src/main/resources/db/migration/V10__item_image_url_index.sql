@@ -0,0 +1,3 @@
+-- Bild-Auslieferung mit ?w= sucht die Thumbnail-Breiten über die Bild-URL des Items
+
+create index idx_app_item_image_url on app_item (image_url);
@@ -0,0 +1,9 @@
+-- Admin-Suche ohne Groß-/Kleinschreibung: H2 kennt keine Funktionsindizes, daher berechnete Spalten
+-- mit lower(...) und darauf die Indizes für die Präfix-Suche (LIKE 'x%')
+
+alter table app_user add column full_name_lower varchar(255) generated always as (lower(full_name));
+alter table app_user add column email_lower varchar(255) generated always as (lower(email));
+
+drop index idx_app_user_full_name;
+create index idx_app_user_full_name_lower on app_user (full_name_lower);
+create index idx_app_user_email_lower on app_user (email_lower);
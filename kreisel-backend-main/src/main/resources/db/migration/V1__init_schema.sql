@@ -0,0 +1,64 @@
+-- Ausgangsschema: alle Tabellen der JPA-Entities, Sequenzen mit allocationSize 50 (Hibernate holt IDs in Blöcken)
+
+create sequence app_item_seq start with 1 increment by 50;
+create sequence app_rental_seq start with 1 increment by 50;
+create sequence app_user_seq start with 1 increment by 50;
+create sequence review_seq start with 1 increment by 50;
+
+create table app_item (
+    id bigint not null,
+    name varchar(255),
+    size varchar(255),
+    available boolean not null,
+    description varchar(255),
+    brand varchar(255),
+    image_url varchar(255),
+    average_rating float(53),
+    review_count integer,
+    location varchar(255),
+    gender varchar(255),
+    category varchar(255),
+    subcategory varchar(255),
+    zustand varchar(255),
+    primary key (id)
+);
+
+create table app_user (
+    id bigint not null,
+    full_name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    role varchar(255),
+    primary key (id),
+    constraint uk_app_user_email unique (email)
+);
+
+create index idx_app_user_full_name on app_user (full_name);
+
+create table app_rental (
+    id bigint not null,
+    user_id bigint,
+    item_id bigint,
+    rental_date date,
+    end_date date,
+    return_date date,
+    extended boolean,
+    primary key (id),
+    constraint fk_app_rental_user foreign key (user_id) references app_user (id),
+    constraint fk_app_rental_item foreign key (item_id) references app_item (id)
+);
+
+create table review (
+    id bigint not null,
+    item_id bigint not null,
+    user_id bigint not null,
+    rental_id bigint not null,
+    rating integer not null,
+    comment varchar(255),
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_review_rental unique (rental_id),
+    constraint fk_review_item foreign key (item_id) references app_item (id),
+    constraint fk_review_user foreign key (user_id) references app_user (id),
+    constraint fk_review_rental foreign key (rental_id) references app_rental (id)
+);
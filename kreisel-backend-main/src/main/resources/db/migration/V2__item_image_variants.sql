@@ -0,0 +1,2 @@
+-- Vorgerenderte Thumbnail-Breiten pro Item (kommagetrennt, z. B. "160,480"; NULL = nur Original)
+alter table app_item add column image_variants varchar(255);
@@ -0,0 +1,13 @@
+-- Inhaltsadressierter Bildspeicher: ein Eintrag pro SHA-256, refcount über die referenzierenden Items
+
+create table image_blob (
+    hash varchar(64) not null,
+    extension varchar(16),
+    size bigint not null,
+    ref_count integer not null,
+    created_at timestamp(6),
+    unreferenced_since timestamp(6),
+    primary key (hash)
+);
+
+create index idx_image_blob_unreferenced_since on image_blob (unreferenced_since);
@@ -0,0 +1,18 @@
+-- Transactional Outbox für Domain-Events (RentalCreated, ReviewCreated, ItemChanged, ...)
+
+create sequence outbox_event_seq start with 1 increment by 50;
+
+create table outbox_event (
+    id bigint not null,
+    event_type varchar(64) not null,
+    aggregate_id bigint,
+    payload varchar(2000) not null,
+    created_at timestamp(6),
+    available_at timestamp(6),
+    processed_at timestamp(6),
+    attempts integer not null,
+    last_error varchar(500),
+    primary key (id)
+);
+
+create index idx_outbox_event_pending on outbox_event (processed_at, available_at);
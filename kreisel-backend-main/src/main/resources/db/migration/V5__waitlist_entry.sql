@@ -0,0 +1,19 @@
+-- Warteliste pro Item (FIFO), Einträge verschwinden mit Item bzw. User
+
+create sequence waitlist_entry_seq start with 1 increment by 50;
+
+create table waitlist_entry (
+    id bigint not null,
+    item_id bigint not null,
+    user_id bigint not null,
+    created_at timestamp(6),
+    hold_until timestamp(6),
+    primary key (id),
+    constraint uk_waitlist_entry_item_user unique (item_id, user_id),
+    constraint fk_waitlist_entry_item foreign key (item_id) references app_item (id) on delete cascade,
+    constraint fk_waitlist_entry_user foreign key (user_id) references app_user (id) on delete cascade
+);
+
+create index idx_waitlist_entry_item_created on waitlist_entry (item_id, created_at);
+create index idx_waitlist_entry_user on waitlist_entry (user_id);
+create index idx_waitlist_entry_hold_until on waitlist_entry (hold_until);
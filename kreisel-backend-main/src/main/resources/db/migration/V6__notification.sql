@@ -0,0 +1,19 @@
+-- Erinnerungs-Job: Bereichsabfrage auf das Enddatum statt Full Scan, versandte Benachrichtigungen zur Deduplizierung
+
+create index idx_app_rental_end_date on app_rental (end_date);
+
+create sequence notification_seq start with 1 increment by 50;
+
+create table notification (
+    id bigint not null,
+    user_id bigint not null,
+    type varchar(32) not null,
+    reference_id bigint not null,
+    due_date date not null,
+    sent_at timestamp(6),
+    primary key (id),
+    constraint uk_notification_reference unique (type, reference_id, due_date),
+    constraint fk_notification_user foreign key (user_id) references app_user (id) on delete cascade
+);
+
+create index idx_notification_user on notification (user_id);
@@ -0,0 +1,21 @@
+-- Cluster-Betrieb: Nachrichten zwischen den Knoten (per Polling gelesen) und Lease für die Leader-Wahl
+
+create sequence cluster_message_seq start with 1 increment by 50;
+
+create table cluster_message (
+    id bigint not null,
+    node_id varchar(64) not null,
+    message_type varchar(64) not null,
+    payload varchar(2000) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_cluster_message_created_at on cluster_message (created_at);
+
+create table cluster_lease (
+    name varchar(64) not null,
+    owner varchar(64) not null,
+    expires_at timestamp(6) not null,
+    primary key (name)
+);
@@ -0,0 +1,7 @@
+-- Heartbeat für Read-Replicas: geschrieben auf der primären DB, gelesen auf der Replica ergibt es den Rückstand
+
+create table replica_heartbeat (
+    id int not null,
+    beat_at timestamp(6) not null,
+    primary key (id)
+);
@@ -0,0 +1,6 @@
+-- Lease-Zeile für die Leader-Wahl vorab anlegen (abgelaufen, ohne Besitzer): erworben und verlängert wird sie
+-- nur per bedingtem UPDATE, damit kein Knoten die Lease eines anderen beim Anlegen überschreibt
+
+insert into cluster_lease (name, owner, expires_at)
+select 'scheduler', '', timestamp '1970-01-01 00:00:00'
+where not exists (select 1 from cluster_lease where name = 'scheduler');
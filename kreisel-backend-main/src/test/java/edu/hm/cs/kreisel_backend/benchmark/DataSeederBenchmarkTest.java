@@ -0,0 +1,49 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import edu.hm.cs.kreisel_backend.seed.DataSeeder;
+import edu.hm.cs.kreisel_backend.seed.SeedProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seed-Durchsatz mit 1M Ausleihen (Standardmengen für Nutzer/Items aus SeedProperties).
+ * Läuft nicht im normalen Build, sondern über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.slow-query.enabled=false")
+class DataSeederBenchmarkTest {
+
+    private static final int RENTALS = 1_000_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void seedOneMillionRentals() {
+        SeedProperties properties = new SeedProperties();
+        properties.setRentals(RENTALS);
+
+        DataSeeder.Result result = new DataSeeder(jdbcTemplate, transactionTemplate, properties, "{noop}hash").seed();
+
+        long rentals = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_rental", Long.class);
+        assertEquals(RENTALS + result.activeRentals(), rentals);
+        long rows = result.users() + result.items() + result.rentals() + result.reviews();
+        System.out.printf("[benchmark] seed users=%d items=%d rentals=%d reviews=%d in %d ms (%.0f rows/s)%n",
+                result.users(), result.items(), result.rentals(), result.reviews(), result.durationMillis(),
+                rows * 1000.0 / result.durationMillis());
+    }
+}
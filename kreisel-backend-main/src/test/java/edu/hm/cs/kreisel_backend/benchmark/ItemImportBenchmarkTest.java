@@ -0,0 +1,107 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import edu.hm.cs.kreisel_backend.dto.ItemImportResult;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.service.ItemImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Importiert 100k generierte CSV-Zeilen über den echten Batch-Pfad (ein Commit pro Batch).
+ * Ziel: unter 10 Sekunden. Läuft über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ItemImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemImportBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void import100kItemsFromCsv() throws IOException {
+        // Aufwärmen (JIT, Sequenz-Pool), danach Tabelle leeren
+        itemImportService.importItems(new GeneratedCsv(20_000), ItemImportService.Format.CSV);
+        itemRepository.deleteAllInBatch();
+        ItemImportResult result = itemImportService.importItems(new GeneratedCsv(ROWS), ItemImportService.Format.CSV);
+
+        System.out.printf("[benchmark] import rows=%d imported=%d failed=%d duration=%d ms (%.0f rows/s)%n",
+                ROWS, result.getImported(), result.getFailed(), result.getDurationMs(),
+                ROWS * 1000.0 / Math.max(result.getDurationMs(), 1));
+        assertEquals(ROWS, result.getImported());
+        assertEquals(ROWS, itemRepository.count());
+        assertTrue(result.getDurationMs() < 10_000, "100k Items sollten in unter 10 Sekunden importiert sein");
+    }
+
+    // Erzeugt die CSV zeilenweise beim Lesen, damit auch der Benchmark nichts komplett puffert
+    static class GeneratedCsv extends InputStream {
+        private final int rows;
+        private int row = -1;
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position >= current.length && !nextLine()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= current.length && !nextLine()) {
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLine() {
+            if (row >= rows) {
+                return false;
+            }
+            String line;
+            if (row < 0) {
+                line = "name,size,description,brand,location,gender,category,subcategory,zustand\n";
+            } else {
+                int i = row;
+                line = "Artikel " + i + "," + (i % 2 == 0 ? "M" : "L") + ",\"Beschreibung, Nr. " + i + "\",Brand " + (i % 40) + ","
+                        + Item.Location.values()[i % 3] + "," + Item.Gender.values()[i % 3] + ","
+                        + Item.Category.values()[i % 5] + "," + Item.Subcategory.values()[i % 12] + ","
+                        + Item.Zustand.values()[i % 2] + "\n";
+            }
+            row++;
+            current = line.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
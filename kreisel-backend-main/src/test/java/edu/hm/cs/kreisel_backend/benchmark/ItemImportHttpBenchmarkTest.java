@@ -0,0 +1,97 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import edu.hm.cs.kreisel_backend.security.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Wie {@link ItemImportBenchmarkTest}, aber über POST /api/items/import und damit mit Open-in-View:
+ * alle Batches laufen im EntityManager des Requests. Zeigt, dass der Import auch dort linear bleibt.
+ * Läuft über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-http;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "app.slow-query.enabled=false"
+})
+@AutoConfigureMockMvc
+class ItemImportHttpBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void import100kItemsOverHttp() throws Exception {
+        User admin = new User();
+        admin.setFullName("Admin");
+        admin.setEmail("admin@hm.edu");
+        admin.setPassword("{noop}x");
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+        String token = jwtUtil.generateToken(org.springframework.security.core.userdetails.User.builder()
+                .username("admin@hm.edu").password("x").authorities("ROLE_ADMIN").build());
+
+        // Aufwärmen, danach Tabelle leeren
+        importCsv(token, 20_000);
+        itemRepository.deleteAllInBatch();
+        long start = System.nanoTime();
+        JsonNode result = importCsv(token, ROWS);
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("[benchmark] http import rows=%d imported=%d failed=%d duration=%d ms (%.0f rows/s)%n",
+                ROWS, result.get("imported").asLong(), result.get("failed").asLong(), durationMs,
+                ROWS * 1000.0 / Math.max(durationMs, 1));
+        assertEquals(ROWS, result.get("imported").asLong());
+        assertEquals(ROWS, itemRepository.count());
+        assertTrue(durationMs < 15_000, "100k Items sollten auch über HTTP in unter 15 Sekunden importiert sein");
+    }
+
+    private JsonNode importCsv(String token, int rows) throws Exception {
+        byte[] csv = readAll(rows);
+        String body = mockMvc.perform(post("/api/items/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static byte[] readAll(int rows) throws IOException {
+        try (ItemImportBenchmarkTest.GeneratedCsv csv = new ItemImportBenchmarkTest.GeneratedCsv(rows)) {
+            return csv.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import edu.hm.cs.kreisel_backend.model.Item;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert-Durchsatz für 100k Items: ein Roundtrip pro Zeile (Verhalten wie bei IDENTITY)
+ * gegen JDBC-Batches mit gepoolten Sequenz-IDs.
+ * Läuft nicht im normalen Build, sondern über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+class ItemInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void compareRowByRowWithBatchedInserts() {
+        Session session = entityManager.unwrap(Session.class);
+
+        // Aufwärmen, damit JIT und Sequenz-Pool beide Läufe gleich behandeln
+        insertItems(session, 5_000, BATCH_SIZE, "warmup");
+
+        long rowByRowMs = insertItems(session, ROWS, 1, "single");
+        long batchedMs = insertItems(session, ROWS, BATCH_SIZE, "batched");
+
+        Long count = entityManager.createQuery("SELECT COUNT(i) FROM Item i", Long.class).getSingleResult();
+        assertEquals(2L * ROWS + 5_000, count);
+
+        System.out.printf("[benchmark] items=%d rowByRow=%d ms (%.0f rows/s) | batched(%d)=%d ms (%.0f rows/s)%n",
+                ROWS, rowByRowMs, ROWS * 1000.0 / rowByRowMs,
+                BATCH_SIZE, batchedMs, ROWS * 1000.0 / batchedMs);
+        assertTrue(batchedMs < rowByRowMs, "Batch-Inserts sollten schneller sein als Einzel-Inserts");
+    }
+
+    private long insertItems(Session session, int rows, int jdbcBatchSize, String prefix) {
+        session.setJdbcBatchSize(jdbcBatchSize);
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            session.persist(newItem(prefix + "-" + i, i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+        session.clear();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static Item newItem(String name, int i) {
+        Item item = new Item();
+        item.setName(name);
+        item.setBrand("Brand " + (i % 40));
+        item.setSize(i % 2 == 0 ? "M" : "L");
+        item.setLocation(Item.Location.values()[i % Item.Location.values().length]);
+        item.setGender(Item.Gender.values()[i % Item.Gender.values().length]);
+        item.setCategory(Item.Category.values()[i % Item.Category.values().length]);
+        item.setSubcategory(Item.Subcategory.values()[i % Item.Subcategory.values().length]);
+        item.setZustand(Item.Zustand.values()[i % Item.Zustand.values().length]);
+        return item;
+    }
+}
@@ -0,0 +1,206 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import edu.hm.cs.kreisel_backend.KreiselBackendApplication;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vergleicht das In-Memory-Setup mit dem prod-Profil (H2-Datei + Flyway) bei Startzeit und
+ * eingeschwungener Latenz und misst den Durchsatz der Datei-DB bei verschiedenen Hikari-Poolgrößen.
+ * Läuft über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+class ProdProfileBenchmarkTest {
+
+    private static final int LATENCY_REQUESTS = 500;
+    private static final int POOL_CLIENTS = 32;
+    private static final long POOL_RUN_MS = 3_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void compareStartupAndLatencyWithInMemorySetup() throws Exception {
+        // Erster Start lädt alle Klassen, würde sonst das In-Memory-Ergebnis verfälschen
+        bootAndMeasure(new String[]{});
+
+        Result inMemory = bootAndMeasure(new String[]{});
+        Result prodCold = bootAndMeasure(prodArgs());
+        // zweiter Start auf derselben Datei: Flyway hat nichts mehr zu tun
+        Result prodWarm = bootAndMeasure(prodArgs());
+
+        System.out.printf("[benchmark] startup in-memory=%d ms | prod cold=%d ms | prod restart=%d ms%n",
+                inMemory.startupMs, prodCold.startupMs, prodWarm.startupMs);
+        System.out.printf("[benchmark] GET /api/items p50/p99 in-memory=%.2f/%.2f ms | prod=%.2f/%.2f ms%n",
+                inMemory.p50, inMemory.p99, prodWarm.p50, prodWarm.p99);
+        assertTrue(prodWarm.itemCount > inMemory.itemCount, "Datei-DB sollte Daten über Neustarts behalten");
+    }
+
+    @Test
+    void measureThroughputPerPoolSize() throws Exception {
+        String url = "jdbc:h2:file:" + dataDir.resolve("pool").toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        for (int poolSize : new int[]{2, 4, 8, 10, 16, 32}) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(url);
+            config.setUsername("sa");
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(poolSize);
+            try (HikariDataSource dataSource = new HikariDataSource(config)) {
+                seedIfEmpty(dataSource);
+                double opsPerSecond = runMixedWorkload(dataSource);
+                System.out.printf("[benchmark] hikari pool=%d clients=%d throughput=%.0f tx/s%n",
+                        poolSize, POOL_CLIENTS, opsPerSecond);
+            }
+        }
+    }
+
+    private String[] prodArgs() {
+        return new String[]{
+                "--spring.profiles.active=prod",
+                "--app.data.dir=" + dataDir.toAbsolutePath(),
+                "--app.upload.dir=" + dataDir.resolve("uploads").toAbsolutePath()
+        };
+    }
+
+    private Result bootAndMeasure(String[] args) throws Exception {
+        List<String> allArgs = new ArrayList<>(Arrays.asList(args));
+        allArgs.add("--server.port=0");
+        allArgs.add("--logging.level.root=WARN");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(KreiselBackendApplication.class)
+                .run(allArgs.toArray(String[]::new))) {
+            long startupMs = (System.nanoTime() - start) / 1_000_000;
+
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Item item = new Item();
+                item.setName("Item " + i);
+                item.setLocation(Item.Location.values()[i % 3]);
+                items.add(item);
+            }
+            itemRepository.saveAll(items);
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/api/items?location=PASING")).build();
+
+            // Aufwärmen
+            for (int i = 0; i < 100; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            long[] latencies = new long[LATENCY_REQUESTS];
+            for (int i = 0; i < LATENCY_REQUESTS; i++) {
+                long requestStart = System.nanoTime();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                latencies[i] = System.nanoTime() - requestStart;
+                assertEquals(200, response.statusCode());
+            }
+            Arrays.sort(latencies);
+            return new Result(startupMs,
+                    latencies[LATENCY_REQUESTS / 2] / 1_000_000.0,
+                    latencies[(int) (LATENCY_REQUESTS * 0.99)] / 1_000_000.0,
+                    itemRepository.count());
+        }
+    }
+
+    private static void seedIfEmpty(HikariDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.createStatement().executeQuery("SELECT COUNT(*) FROM app_item")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                return;
+            }
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO app_item (id, name, available, location) VALUES (?, ?, TRUE, ?)")) {
+            for (int i = 1; i <= 5_000; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Item " + i);
+                insert.setString(3, Item.Location.values()[i % 3].name());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // 90 % Lesen (Katalog), 10 % Schreiben (Verfügbarkeit umschalten), jeweils eine Transaktion
+    private static double runMixedWorkload(HikariDataSource dataSource) throws Exception {
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_CLIENTS);
+        for (int c = 0; c < POOL_CLIENTS; c++) {
+            executor.submit(() -> {
+                while (running.get()) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    try (Connection connection = dataSource.getConnection()) {
+                        if (random.nextInt(10) == 0) {
+                            try (PreparedStatement update = connection.prepareStatement(
+                                    "UPDATE app_item SET available = NOT available WHERE id = ?")) {
+                                update.setLong(1, random.nextLong(1, 5_001));
+                                update.executeUpdate();
+                            }
+                        } else {
+                            try (PreparedStatement select = connection.prepareStatement(
+                                    "SELECT id, name FROM app_item WHERE location = ? AND available = TRUE LIMIT 50")) {
+                                select.setString(1, Item.Location.values()[random.nextInt(3)].name());
+                                try (ResultSet rs = select.executeQuery()) {
+                                    while (rs.next()) {
+                                        rs.getLong(1);
+                                    }
+                                }
+                            }
+                        }
+                        operations.increment();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return null;
+            });
+        }
+        long start = System.nanoTime();
+        Thread.sleep(POOL_RUN_MS);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(10, java.util.concurrent.TimeUnit.SECONDS);
+        return operations.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private record Result(long startupMs, double p50, double p99, long itemCount) {
+    }
+}
@@ -0,0 +1,90 @@
+package edu.hm.cs.kreisel_backend.benchmark;
+
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vergleicht die alte Admin-Userliste (findAll + Zugriff auf rentals, wie bei der JSON-Serialisierung)
+ * mit der seitenweisen Projektion bei 50k Usern.
+ * Läuft nicht im normalen Build, sondern über {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+class UserListingBenchmarkTest {
+
+    private static final int USER_COUNT = 50_000;
+    private static final int PAGE_RUNS = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedUsers() {
+        List<Object[]> rows = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            rows.add(new Object[]{i + 1L, "User " + i, "user" + i + "@hm.edu", "$2a$10$dummy", "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO app_user (id, full_name, email, password, role) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void compareFindAllWithPagedProjection() {
+        // Alt: alle User laden und rentals anfassen (1 + N Queries)
+        entityManager.clear();
+        long start = System.nanoTime();
+        List<User> users = userRepository.findAll();
+        int touched = 0;
+        for (User user : users) {
+            touched += user.getRentals().size();
+        }
+        long findAllMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(0, touched);
+        assertEquals(USER_COUNT, users.size());
+
+        // Neu: eine Seite als Projektion
+        entityManager.clear();
+        start = System.nanoTime();
+        Page<UserSummary> page = null;
+        for (int i = 0; i < PAGE_RUNS; i++) {
+            page = userRepository.findAllSummaries(PageRequest.of(i, 20, Sort.by("id")));
+        }
+        double pageMs = (System.nanoTime() - start) / 1_000_000.0 / PAGE_RUNS;
+        assertEquals(USER_COUNT, page.getTotalElements());
+
+        // Neu: Präfix-Suche
+        entityManager.clear();
+        start = System.nanoTime();
+        Page<UserSummary> search = null;
+        for (int i = 0; i < PAGE_RUNS; i++) {
+            search = userRepository.searchSummariesByPrefix("user4999%", PageRequest.of(0, 20, Sort.by("id")));
+        }
+        double searchMs = (System.nanoTime() - start) / 1_000_000.0 / PAGE_RUNS;
+        assertEquals(11, search.getTotalElements());
+
+        System.out.printf("[benchmark] users=%d findAll+rentals=%d ms | page(20)=%.2f ms | prefixSearch=%.2f ms%n",
+                USER_COUNT, findAllMs, pageMs, searchMs);
+        assertTrue(pageMs < findAllMs, "Seitenabfrage sollte deutlich schneller sein als findAll");
+    }
+}
@@ -0,0 +1,224 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.KreiselBackendApplication;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.service.AvailabilityStreamService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zwei Knoten im Cluster-Betrieb in einer JVM, gegen dieselbe H2-Datenbank (Schema per Flyway) und über
+ * echtes HTTP: Tokens gelten knotenübergreifend, genau ein Knoten ist Leader, Änderungen auf einem Knoten
+ * erreichen die SSE-Clients des anderen, und nach dem Herunterfahren des Leaders übernimmt der andere.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ClusterModeTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("kreisel-cluster-test-secret-0123456789".getBytes());
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String database = "cluster-" + UUID.randomUUID();
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private String token;
+
+    @BeforeAll
+    void startNodes() throws Exception {
+        nodeA = start("node-a");
+        nodeB = start("node-b");
+        HttpResponse<String> registered = post(nodeA, "/api/auth/register", null,
+                "{\"fullName\":\"Anna\",\"email\":\"anna@hm.edu\",\"password\":\"geheim123\"}");
+        assertEquals(200, registered.statusCode(), registered.body());
+        token = objectMapper.readTree(registered.body()).get("token").asText();
+    }
+
+    @AfterAll
+    void stopNodes() {
+        for (ConfigurableApplicationContext node : List.of(nodeA, nodeB)) {
+            if (node != null && node.isActive()) {
+                node.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String nodeId) throws Exception {
+        return new SpringApplicationBuilder(KreiselBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.flyway.enabled=true",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.h2.console.enabled=false",
+                "--app.upload.dir=" + Files.createTempDirectory("kreisel-" + nodeId),
+                "--app.jwt.secret=" + SECRET,
+                "--app.cluster.enabled=true",
+                "--app.cluster.node-id=" + nodeId,
+                "--app.cluster.lease-duration=PT2S",
+                "--app.cluster.renew-interval=PT0.2S",
+                "--app.cluster.poll-interval=PT0.1S",
+                "--app.outbox.poll-interval=PT0.1S",
+                "--logging.level.root=WARN");
+    }
+
+    private static URI uri(ConfigurableApplicationContext node, String path) {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> get(ConfigurableApplicationContext node, String path, String bearer) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(node, path)).GET();
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(ConfigurableApplicationContext node, String path, String bearer, String body)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(node, path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isLeader(ConfigurableApplicationContext node) {
+        return node.getBean(LeaderElection.class).isLeader();
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @Order(1)
+    void token_ShouldBeAcceptedByOtherNode() throws Exception {
+        // When: Token von Knoten A, Request an Knoten B
+        HttpResponse<String> response = get(nodeB, "/api/users/me", token);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("anna@hm.edu", objectMapper.readTree(response.body()).get("email").asText());
+    }
+
+    @Test
+    @Order(2)
+    void leaderElection_ShouldElectExactlyOneLeader() throws Exception {
+        // When
+        await(() -> isLeader(nodeA) || isLeader(nodeB), "kein Leader gewählt");
+
+        // Then: auch über mehrere Verlängerungen hinweg nie beide
+        for (int i = 0; i < 10; i++) {
+            assertNotEquals(isLeader(nodeA), isLeader(nodeB));
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    @Order(3)
+    void rentalOnOneNode_ShouldReachStreamClientsOfOtherNodeAndBeVisibleThere() throws Exception {
+        // Given: SSE-Client am Knoten, der nicht Leader ist (dort kommen keine Outbox-Events an)
+        await(() -> isLeader(nodeA) || isLeader(nodeB), "kein Leader gewählt");
+        ConfigurableApplicationContext follower = isLeader(nodeA) ? nodeB : nodeA;
+        ConfigurableApplicationContext leader = follower == nodeA ? nodeB : nodeA;
+        Item item = new Item();
+        item.setName("Snowboard");
+        item.setLocation(Location.PASING);
+        item.setAvailable(true);
+        Long itemId = nodeA.getBean(ItemRepository.class).save(item).getId();
+
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        CompletableFuture<HttpResponse<Stream<String>>> stream = http.sendAsync(
+                HttpRequest.newBuilder(uri(follower, "/api/items/stream?location=PASING")).GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try {
+                stream.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).body()
+                        .filter(line -> line.startsWith("data:"))
+                        .forEach(events::add);
+            } catch (Exception e) {
+                // Stream beim Aufräumen geschlossen
+            }
+        });
+        try {
+            await(() -> follower.getBean(AvailabilityStreamService.class)
+                    .getSubscriberCount() == 1, "SSE-Client nicht verbunden");
+
+            // When: Ausleihe über den Follower, zugestellt wird die Outbox auf dem Leader
+            HttpResponse<String> rented = post(follower, "/api/rentals/rent", token,
+                    "{\"itemId\":\"" + itemId + "\",\"endDate\":\"" + LocalDate.now().plusDays(7) + "\"}");
+            assertEquals(200, rented.statusCode(), rented.body());
+
+            // Then
+            String event = events.poll(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            assertNotNull(event, "keine Verfügbarkeitsänderung am Follower angekommen");
+            JsonNode change = objectMapper.readTree(event.substring("data:".length()));
+            assertEquals(itemId, change.get("itemId").asLong());
+            assertFalse(change.get("available").asBoolean());
+
+            JsonNode itemOnLeader = objectMapper.readTree(get(leader, "/api/items/" + itemId, null).body());
+            assertFalse(itemOnLeader.get("available").asBoolean());
+        } finally {
+            stream.cancel(true);
+            reader.interrupt();
+        }
+    }
+
+    @Test
+    @Order(4)
+    void leaderShutdown_ShouldHandOverToOtherNode() throws Exception {
+        // Given
+        await(() -> isLeader(nodeA) || isLeader(nodeB), "kein Leader gewählt");
+        ConfigurableApplicationContext leader = isLeader(nodeA) ? nodeA : nodeB;
+        ConfigurableApplicationContext other = leader == nodeA ? nodeB : nodeA;
+
+        // When
+        leader.close();
+
+        // Then
+        await(() -> isLeader(other), "Leaderschaft nicht übernommen");
+        assertEquals(200, get(other, "/api/users/me", token).statusCode());
+    }
+}
@@ -0,0 +1,100 @@
+package edu.hm.cs.kreisel_backend.cluster;
+
+import edu.hm.cs.kreisel_backend.config.HibernateCacheConfig;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCacheInvalidatorTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ClusterNode node;
+
+    @Mock
+    private ClusterBus clusterBus;
+
+    private EntityCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        invalidator = new EntityCacheInvalidator(entityManagerFactory, node, clusterBus);
+    }
+
+    @Test
+    void onItemChanged_WhenNotClustered_ShouldLeaveCacheToHibernate() {
+        // Given
+        when(node.isClustered()).thenReturn(false);
+
+        // When
+        invalidator.onItemChanged(new ItemChanged(1L, Location.PASING, null, true, false));
+
+        // Then
+        verifyNoInteractions(sessionFactory, clusterBus);
+    }
+
+    @Test
+    void onRentalReturned_WhenClustered_ShouldEvictLocallyAndBroadcast() {
+        // Given
+        when(node.isClustered()).thenReturn(true);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // When
+        invalidator.onRentalReturned(new RentalReturned(5L, 1L, 2L, Location.PASING, false));
+
+        // Then
+        verify(cache).evictEntityData(Item.class, 1L);
+        verify(cache).evictQueryRegion(HibernateCacheConfig.ITEM_QUERY_REGION);
+        verify(clusterBus).broadcast(new ItemCacheEviction(1L));
+    }
+
+    @Test
+    void itemUpdatedInBulk_WhenClustered_ShouldBroadcast() {
+        // Given
+        when(node.isClustered()).thenReturn(true);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // When
+        invalidator.itemUpdatedInBulk(3L);
+
+        // Then
+        verify(cache).evictEntityData(Item.class, 3L);
+        verify(clusterBus).broadcast(new ItemCacheEviction(3L));
+    }
+
+    @Test
+    void onItemCacheEviction_ShouldOnlyEvictLocally() {
+        // Given
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // When
+        invalidator.onItemCacheEviction(new ItemCacheEviction(1L));
+
+        // Then
+        verify(cache).evictEntityData(Item.class, 1L);
+        verify(cache).evictQueryRegion(HibernateCacheConfig.ITEM_QUERY_REGION);
+        verify(clusterBus, never()).broadcast(any());
+    }
+}
@@ -0,0 +1,108 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Second-Level- und Query-Cache gegen die echte H2-Datenbank: wiederholte Lesezugriffe kommen aus dem Cache,
+ * Schreibzugriffe (auch per Bulk-Update) sind beim nächsten Lesen sichtbar.
+ */
+@SpringBootTest
+class HibernateCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void getItemById_ShouldBeServedFromSecondLevelCache() {
+        // Given
+        Item item = itemService.createItem(item("Cache-Jacke", Location.LOTHSTRASSE));
+        long hits = region(HibernateCacheConfig.ITEM_REGION).getHitCount();
+
+        // When
+        itemService.getItemById(item.getId());
+        itemService.getItemById(item.getId());
+
+        // Then
+        assertTrue(region(HibernateCacheConfig.ITEM_REGION).getHitCount() >= hits + 2);
+    }
+
+    @Test
+    void filterItems_ShouldUseQueryCacheUntilItemChanges() {
+        // Given
+        Item item = itemService.createItem(item("Cache-Schuh", Location.KARLSTRASSE));
+        itemService.filterItems(Location.KARLSTRASSE, true, null, null, null, null, null);
+        long hits = region(HibernateCacheConfig.ITEM_QUERY_REGION).getHitCount();
+
+        // When
+        List<Item> cached = itemService.filterItems(Location.KARLSTRASSE, true, null, null, null, null, null);
+        item.setAvailable(false);
+        itemService.updateItem(item.getId(), item);
+        List<Item> afterUpdate = itemService.filterItems(Location.KARLSTRASSE, true, null, null, null, null, null);
+
+        // Then
+        assertEquals(hits + 1, region(HibernateCacheConfig.ITEM_QUERY_REGION).getHitCount());
+        assertTrue(cached.stream().anyMatch(i -> i.getId().equals(item.getId())));
+        assertTrue(afterUpdate.stream().noneMatch(i -> i.getId().equals(item.getId())));
+    }
+
+    @Test
+    void bulkUpdate_ShouldBeVisibleThroughCache() {
+        // Given
+        Item item = itemService.createItem(item("Cache-Helm", Location.PASING));
+        itemService.getItemById(item.getId());
+
+        // When
+        itemRepository.updateRatingStatistics(item.getId(), 4.5, 2);
+
+        // Then
+        Item reloaded = itemService.getItemById(item.getId());
+        assertEquals(4.5, reloaded.getAverageRating());
+        assertEquals(2, reloaded.getReviewCount());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getCacheRegionStatistics(name);
+    }
+
+    private static Item item(String name, Location location) {
+        Item item = new Item();
+        item.setName(name);
+        item.setSize("M");
+        item.setAvailable(true);
+        item.setLocation(location);
+        item.setGender(Item.Gender.UNISEX);
+        item.setCategory(Item.Category.KLEIDUNG);
+        item.setSubcategory(Item.Subcategory.JACKEN);
+        item.setZustand(Item.Zustand.NEU);
+        return item;
+    }
+}
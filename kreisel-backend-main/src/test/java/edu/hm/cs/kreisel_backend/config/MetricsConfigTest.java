@@ -0,0 +1,206 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.cluster.ClusterBus;
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import edu.hm.cs.kreisel_backend.datasource.ReplicaMonitor;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.monitoring.CountSnapshot;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import edu.hm.cs.kreisel_backend.repository.RentalRepository;
+import edu.hm.cs.kreisel_backend.security.RateLimiter;
+import edu.hm.cs.kreisel_backend.service.AvailabilityStreamService;
+import edu.hm.cs.kreisel_backend.service.ImageCache;
+import edu.hm.cs.kreisel_backend.web.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void locationMetrics_ShouldRegisterGaugesPerLocationReadingTheSnapshot() {
+        // Given
+        when(itemRepository.countByLocationAndAvailableTrue(any())).thenReturn(0L);
+        when(rentalRepository.countByItemLocationAndReturnDateIsNull(any())).thenReturn(0L);
+        when(itemRepository.countByLocationAndAvailableTrue(Location.PASING)).thenReturn(7L);
+        when(rentalRepository.countByItemLocationAndReturnDateIsNull(Location.PASING)).thenReturn(3L);
+        CountSnapshot counts = new CountSnapshot(itemRepository, rentalRepository, outboxEventRepository);
+        counts.refresh();
+
+        // When
+        new MetricsConfig().locationMetrics(counts).bindTo(registry);
+        double available = registry.get("kreisel.items.available").tag("location", "PASING").gauge().value();
+        registry.get("kreisel.rentals.active").tag("location", "PASING").gauge().value();
+
+        // Then: der Scrape selbst fragt die Datenbank nicht erneut
+        assertEquals(Location.values().length, registry.find("kreisel.items.available").gauges().size());
+        assertEquals(Location.values().length, registry.find("kreisel.rentals.active").gauges().size());
+        assertEquals(7.0, available);
+        assertEquals(3.0, registry.get("kreisel.rentals.active").tag("location", "PASING").gauge().value());
+        verify(itemRepository, times(1)).countByLocationAndAvailableTrue(Location.PASING);
+        verify(rentalRepository, times(1)).countByItemLocationAndReturnDateIsNull(Location.PASING);
+    }
+
+    @Test
+    void imageCacheMetrics_ShouldExposeCacheStats() {
+        // When
+        ImageCache imageCache = new ImageCache(new ImageProperties());
+        imageCache.recordServed(100, true);
+        imageCache.recordServed(50, false);
+        new MetricsConfig().imageCacheMetrics(imageCache).bindTo(registry);
+
+        // Then
+        assertEquals(150.0, registry.get("kreisel.images.served").functionCounter().count());
+        assertEquals(100.0, registry.get("kreisel.images.served.cached").functionCounter().count());
+        assertEquals(0.0, registry.get("kreisel.images.cache.size").gauge().value());
+    }
+
+    @Test
+    void availabilityStreamMetrics_ShouldExposeSubscriberCount() {
+        // When
+        AvailabilityStreamService streamService = new AvailabilityStreamService(new StreamProperties(), mock(ClusterBus.class));
+        new MetricsConfig().availabilityStreamMetrics(streamService).bindTo(registry);
+
+        // Then
+        assertEquals(0.0, registry.get("kreisel.stream.subscribers").gauge().value());
+        assertEquals(0.0, registry.get("kreisel.stream.disconnected.slow").functionCounter().count());
+    }
+
+    @Test
+    void outboxMetrics_ShouldExposePendingEvents() {
+        // Given
+        when(outboxEventRepository.countByProcessedAtIsNull()).thenReturn(12L);
+        CountSnapshot counts = new CountSnapshot(itemRepository, rentalRepository, outboxEventRepository);
+        counts.refresh();
+
+        // When
+        new MetricsConfig().outboxMetrics(counts).bindTo(registry);
+
+        // Then
+        assertEquals(12.0, registry.get("kreisel.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void idempotencyMetrics_ShouldExposeStoredEntries() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties());
+        store.putIfAbsent("anna@hm.edu /api/rentals/rent k1", new IdempotencyStore.Entry("fingerprint"));
+
+        // When
+        new MetricsConfig().idempotencyMetrics(store).bindTo(registry);
+
+        // Then
+        assertEquals(1.0, registry.get("kreisel.idempotency.entries").gauge().value());
+    }
+
+    @Test
+    void rateLimitMetrics_ShouldExposeBucketCount() {
+        // Given
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.size()).thenReturn(3L);
+
+        // When
+        new MetricsConfig().rateLimitMetrics(rateLimiter).bindTo(registry);
+
+        // Then
+        assertEquals(3.0, registry.get("kreisel.ratelimit.buckets").gauge().value());
+    }
+
+    @Test
+    void clusterMetrics_ShouldExposeLeadership() {
+        // Given
+        LeaderElection leaderElection = mock(LeaderElection.class);
+        when(leaderElection.isLeader()).thenReturn(true);
+
+        // When
+        new MetricsConfig().clusterMetrics(leaderElection).bindTo(registry);
+
+        // Then
+        assertEquals(1.0, registry.get("kreisel.cluster.leader").gauge().value());
+    }
+
+    @Test
+    void replicaMetrics_ShouldExposeLagAndRouting() {
+        // Given
+        ReplicaMonitor monitor = mock(ReplicaMonitor.class);
+        when(monitor.getLagMillis()).thenReturn(1500L);
+        when(monitor.isReplicaUsable()).thenReturn(true);
+        when(monitor.getReplicaReads()).thenReturn(7L);
+        when(monitor.getPrimaryReads()).thenReturn(2L);
+        when(monitor.getWrites()).thenReturn(3L);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("replicaMonitor", monitor));
+
+        // When
+        new MetricsConfig().replicaMetrics(beanFactory.getBeanProvider(ReplicaMonitor.class)).bindTo(registry);
+
+        // Then
+        assertEquals(1.5, registry.get("kreisel.datasource.replica.lag").gauge().value());
+        assertEquals(1.0, registry.get("kreisel.datasource.replica.usable").gauge().value());
+        assertEquals(7.0, registry.get("kreisel.datasource.connections").tags("target", "replica", "mode", "read").functionCounter().count());
+        assertEquals(2.0, registry.get("kreisel.datasource.connections").tags("target", "primary", "mode", "read").functionCounter().count());
+        assertEquals(3.0, registry.get("kreisel.datasource.connections").tags("target", "primary", "mode", "write").functionCounter().count());
+    }
+
+    @Test
+    void replicaMetrics_WithoutReplica_ShouldRegisterNothing() {
+        // When
+        new MetricsConfig().replicaMetrics(new StaticListableBeanFactory().getBeanProvider(ReplicaMonitor.class)).bindTo(registry);
+
+        // Then
+        assertNull(registry.find("kreisel.datasource.replica.lag").gauge());
+    }
+
+    @Test
+    void hibernateCacheMetrics_ShouldExposeHitRatioPerRegion() {
+        // Given
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics statistics = mock(Statistics.class);
+        CacheRegionStatistics itemRegion = mock(CacheRegionStatistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getCacheRegionStatistics(anyString())).thenReturn(null);
+        when(statistics.getCacheRegionStatistics(HibernateCacheConfig.ITEM_REGION)).thenReturn(itemRegion);
+        when(itemRegion.getHitCount()).thenReturn(3L);
+        when(itemRegion.getMissCount()).thenReturn(1L);
+        when(itemRegion.getPutCount()).thenReturn(1L);
+
+        // When
+        new MetricsConfig().hibernateCacheMetrics(entityManagerFactory).bindTo(registry);
+
+        // Then
+        assertEquals(0.75, registry.get("kreisel.cache.l2.hit.ratio").tag("region", "item").gauge().value());
+        assertEquals(3.0, registry.get("kreisel.cache.l2.requests").tags("region", "item", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("kreisel.cache.l2.requests").tags("region", "item", "result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("kreisel.cache.l2.puts").tag("region", "item").functionCounter().count());
+        assertEquals(0.0, registry.get("kreisel.cache.l2.hit.ratio").tag("region", "user").gauge().value());
+    }
+}
@@ -0,0 +1,56 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import edu.hm.cs.kreisel_backend.dto.LoginRequest;
+import edu.hm.cs.kreisel_backend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prometheus-Endpunkt im vollständigen Kontext: erreichbar ohne Login und mit den fachlichen Metriken
+ * (Gauges, @Timed/@Counted über die Aspekte).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void prometheus_ShouldExposeBusinessMetricsWithoutLogin() throws Exception {
+        // Given: ein fehlgeschlagener Login läuft durch die Aspekte
+        LoginRequest request = new LoginRequest();
+        request.setEmail("niemand@hm.edu");
+        request.setPassword("falsch");
+        assertThrows(RuntimeException.class, () -> authService.login(request));
+
+        // Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("kreisel_items_available{location=\"PASING\"}")))
+                .andExpect(content().string(containsString("kreisel_rentals_active{")))
+                .andExpect(content().string(containsString("kreisel_auth_login_failures_total{")))
+                .andExpect(content().string(containsString("kreisel_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"login\"")));
+    }
+
+    @Test
+    void otherActuatorEndpoints_ShouldRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
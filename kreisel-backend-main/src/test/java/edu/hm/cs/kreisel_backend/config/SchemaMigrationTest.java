@@ -0,0 +1,31 @@
+package edu.hm.cs.kreisel_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stellt sicher, dass die Flyway-Migrationen zu den Entities passen
+ * (Hibernate validiert das Schema statt es selbst anzulegen, wie im prod-Profil).
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldMatchEntityMappings() {
+        // Kontext startet nur, wenn die Validierung durchläuft
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"success\" = TRUE", Integer.class);
+        assertNotNull(applied);
+        assertTrue(applied >= 1);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.hm.cs.kreisel_backend.config;
 
 import edu.hm.cs.kreisel_backend.security.JwtAuthenticationFilter;
+import edu.hm.cs.kreisel_backend.security.RateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,7 +29,7 @@ class SecurityConfigTest {
     void setUp() {
         jwtAuthenticationFilter = mock(JwtAuthenticationFilter.class);
         authenticationConfiguration = mock(AuthenticationConfiguration.class);
-        securityConfig = new SecurityConfig(jwtAuthenticationFilter);
+        securityConfig = new SecurityConfig(jwtAuthenticationFilter, mock(RateLimiter.class));
     }
 
     @Test
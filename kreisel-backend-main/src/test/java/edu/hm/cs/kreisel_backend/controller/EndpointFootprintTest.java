@@ -0,0 +1,191 @@
+package edu.hm.cs.kreisel_backend.controller;
+
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.monitoring.RequestFootprint;
+import edu.hm.cs.kreisel_backend.monitoring.RequestFootprint.Footprint;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import edu.hm.cs.kreisel_backend.security.JwtUtil;
+import edu.hm.cs.kreisel_backend.seed.DataSeeder;
+import edu.hm.cs.kreisel_backend.seed.SeedProperties;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Obergrenzen pro Endpunkt für JDBC-Statements, gelesene Zeilen und allokierte Bytes pro Request,
+ * gemessen mit {@link RequestFootprint} gegen fest geseedete Daten (20 Nutzer, 300 Items, 1000 Ausleihen).
+ * <p>
+ * Statements sind exakt gezählt (2 davon kostet die Authentifizierung: JWT-Filter und SecurityUtils),
+ * Zeilen hängen nur vom Seed ab. Allokationen schwanken je nach JVM, daher mit etwa doppeltem Puffer.
+ * Wird ein Endpunkt gesprächiger (N+1, findAll), schlägt der Test mit der Liste der Statements fehl.
+ * Sinkt ein Wert deutlich, die Grenze mit nachziehen.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:footprint;DB_CLOSE_DELAY=-1",
+        "app.slow-query.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(RequestFootprint.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointFootprintTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestFootprint footprint;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String userToken;
+    private String adminToken;
+    private long userId;
+    private long itemId;
+    private long rentalId;
+
+    @BeforeAll
+    void seed() {
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(20);
+        properties.setItems(300);
+        properties.setRentals(1_000);
+        properties.setReferenceDate(LocalDate.of(2026, 10, 1));
+        new DataSeeder(jdbcTemplate, transactionTemplate, properties, "{noop}x").seed();
+
+        User admin = new User();
+        admin.setFullName("Admin");
+        admin.setEmail("admin@hm.edu");
+        admin.setPassword("{noop}x");
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM app_user WHERE email = 'user0@hm.edu'", Long.class);
+        // das Item mit den meisten Reviews, damit ein N+1 über die Reviews auffällt
+        itemId = jdbcTemplate.queryForObject(
+                "SELECT item_id FROM review GROUP BY item_id ORDER BY COUNT(*) DESC, item_id LIMIT 1", Long.class);
+        rentalId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM app_rental WHERE user_id = ?", Long.class, userId);
+        userToken = token("user0@hm.edu", "USER");
+        adminToken = token("admin@hm.edu", "ADMIN");
+    }
+
+    private String token(String email, String role) {
+        return jwtUtil.generateToken(org.springframework.security.core.userdetails.User.builder()
+                .username(email).password("x").authorities("ROLE_" + role).build());
+    }
+
+    private void assertFootprint(MockHttpServletRequestBuilder request, String token,
+                                 long maxStatements, long maxRows, long maxKilobytes) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        Footprint result = footprint.measure(() -> mockMvc.perform(request).andExpect(status().isOk()));
+        String message = request.buildRequest(null).getRequestURI() + ": " + result;
+        assertTrue(result.statements() <= maxStatements, "zu viele Statements (max " + maxStatements + ") " + message);
+        assertTrue(result.rows() <= maxRows, "zu viele Zeilen (max " + maxRows + ") " + message);
+        assertTrue(result.allocatedBytes() <= maxKilobytes * 1024, "zu viel allokiert (max " + maxKilobytes + " KB) " + message);
+    }
+
+    // ItemController
+
+    @Test
+    void getItems_ShouldOnlyReadItemsOfLocation() throws Exception {
+        assertFootprint(get("/api/items").param("location", "PASING"), null, 1, 160, 1_500);
+    }
+
+    @Test
+    void getItems_WithSearch_ShouldOnlyReadItemsOfLocation() throws Exception {
+        assertFootprint(get("/api/items").param("location", "PASING").param("searchQuery", "vaude"), null,
+                1, 160, 1_000);
+    }
+
+    @Test
+    void getItem_ShouldUseSingleSelect() throws Exception {
+        assertFootprint(get("/api/items/" + itemId), null, 1, 1, 300);
+    }
+
+    // RentalController
+
+    @Test
+    void getAllRentals_ShouldNotLoadUsersAndItemsPerRental() throws Exception {
+        assertFootprint(get("/api/rentals"), adminToken, 2, 1_100, 10_000);
+    }
+
+    @Test
+    void getCurrentUserRentals_ShouldNotLoadItemsPerRental() throws Exception {
+        assertFootprint(get("/api/rentals/user"), userToken, 3, 150, 2_500);
+    }
+
+    @Test
+    void getCurrentUserActiveRentals_ShouldNotLoadItemsPerRental() throws Exception {
+        assertFootprint(get("/api/rentals/user/active"), userToken, 3, 10, 1_200);
+    }
+
+    @Test
+    void getCurrentUserHistoricalRentals_ShouldNotLoadItemsPerRental() throws Exception {
+        assertFootprint(get("/api/rentals/user/history"), userToken, 3, 150, 2_500);
+    }
+
+    @Test
+    void getRentalsOfUser_ShouldNotLoadItemsPerRental() throws Exception {
+        assertFootprint(get("/api/rentals/user/" + userId), adminToken, 2, 150, 2_500);
+    }
+
+    // ReviewController
+
+    @Test
+    void getItemReviews_ShouldNotLoadReviewersPerReview() throws Exception {
+        // Zeilen: jedes Review gibt den User samt Ausleihen aus (JSON), die kommen gebündelt per @BatchSize
+        assertFootprint(get("/api/reviews/item/" + itemId), null, 3, 950, 14_000);
+    }
+
+    @Test
+    void canReviewRental_ShouldUseConstantStatements() throws Exception {
+        assertFootprint(get("/api/reviews/can-review/" + rentalId), userToken, 3, 3, 1_200);
+    }
+
+    // UserController
+
+    @Test
+    void getUserPage_ShouldNotLoadRentals() throws Exception {
+        assertFootprint(get("/api/users"), adminToken, 3, 25, 1_000);
+    }
+
+    @Test
+    void getUser_ShouldLoadRentalsInOneSelect() throws Exception {
+        assertFootprint(get("/api/users/" + userId), adminToken, 3, 150, 2_500);
+    }
+
+    @Test
+    void getCurrentUser_ShouldLoadRentalsInOneSelect() throws Exception {
+        assertFootprint(get("/api/users/me"), userToken, 3, 150, 2_500);
+    }
+
+    @Test
+    void getUserRentals_ShouldLoadRentalsInOneSelect() throws Exception {
+        assertFootprint(get("/api/users/" + userId + "/rentals"), adminToken, 3, 150, 2_500);
+    }
+}
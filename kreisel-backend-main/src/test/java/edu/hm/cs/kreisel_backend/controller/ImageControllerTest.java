@@ -0,0 +1,333 @@
+package edu.hm.cs.kreisel_backend.controller;
+
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.service.ImageCache;
+import edu.hm.cs.kreisel_backend.service.ImageService;
+import edu.hm.cs.kreisel_backend.service.ImageService.ImageFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String FILENAME = "item_1_" + HASH + ".jpg";
+    private static final String ETAG = "\"" + HASH + "\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @Mock
+    private ImageService imageService;
+
+    private ImageCache imageCache;
+    private ImageController imageController;
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] content;
+    private ImageFile image;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = "0123456789abcdefghij".getBytes();
+        Path path = tempDir.resolve(FILENAME);
+        Files.write(path, content);
+        image = new ImageFile(path, "image/jpeg", content.length, LAST_MODIFIED, ETAG, true);
+
+        // Nur kleine Dateien cachen, damit der sendfile-Pfad testbar bleibt
+        ImageProperties properties = new ImageProperties();
+        properties.setCacheMaxEntrySize(DataSize.ofKilobytes(1));
+        imageCache = new ImageCache(properties);
+        imageController = new ImageController(imageService, imageCache);
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/items/images/" + FILENAME);
+    }
+
+    @Test
+    void getImage_WhenImageExists_ShouldReturnContentWithCacheHeaders() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, get(), response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertEquals(ImageController.CACHE_IMMUTABLE, response.getHeader("Cache-Control"));
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+    }
+
+    @Test
+    void getImage_WhenImageDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(imageService.resolve("missing.jpg", null)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage("missing.jpg", null, get(), response);
+
+        // Then
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    void getImage_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getImage_WithSingleRange_ShouldReturnPartialContent() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=5-9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader("Content-Range"));
+        assertEquals("56789", response.getContentAsString());
+        assertEquals(5, response.getContentLengthLong());
+    }
+
+    @Test
+    void getImage_WithSuffixRange_ShouldReturnLastBytes() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("hij", response.getContentAsString());
+    }
+
+    @Test
+    void getImage_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=100-200");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void getImage_WithMalformedRange_ShouldIgnoreRange() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=abc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void getImage_WithEmptyRange_ShouldIgnoreRange() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void getImage_WithStaleIfRange_ShouldIgnoreRange() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=0-1");
+        request.addHeader("If-Range", "\"other\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void getImage_WithSendfileSupportAndLargeFile_ShouldDelegateToContainer() throws Exception {
+        // Given
+        byte[] large = new byte[(int) ImageController.SENDFILE_THRESHOLD + 10];
+        Path path = tempDir.resolve("large.jpg");
+        Files.write(path, large);
+        ImageFile largeImage = new ImageFile(path, "image/jpeg", large.length, LAST_MODIFIED, "\"x\"", false);
+        when(imageService.resolve("large.jpg", null)).thenReturn(Optional.of(largeImage));
+        MockHttpServletRequest request = get();
+        request.setAttribute(ImageController.SENDFILE_SUPPORT, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage("large.jpg", null, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(ImageController.CACHE_DEFAULT, response.getHeader("Cache-Control"));
+        assertEquals(path.toAbsolutePath().toString(), request.getAttribute(ImageController.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(ImageController.SENDFILE_START));
+        assertEquals((long) large.length, request.getAttribute(ImageController.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(large.length, response.getContentLengthLong());
+    }
+
+    @Test
+    void getImage_WithWidth_ShouldServeResolvedVariant() throws Exception {
+        // Given
+        Path variantPath = tempDir.resolve("item_1_" + HASH + "_w160.jpg");
+        Files.write(variantPath, "thumb".getBytes());
+        ImageFile variant = new ImageFile(variantPath, "image/jpeg", 5, LAST_MODIFIED, "\"" + HASH + "_w160\"", true);
+        when(imageService.resolve(FILENAME, 100)).thenReturn(Optional.of(variant));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, 100, get(), response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("thumb", response.getContentAsString());
+        assertEquals("\"" + HASH + "_w160\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void headImage_ShouldSendHeadersWithoutBody() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/items/images/" + FILENAME);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(20, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getImage_RepeatedRequests_ShouldBeServedFromCache() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        imageController.getImage(FILENAME, null, get(), new MockHttpServletResponse());
+        // Datei auf der Platte ändert sich, ohne dass sich ETag/Größe ändern -> Cache liefert weiter
+        Files.write(image.path(), "XXXXXXXXXXXXXXXXXXXX".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, get(), response);
+
+        // Then
+        assertArrayEquals(content, response.getContentAsByteArray());
+        ImageCache.Stats stats = imageCache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(2L * content.length, stats.bytesServed());
+        assertEquals(2L * content.length, stats.bytesServedFromCache());
+        assertEquals(content.length, stats.cachedBytes());
+    }
+
+    @Test
+    void getImage_WithRangeFromCache_ShouldReturnSlice() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        imageController.getImage(FILENAME, null, get(), new MockHttpServletResponse());
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=5-9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, request, response);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("56789", response.getContentAsString());
+    }
+
+    @Test
+    void getImage_WhenEtagChanges_ShouldReloadCachedBytes() throws Exception {
+        // Given
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(image));
+        imageController.getImage(FILENAME, null, get(), new MockHttpServletResponse());
+        byte[] updated = "neuer Inhalt".getBytes();
+        Files.write(image.path(), updated);
+        ImageFile changed = new ImageFile(image.path(), "image/jpeg", updated.length, LAST_MODIFIED + 1000,
+                "\"neu\"", false);
+        when(imageService.resolve(FILENAME, null)).thenReturn(Optional.of(changed));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        imageController.getImage(FILENAME, null, get(), response);
+
+        // Then
+        assertArrayEquals(updated, response.getContentAsByteArray());
+        assertEquals(updated.length, imageCache.stats().cachedBytes());
+    }
+
+    @Test
+    void getCacheStats_ShouldExposeBudget() {
+        assertEquals(new ImageProperties().getCacheSize().toBytes(), imageController.getCacheStats().budgetBytes());
+    }
+}
@@ -1,32 +1,33 @@
 package edu.hm.cs.kreisel_backend.controller;
 
+import edu.hm.cs.kreisel_backend.dto.ItemImportResult;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.security.SecurityUtils;
+import edu.hm.cs.kreisel_backend.service.AvailabilityStreamService;
+import edu.hm.cs.kreisel_backend.service.ImageUploadService;
+import edu.hm.cs.kreisel_backend.service.ItemImportService;
 import edu.hm.cs.kreisel_backend.service.ItemService;
+import edu.hm.cs.kreisel_backend.service.UploadRejectedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,9 +42,14 @@ public class ItemControllerTest {
     @Mock
     private SecurityUtils securityUtils;
 
-    // Verwenden eines echten temporären Verzeichnisses für Dateitests
-    @TempDir
-    Path tempDir;
+    @Mock
+    private ItemImportService itemImportService;
+
+    @Mock
+    private ImageUploadService imageUploadService;
+
+    @Mock
+    private AvailabilityStreamService availabilityStreamService;
 
     @InjectMocks
     private ItemController itemController;
@@ -55,9 +61,6 @@ public class ItemControllerTest {
 
     @BeforeEach
     void setUp() {
-        // Setze das temporäre Verzeichnis als fileStoragePath im Controller
-        ReflectionTestUtils.setField(itemController, "fileStoragePath", tempDir);
-
         // Initialize test item with correct enum values from the provided model
         testItem = new Item();
         testItem.setId(1L);
@@ -284,6 +287,88 @@ public class ItemControllerTest {
         verifyNoInteractions(itemService);
     }
 
+    @Test
+    void importItems_WithAdminUser_ShouldReturnImportResult() throws IOException {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "lot.csv", "text/csv", "name,location\nJacke,PASING\n".getBytes());
+        ItemImportResult importResult = new ItemImportResult();
+        importResult.setImported(1);
+        when(securityUtils.getCurrentUser()).thenReturn(adminUser);
+        when(itemImportService.importItems(any(), eq(ItemImportService.Format.CSV))).thenReturn(importResult);
+
+        // When
+        ResponseEntity<?> response = itemController.importItems(file, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(importResult, response.getBody());
+    }
+
+    @Test
+    void importItems_WithNonAdminUser_ShouldReturnForbidden() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "lot.csv", "text/csv", "name,location\n".getBytes());
+        when(securityUtils.getCurrentUser()).thenReturn(regularUser);
+
+        // When
+        ResponseEntity<?> response = itemController.importItems(file, null);
+
+        // Then
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(itemImportService);
+    }
+
+    @Test
+    void importItems_WithUnknownFormat_ShouldReturnBadRequest() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "lot.xlsx", "application/octet-stream", new byte[]{1, 2, 3});
+        when(securityUtils.getCurrentUser()).thenReturn(adminUser);
+
+        // When
+        ResponseEntity<?> response = itemController.importItems(file, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(itemImportService);
+    }
+
+    @Test
+    void importItemsStream_WithNdjsonBody_ShouldStreamToService() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items/import");
+        request.setContentType("application/x-ndjson");
+        request.setContent("{\"name\":\"Helm\",\"location\":\"PASING\"}\n".getBytes());
+        when(securityUtils.getCurrentUser()).thenReturn(adminUser);
+        when(itemImportService.importItems(any(), eq(ItemImportService.Format.NDJSON))).thenReturn(new ItemImportResult());
+
+        // When
+        ResponseEntity<?> response = itemController.importItemsStream(request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(itemImportService).importItems(any(), eq(ItemImportService.Format.NDJSON));
+    }
+
+    @Test
+    void importItemsStream_WithInvalidHeader_ShouldReturnBadRequest() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items/import");
+        request.setContentType("text/csv");
+        request.setContent("brand\nX\n".getBytes());
+        when(securityUtils.getCurrentUser()).thenReturn(adminUser);
+        when(itemImportService.importItems(any(), eq(ItemImportService.Format.CSV)))
+                .thenThrow(new IllegalArgumentException("CSV-Header muss mindestens die Spalten name und location enthalten"));
+
+        // When
+        ResponseEntity<?> response = itemController.importItemsStream(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void uploadItemImage_WhenItemExists_ShouldUploadImageAndUpdateItem() throws IOException {
         // Given
@@ -294,10 +379,11 @@ public class ItemControllerTest {
                 MediaType.IMAGE_JPEG_VALUE,
                 "test image content".getBytes()
         );
+        String imageUrl = "/api/items/images/" + "0123456789abcdef".repeat(4) + ".jpg";
 
-        // Bereite den ItemService-Mock vor
-        when(itemService.getItemById(itemId)).thenReturn(testItem);
-        when(itemService.updateItem(eq(itemId), any(Item.class))).thenReturn(testItem);
+        // Bereite die Service-Mocks vor
+        when(itemService.existsById(itemId)).thenReturn(true);
+        when(imageUploadService.upload(eq(itemId), any(), eq(file.getSize()))).thenReturn(imageUrl);
 
         // When
         ResponseEntity<?> response = itemController.uploadItemImage(itemId, file);
@@ -308,15 +394,47 @@ public class ItemControllerTest {
         assertTrue(response.getBody() instanceof Map);
         @SuppressWarnings("unchecked")
         Map<String, String> responseBody = (Map<String, String>) response.getBody();
-        assertTrue(responseBody.containsKey("imageUrl"));
-        assertTrue(responseBody.get("imageUrl").startsWith("/api/items/images/"));
+        assertEquals(imageUrl, responseBody.get("imageUrl"));
 
         // Verifiziere die Aufrufe
-        verify(itemService).getItemById(itemId);
-        verify(itemService).updateItem(eq(itemId), any(Item.class));
+        verify(itemService).existsById(itemId);
+        verify(imageUploadService).upload(eq(itemId), any(), eq(file.getSize()));
+    }
 
-        // Überprüfe, ob die Datei tatsächlich erstellt wurde
-        assertTrue(Files.list(tempDir).count() > 0);
+    @Test
+    void uploadItemImageStream_ShouldPassBodyAndContentLength() throws IOException {
+        // Given
+        Long itemId = 1L;
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items/1/image");
+        request.setContentType(MediaType.IMAGE_PNG_VALUE);
+        request.setContent(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        when(itemService.existsById(itemId)).thenReturn(true);
+        when(imageUploadService.upload(eq(itemId), any(), eq(4L))).thenReturn("/api/items/images/x.png");
+
+        // When
+        ResponseEntity<?> response = itemController.uploadItemImageStream(itemId, request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("imageUrl", "/api/items/images/x.png"), response.getBody());
+    }
+
+    @Test
+    void uploadItemImage_WhenRejected_ShouldMapReasonToStatus() throws IOException {
+        // Given
+        Long itemId = 1L;
+        MockMultipartFile file = new MockMultipartFile(
+                "image", "evil.jpg", MediaType.IMAGE_JPEG_VALUE, "<?php".getBytes());
+        when(itemService.existsById(itemId)).thenReturn(true);
+        when(imageUploadService.upload(eq(itemId), any(), anyLong()))
+                .thenThrow(new UploadRejectedException(UploadRejectedException.Reason.UNSUPPORTED_TYPE, "x"))
+                .thenThrow(new UploadRejectedException(UploadRejectedException.Reason.TOO_LARGE, "x"))
+                .thenThrow(new UploadRejectedException(UploadRejectedException.Reason.BUSY, "x"));
+
+        // Then
+        assertEquals(415, itemController.uploadItemImage(itemId, file).getStatusCode().value());
+        assertEquals(413, itemController.uploadItemImage(itemId, file).getStatusCode().value());
+        assertEquals(503, itemController.uploadItemImage(itemId, file).getStatusCode().value());
     }
 
     @Test
@@ -330,15 +448,16 @@ public class ItemControllerTest {
                 "test image content".getBytes()
         );
 
-        when(itemService.getItemById(itemId)).thenReturn(null);
+        when(itemService.existsById(itemId)).thenReturn(false);
 
         // When
         ResponseEntity<?> response = itemController.uploadItemImage(itemId, file);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(itemService).getItemById(itemId);
+        verify(itemService).existsById(itemId);
         verifyNoMoreInteractions(itemService);
+        verifyNoInteractions(imageUploadService);
     }
 
     @Test
@@ -352,12 +471,11 @@ public class ItemControllerTest {
                 "test image content".getBytes()
         );
 
-        // Mock ItemService um item zurückzugeben
-        when(itemService.getItemById(itemId)).thenReturn(testItem);
+        // Mock ItemService: Item existiert
+        when(itemService.existsById(itemId)).thenReturn(true);
 
-        // Überschreibe das tempDir mit einem nicht-existierenden Pfad, um eine Exception zu provozieren
-        Path invalidPath = Paths.get("/non-existent-directory");
-        ReflectionTestUtils.setField(itemController, "fileStoragePath", invalidPath);
+        // Speicher schlägt fehl, z. B. volle Platte
+        when(imageUploadService.upload(eq(itemId), any(), anyLong())).thenThrow(new IOException("No space left on device"));
 
         // When
         ResponseEntity<?> response = itemController.uploadItemImage(itemId, file);
@@ -366,41 +484,32 @@ public class ItemControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().toString().contains("Failed to upload image"));
-        verify(itemService).getItemById(itemId);
+        verify(itemService).existsById(itemId);
     }
 
     @Test
-    void getImage_WhenImageExists_ShouldReturnImage() throws Exception {
+    void streamAvailability_ShouldReturnEmitter() {
         // Given
-        String filename = "test-image.jpg";
-        Path imagePath = tempDir.resolve(filename);
-
-        // Erstelle tatsächliche Testdatei
-        Files.write(imagePath, "test image content".getBytes());
+        SseEmitter emitter = new SseEmitter();
+        when(availabilityStreamService.subscribe(Item.Location.PASING)).thenReturn(Optional.of(emitter));
 
         // When
-        ResponseEntity<Resource> response = itemController.getImage(filename);
+        ResponseEntity<SseEmitter> response = itemController.streamAvailability(Item.Location.PASING);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody() instanceof UrlResource);
-        assertTrue(((UrlResource) response.getBody()).exists());
+        assertSame(emitter, response.getBody());
     }
 
     @Test
-    void getImage_WhenImageDoesNotExist_ShouldReturnNotFound() throws Exception {
+    void streamAvailability_WhenSubscriberLimitReached_ShouldReturnServiceUnavailable() {
         // Given
-        String filename = "non-existent.jpg";
-        // Stelle sicher, dass die Datei nicht existiert
-        Path nonExistentPath = tempDir.resolve(filename);
-        Files.deleteIfExists(nonExistentPath);
+        when(availabilityStreamService.subscribe(Item.Location.PASING)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<Resource> response = itemController.getImage(filename);
+        ResponseEntity<SseEmitter> response = itemController.streamAvailability(Item.Location.PASING);
 
         // Then
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
     }
-}
\ No newline at end of file
+}
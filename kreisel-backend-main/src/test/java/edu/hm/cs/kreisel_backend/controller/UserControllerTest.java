@@ -1,5 +1,7 @@
 package edu.hm.cs.kreisel_backend.controller;
 
+import edu.hm.cs.kreisel_backend.dto.PageResponse;
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.security.SecurityUtils;
@@ -10,6 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -73,18 +77,40 @@ public class UserControllerTest {
     // Tests for admin endpoints
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
+    void getAllUsers_ShouldReturnPageOfSummaries() {
         // Given
-        when(userService.getAllUsers()).thenReturn(userList);
+        List<UserSummary> summaries = Arrays.asList(
+                new UserSummary(1L, "Test User", "user@hm.edu", User.Role.USER),
+                new UserSummary(2L, "Admin User", "admin@hm.edu", User.Role.ADMIN));
+        when(userService.getUserPage(null, 0, 20))
+                .thenReturn(new PageImpl<>(summaries, PageRequest.of(0, 20), 2));
 
         // When
-        List<User> result = userController.getAllUsers();
+        PageResponse<UserSummary> result = userController.getAllUsers(null, 0, 20);
 
         // Then
-        assertEquals(2, result.size());
-        assertEquals(testUser, result.get(0));
-        assertEquals(adminUser, result.get(1));
-        verify(userService).getAllUsers();
+        assertEquals(2, result.getContent().size());
+        assertEquals("user@hm.edu", result.getContent().get(0).getEmail());
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getTotalPages());
+        assertEquals(0, result.getPage());
+        verify(userService).getUserPage(null, 0, 20);
+    }
+
+    @Test
+    void getAllUsers_WithSearch_ShouldPassSearchToService() {
+        // Given
+        when(userService.getUserPage("adm", 1, 10))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(1, 10), 0));
+
+        // When
+        PageResponse<UserSummary> result = userController.getAllUsers("adm", 1, 10);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(1, result.getPage());
+        assertEquals(10, result.getSize());
+        verify(userService).getUserPage("adm", 1, 10);
     }
 
     @Test
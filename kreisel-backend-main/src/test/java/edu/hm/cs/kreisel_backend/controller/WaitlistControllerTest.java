@@ -0,0 +1,109 @@
+package edu.hm.cs.kreisel_backend.controller;
+
+import edu.hm.cs.kreisel_backend.dto.WaitlistStatus;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.security.SecurityUtils;
+import edu.hm.cs.kreisel_backend.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistControllerTest {
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @InjectMocks
+    private WaitlistController waitlistController;
+
+    private User currentUser;
+
+    @BeforeEach
+    void setUp() {
+        currentUser = new User();
+        currentUser.setId(1L);
+        currentUser.setRole(User.Role.USER);
+    }
+
+    @Test
+    void joinWaitlist_ShouldReturnPosition() {
+        // Given
+        when(securityUtils.getCurrentUser()).thenReturn(currentUser);
+        when(waitlistService.join(1L, 10L)).thenReturn(new WaitlistStatus(10L, 2, null));
+
+        // When
+        ResponseEntity<?> response = waitlistController.joinWaitlist(10L);
+
+        // Then
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(new WaitlistStatus(10L, 2, null), response.getBody());
+    }
+
+    @Test
+    void joinWaitlist_WhenItemAvailable_ShouldReturnConflict() {
+        // Given
+        when(securityUtils.getCurrentUser()).thenReturn(currentUser);
+        when(waitlistService.join(1L, 10L))
+                .thenThrow(new RuntimeException("Item ist verfügbar und kann direkt ausgeliehen werden"));
+
+        // When
+        ResponseEntity<?> response = waitlistController.joinWaitlist(10L);
+
+        // Then
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals(Map.of("error", "Item ist verfügbar und kann direkt ausgeliehen werden"), response.getBody());
+    }
+
+    @Test
+    void joinWaitlist_WhenNotAuthenticated_ShouldReturnUnauthorized() {
+        // Given
+        when(securityUtils.getCurrentUser()).thenReturn(null);
+
+        // When
+        ResponseEntity<?> response = waitlistController.joinWaitlist(10L);
+
+        // Then
+        assertEquals(401, response.getStatusCode().value());
+        verifyNoInteractions(waitlistService);
+    }
+
+    @Test
+    void getWaitlistStatus_WhenNotQueued_ShouldReturnNotFound() {
+        // Given
+        when(securityUtils.getCurrentUser()).thenReturn(currentUser);
+        when(waitlistService.getStatus(1L, 10L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<WaitlistStatus> response = waitlistController.getWaitlistStatus(10L);
+
+        // Then
+        assertEquals(404, response.getStatusCode().value());
+    }
+
+    @Test
+    void leaveWaitlist_ShouldReturnNoContent() {
+        // Given
+        when(securityUtils.getCurrentUser()).thenReturn(currentUser);
+        when(waitlistService.leave(1L, 10L)).thenReturn(true);
+
+        // When
+        ResponseEntity<Void> response = waitlistController.leaveWaitlist(10L);
+
+        // Then
+        assertEquals(204, response.getStatusCode().value());
+    }
+}
@@ -0,0 +1,168 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zwei H2-Datenbanken als primäre DB und Read-Replica. Statt echter Replikation kopiert {@link #replicate(ReplicaPools, String)}
+ * die primäre DB per SCRIPT komplett in die Replica; dazwischen hinkt die Replica beliebig hinterher.
+ * Der Heartbeat-Job läuft nur einmal beim Start, gemessen wird im Test per {@link ReplicaMonitor#check()}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rw-primary;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.max-lag=PT1S",
+        "app.datasource.replica.check-interval=PT1H",
+        // sonst kämen die Items aus dem Second-Level-Cache statt von einer der beiden Datenbanken,
+        // Replica und Cache zusammen prüft ReplicaCacheTest
+        "app.hibernate-cache.enabled=false"
+})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:rw-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ReplicaMonitor monitor;
+
+    @Autowired
+    private ReplicaPools pools;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicateAndCheck();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() throws Exception {
+        // Given
+        Item replicated = itemService.createItem(item("Replizierte Jacke"));
+        replicateAndCheck();
+        Item notYetReplicated = itemService.createItem(item("Neue Jacke"));
+        long replicaReads = monitor.getReplicaReads();
+
+        // When
+        Item found = itemService.getItemById(replicated.getId());
+
+        // Then
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals("Replizierte Jacke", found.getName());
+        assertThrows(RuntimeException.class, () -> itemService.getItemById(notYetReplicated.getId()));
+        assertTrue(monitor.getReplicaReads() > replicaReads);
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimaryEvenForReadOnlyMethods() {
+        // Given
+        Item notYetReplicated = itemService.createItem(item("Neue Hose"));
+
+        // When: getItemById läuft in der umgebenden Schreib-Transaktion mit
+        Item found = transactionTemplate.execute(status -> itemService.getItemById(notYetReplicated.getId()));
+
+        // Then
+        assertEquals("Neue Hose", found.getName());
+    }
+
+    @Test
+    void laggingReplica_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        Item notYetReplicated = itemService.createItem(item("Neuer Helm"));
+        Thread.sleep(1200);
+
+        // When
+        monitor.check();
+        long primaryReads = monitor.getPrimaryReads();
+        Item found = itemService.getItemById(notYetReplicated.getId());
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(monitor.getLagMillis() > 1000);
+        assertEquals("Neuer Helm", found.getName());
+        assertTrue(monitor.getPrimaryReads() > primaryReads);
+
+        // Replica holt auf
+        replicateAndCheck();
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals("Neuer Helm", itemService.getItemById(notYetReplicated.getId()).getName());
+    }
+
+    @Test
+    void brokenReplica_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        Item item = itemService.createItem(item("Neue Mütze"));
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+
+        // When
+        monitor.check();
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1, monitor.getLagMillis());
+        assertEquals("Neue Mütze", itemService.getItemById(item.getId()).getName());
+        assertFalse(itemService.filterItems(Item.Location.PASING, null, "Mütze", null, null, null, null).isEmpty());
+    }
+
+    // Heartbeat schreiben, replizieren und messen: der Rückstand ist dann nur die Dauer der Kopie
+    private void replicateAndCheck() throws Exception {
+        monitor.check();
+        replicate(pools, REPLICA_URL);
+        monitor.check();
+    }
+
+    // Replikations-Ersatz: Schema und Daten der primären DB komplett in die Replica kopieren
+    static void replicate(ReplicaPools pools, String replicaUrl) throws Exception {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = pools.primary().getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet result = statement.executeQuery("SCRIPT")) {
+            while (result.next()) {
+                script.add(result.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    static Item item(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setSize("M");
+        item.setAvailable(true);
+        item.setLocation(Item.Location.PASING);
+        item.setGender(Item.Gender.UNISEX);
+        item.setCategory(Item.Category.KLEIDUNG);
+        item.setSubcategory(Item.Subcategory.JACKEN);
+        item.setZustand(Item.Zustand.NEU);
+        return item;
+    }
+}
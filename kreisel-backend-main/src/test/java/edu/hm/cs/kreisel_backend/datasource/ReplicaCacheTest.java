@@ -0,0 +1,115 @@
+package edu.hm.cs.kreisel_backend.datasource;
+
+import edu.hm.cs.kreisel_backend.config.HibernateCacheConfig;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static edu.hm.cs.kreisel_backend.datasource.ReadReplicaRoutingTest.item;
+import static edu.hm.cs.kreisel_backend.datasource.ReadReplicaRoutingTest.replicate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-Replica und Second-Level-/Query-Cache zusammen: was read-only-Transaktionen von der (hinterherhinkenden)
+ * Replica lesen, darf nicht in den Cache, sonst überdeckt es bis zur TTL den Stand der primären DB.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-primary;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReplicaCacheTest.REPLICA_URL,
+        "app.datasource.replica.max-lag=PT1M",
+        "app.datasource.replica.check-interval=PT1H",
+        "app.hibernate-cache.enabled=true"
+})
+class ReplicaCacheTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:cache-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ReplicaMonitor monitor;
+
+    @Autowired
+    private ReplicaPools pools;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Test
+    void replicaRead_ShouldNotPutStaleItemIntoSecondLevelCache() throws Exception {
+        // Given: primär ausgeliehen, die Replica kennt das Item noch als verfügbar, der Cache ist leer
+        Item item = itemService.createItem(item("Jacke"));
+        replicateAndCheck();
+        item.setAvailable(false);
+        itemService.updateItem(item.getId(), item);
+        entityManagerFactory.getCache().evictAll();
+
+        // When
+        Item fromReplica = itemService.getItemById(item.getId());
+
+        // Then
+        assertTrue(monitor.isReplicaUsable());
+        assertTrue(fromReplica.isAvailable());
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        // Lesen von der primären DB füllt den Cache wie gehabt
+        Item fromPrimary = transactionTemplate.execute(status -> itemRepository.findById(item.getId()).orElseThrow());
+        assertFalse(fromPrimary.isAvailable());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+        assertFalse(itemService.getItemById(item.getId()).isAvailable());
+    }
+
+    @Test
+    void replicaQuery_ShouldNotPutIntoQueryCache() throws Exception {
+        // Given
+        itemService.createItem(item("Hose"));
+        replicateAndCheck();
+        entityManagerFactory.getCache().evictAll();
+
+        // When
+        assertFalse(itemService.filterItems(Item.Location.PASING, true, null, null, null, null, null).isEmpty());
+
+        // Then
+        assertEquals(0, cachedQueries());
+
+        transactionTemplate.executeWithoutResult(status ->
+                itemRepository.findByLocationAndAvailable(Item.Location.PASING, true));
+        assertEquals(1, cachedQueries());
+    }
+
+    // Hibernates put-Statistik zählt auch übersprungene Ablagen, daher direkt in der Region nachsehen
+    private long cachedQueries() {
+        long entries = 0;
+        for (Cache.Entry<Object, Object> ignored : hibernateCacheManager.getCache(HibernateCacheConfig.ITEM_QUERY_REGION)) {
+            entries++;
+        }
+        return entries;
+    }
+
+    private void replicateAndCheck() throws Exception {
+        monitor.check();
+        replicate(pools, REPLICA_URL);
+        monitor.check();
+    }
+}
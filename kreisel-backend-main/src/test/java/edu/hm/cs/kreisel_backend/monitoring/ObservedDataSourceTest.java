@@ -0,0 +1,117 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservedDataSourceTest {
+
+    private record Observation(String sql, long durationNanos, long rows) {
+    }
+
+    private final List<Observation> observations = new ArrayList<>();
+    private DriverManagerDataSource target;
+
+    @BeforeEach
+    void setUp() {
+        target = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(target);
+        setup.execute("CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(20))");
+        setup.update("INSERT INTO t VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    private ObservedDataSource observed(double sampleRate) {
+        return new ObservedDataSource(target,
+                (sql, durationNanos, rows) -> observations.add(new Observation(sql, durationNanos, rows)), sampleRate);
+    }
+
+    @Test
+    void query_ShouldReportSqlAndRowsReadOnClose() throws Exception {
+        // Given
+        ObservedDataSource dataSource = observed(1.0);
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM t WHERE id > ?")) {
+            statement.setInt(1, 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString("name");
+                }
+            }
+        }
+
+        // Then
+        assertEquals(1, observations.size());
+        assertEquals("SELECT * FROM t WHERE id > ?", observations.get(0).sql());
+        assertEquals(2, observations.get(0).rows());
+        assertTrue(observations.get(0).durationNanos() > 0);
+    }
+
+    @Test
+    void update_ShouldReportAffectedRows() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(observed(1.0));
+
+        // When
+        int updated = jdbcTemplate.update("UPDATE t SET name = ? WHERE id <= ?", "x", 2);
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(1, observations.size());
+        assertEquals(2, observations.get(0).rows());
+    }
+
+    @Test
+    void batch_ShouldReportSumOfAffectedRows() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(observed(1.0));
+
+        // When
+        jdbcTemplate.batchUpdate("INSERT INTO t VALUES (?, ?)",
+                List.of(new Object[]{10, "x"}, new Object[]{11, "y"}, new Object[]{12, "z"}));
+
+        // Then
+        assertEquals(1, observations.size());
+        assertEquals(3, observations.get(0).rows());
+    }
+
+    @Test
+    void plainStatement_ShouldReportSqlPassedToExecute() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(observed(1.0));
+
+        // When
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t", Integer.class);
+
+        // Then
+        assertEquals(3, count);
+        assertEquals("SELECT COUNT(*) FROM t", observations.get(0).sql());
+        assertEquals(1, observations.get(0).rows());
+    }
+
+    @Test
+    void sampleRateZero_ShouldNotWrapStatements() throws Exception {
+        // Given
+        ObservedDataSource dataSource = observed(0.0);
+
+        // When
+        new JdbcTemplate(dataSource).queryForList("SELECT * FROM t");
+
+        // Then
+        assertTrue(observations.isEmpty());
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.unwrap(Connection.class) != null);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Misst, was ein Aufruf (typisch ein MockMvc-Request) kostet: JDBC-Statements, gelesene Zeilen und
+ * auf dem aufrufenden Thread allokierte Bytes ({@link com.sun.management.ThreadMXBean}).
+ * <p>
+ * Einbinden per {@code @Import(RequestFootprint.Config.class)}: Die DataSource wird zusätzlich in eine
+ * {@link ObservedDataSource} ohne Sampling gehüllt. Gezählt werden nur Statements des messenden
+ * Threads, Hintergrundjobs (Scheduler, Thumbnail-Worker) stören also nicht.
+ */
+public class RequestFootprint implements StatementObserver {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    private volatile Thread measuring;
+    private long statements;
+    private long rows;
+    private final List<String> sql = new ArrayList<>();
+
+    /**
+     * @param statements Statements des letzten Laufs
+     * @param rows       gelesene bzw. geschriebene Zeilen des letzten Laufs
+     * @param allocatedBytes kleinste Allokation aus mehreren Läufen (ohne JIT-/Klassenlade-Rauschen)
+     * @param sql        die Statements des letzten Laufs, für Fehlermeldungen
+     */
+    public record Footprint(long statements, long rows, long allocatedBytes, List<String> sql) {
+
+        @Override
+        public String toString() {
+            return String.format("%d statements, %d rows, %d KB allocated%n  %s", statements, rows,
+                    allocatedBytes / 1024, String.join(System.lineSeparator() + "  ", sql));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public RequestFootprint requestFootprint() {
+            return new RequestFootprint();
+        }
+
+        @Bean
+        public static BeanPostProcessor requestFootprintDataSourcePostProcessor(
+                org.springframework.beans.factory.ObjectProvider<RequestFootprint> footprint) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new ObservedDataSource(dataSource, footprint.getObject(), 1.0);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Führt die Aktion erst zum Aufwärmen, dann mehrfach gemessen aus. Die Aktion muss daher
+     * wiederholbar sein (keine Requests, die Daten dauerhaft ändern).
+     */
+    public Footprint measure(Action action) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            action.run();
+        }
+        long minAllocated = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            synchronized (this) {
+                statements = 0;
+                rows = 0;
+                sql.clear();
+            }
+            measuring = Thread.currentThread();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            try {
+                action.run();
+            } finally {
+                minAllocated = Math.min(minAllocated, THREADS.getCurrentThreadAllocatedBytes() - before);
+                measuring = null;
+            }
+        }
+        synchronized (this) {
+            return new Footprint(statements, rows, minAllocated, List.copyOf(sql));
+        }
+    }
+
+    @Override
+    public void onStatement(String sql, long durationNanos, long rows) {
+        if (Thread.currentThread() == measuring) {
+            synchronized (this) {
+                statements++;
+                this.rows += rows;
+                this.sql.add(sql);
+            }
+        }
+    }
+}
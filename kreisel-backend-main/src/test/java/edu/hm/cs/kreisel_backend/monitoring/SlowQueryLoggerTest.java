@@ -0,0 +1,50 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryLogger.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void onStatement_BelowThreshold_ShouldNotLog() {
+        // When
+        new SlowQueryLogger(200).onStatement("select 1", TimeUnit.MILLISECONDS.toNanos(199), 1);
+
+        // Then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void onStatement_AboveThreshold_ShouldLogDurationRowsAndSqlOnly() {
+        // When
+        new SlowQueryLogger(200).onStatement("select * from app_user where email=?", TimeUnit.MILLISECONDS.toNanos(350), 42);
+
+        // Then
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertEquals("slow query: 350 ms, 42 rows: select * from app_user where email=?", message);
+    }
+}
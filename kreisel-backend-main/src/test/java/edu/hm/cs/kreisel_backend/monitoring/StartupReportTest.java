@@ -0,0 +1,63 @@
+package edu.hm.cs.kreisel_backend.monitoring;
+
+import edu.hm.cs.kreisel_backend.monitoring.StartupReport.Report;
+import edu.hm.cs.kreisel_backend.monitoring.StartupReport.Step;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    @Test
+    void build_ShouldListPhasesWithoutBeansAndMergeRepeatedPhases() throws InterruptedException {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        bean(startup, "itemService", 5).end();
+        startup.start("spring.beans.smart-initialize").end();
+        startup.start("spring.beans.smart-initialize").end();
+        refresh.end();
+
+        // When
+        Report report = StartupReport.build(startup.getBufferedTimeline(), Duration.ofMillis(1234), 10);
+
+        // Then
+        assertEquals(1234, report.readyMillis());
+        assertEquals(List.of("spring.context.refresh", "spring.beans.smart-initialize"),
+                report.phases().stream().map(Step::name).toList());
+    }
+
+    @Test
+    void build_ShouldRankBeansBySelfTimeWithoutDependencies() throws InterruptedException {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep controller = bean(startup, "itemController", 15);
+        bean(startup, "itemService", 30).end();
+        controller.end();
+        bean(startup, "userService", 0).end();
+
+        // When
+        Report report = StartupReport.build(startup.getBufferedTimeline(), null, 2);
+
+        // Then
+        assertEquals(-1, report.readyMillis());
+        assertEquals(List.of("itemService", "itemController"),
+                report.slowestBeans().stream().map(Step::detail).toList());
+        Step service = report.slowestBeans().get(0);
+        Step outer = report.slowestBeans().get(1);
+        assertEquals(service.durationMillis(), service.selfMillis());
+        assertEquals(outer.durationMillis() - service.durationMillis(), outer.selfMillis());
+    }
+
+    private static StartupStep bean(BufferingApplicationStartup startup, String name, long sleepMillis)
+            throws InterruptedException {
+        StartupStep step = startup.start(StartupReport.BEAN_STEP).tag("beanName", name);
+        Thread.sleep(sleepMillis);
+        return step;
+    }
+}
@@ -0,0 +1,35 @@
+package edu.hm.cs.kreisel_backend.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileNotificationSenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void send_ShouldAppendOneJsonLinePerMessage() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper();
+        FileNotificationSender sender = new FileNotificationSender(tempDir.resolve("mail"), objectMapper);
+
+        // When
+        sender.send(new NotificationMessage("anna@hm.edu", "Erinnerung", "Zeile 1\nZeile 2"));
+        sender.send(new NotificationMessage("ben@hm.edu", "Erinnerung", "Text"));
+
+        // Then
+        List<String> lines = Files.readAllLines(sender.getFile());
+        assertEquals(2, lines.size());
+        assertEquals(new NotificationMessage("anna@hm.edu", "Erinnerung", "Zeile 1\nZeile 2"),
+                objectMapper.readValue(lines.get(0), NotificationMessage.class));
+        assertEquals("ben@hm.edu", objectMapper.readValue(lines.get(1), NotificationMessage.class).recipient());
+    }
+}
@@ -0,0 +1,69 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.ImageBlob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ImageBlobRepositoryTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Bulk-Updates laufen am Persistence Context vorbei, daher frisch laden
+    private ImageBlob reload() {
+        entityManager.clear();
+        return imageBlobRepository.findById(HASH).orElseThrow();
+    }
+
+    @Test
+    void refCounting_ShouldMarkUnreferencedOnlyWhenLastReferenceIsReleased() {
+        // Given
+        imageBlobRepository.saveAndFlush(new ImageBlob(HASH, ".jpg", 10));
+        imageBlobRepository.incrementRefCount(HASH);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        imageBlobRepository.decrementRefCount(HASH, now);
+        ImageBlob stillUsed = reload();
+        imageBlobRepository.decrementRefCount(HASH, now);
+        ImageBlob unused = reload();
+
+        // Then
+        assertEquals(1, stillUsed.getRefCount());
+        assertNull(stillUsed.getUnreferencedSince());
+        assertEquals(0, unused.getRefCount());
+        assertNotNull(unused.getUnreferencedSince());
+        // nicht unter 0
+        assertEquals(0, imageBlobRepository.decrementRefCount(HASH, now));
+    }
+
+    @Test
+    void deleteIfUnreferenced_ShouldRespectGracePeriodAndNewReferences() {
+        // Given
+        imageBlobRepository.saveAndFlush(new ImageBlob(HASH, ".jpg", 10));
+        LocalDateTime released = LocalDateTime.now().minusHours(2);
+        imageBlobRepository.decrementRefCount(HASH, released);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+
+        // Then
+        assertEquals(1, imageBlobRepository.findUnreferencedBefore(cutoff).size());
+        assertEquals(0, imageBlobRepository.deleteIfUnreferenced(HASH, released.minusMinutes(1)));
+
+        // Wieder referenziert -> nicht löschen
+        imageBlobRepository.incrementRefCount(HASH);
+        assertEquals(0, imageBlobRepository.deleteIfUnreferenced(HASH, cutoff));
+        assertTrue(imageBlobRepository.findUnreferencedBefore(cutoff).isEmpty());
+    }
+}
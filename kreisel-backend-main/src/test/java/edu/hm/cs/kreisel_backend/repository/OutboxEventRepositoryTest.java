@@ -0,0 +1,64 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxEvent event(LocalDateTime availableAt, LocalDateTime processedAt, int attempts) {
+        OutboxEvent event = new OutboxEvent("ReviewCreated", 1L, "{}");
+        event.setAvailableAt(availableAt);
+        event.setProcessedAt(processedAt);
+        event.setAttempts(attempts);
+        return outboxEventRepository.save(event);
+    }
+
+    @Test
+    void findDispatchable_ShouldReturnDuePendingEventsInWriteOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent due = event(now.minusSeconds(10), null, 0);
+        event(now.minusSeconds(10), now.minusSeconds(5), 0); // schon zugestellt
+        event(now.plusMinutes(1), null, 1);                  // wartet auf Retry
+        event(now.minusSeconds(10), null, 10);               // aufgegeben
+        OutboxEvent retried = event(now.minusSeconds(1), null, 2);
+
+        // When
+        List<OutboxEvent> batch = outboxEventRepository.findDispatchable(now, 10, PageRequest.of(0, 10));
+        List<OutboxEvent> limited = outboxEventRepository.findDispatchable(now, 10, PageRequest.of(0, 1));
+
+        // Then
+        assertEquals(List.of(due.getId(), retried.getId()), batch.stream().map(OutboxEvent::getId).toList());
+        assertEquals(List.of(due.getId()), limited.stream().map(OutboxEvent::getId).toList());
+        assertEquals(4, outboxEventRepository.countByProcessedAtIsNull());
+    }
+
+    @Test
+    void deleteProcessedBefore_ShouldKeepPendingAndRecentEvents() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        event(now.minusDays(3), now.minusDays(2), 0);
+        OutboxEvent recent = event(now.minusMinutes(5), now.minusMinutes(1), 0);
+        OutboxEvent pending = event(now.minusDays(3), null, 3);
+
+        // When
+        int removed = outboxEventRepository.deleteProcessedBefore(now.minusDays(1));
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(List.of(recent.getId(), pending.getId()),
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList());
+    }
+}
@@ -0,0 +1,63 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
+import edu.hm.cs.kreisel_backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persist("Max Mustermann", "m.mustermann@hm.edu");
+        persist("Erika Musterfrau", "MAXI.Muster@hm.edu");
+        persist("Anna Schmidt", "anna@hm.edu");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String fullName, String email) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setRole(User.Role.USER);
+        entityManager.persist(user);
+    }
+
+    @Test
+    void searchSummariesByPrefix_ShouldIgnoreCaseOnNameAndEmail() {
+        // When
+        Page<UserSummary> result = userRepository.searchSummariesByPrefix("max%", PageRequest.of(0, 20, Sort.by("id")));
+
+        // Then: "Max Mustermann" über den Namen, "MAXI.Muster@hm.edu" über die E-Mail
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of("Max Mustermann", "Erika Musterfrau"),
+                result.getContent().stream().map(UserSummary::getFullName).toList());
+    }
+
+    @Test
+    void searchSummariesByPrefix_ShouldOnlyMatchPrefix() {
+        // When
+        Page<UserSummary> result = userRepository.searchSummariesByPrefix("schmidt%", PageRequest.of(0, 20));
+
+        // Then
+        assertEquals(0, result.getTotalElements());
+    }
+}
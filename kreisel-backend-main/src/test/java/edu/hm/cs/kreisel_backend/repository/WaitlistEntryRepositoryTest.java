@@ -0,0 +1,80 @@
+package edu.hm.cs.kreisel_backend.repository;
+
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.model.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class WaitlistEntryRepositoryTest {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Item item;
+    private final LocalDateTime start = LocalDateTime.of(2026, 10, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        item = new Item();
+        item.setName("Snowboard");
+        item.setLocation(Item.Location.PASING);
+        entityManager.persist(item);
+    }
+
+    private WaitlistEntry queue(String email, LocalDateTime createdAt, LocalDateTime holdUntil) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFullName(email);
+        user.setRole(User.Role.USER);
+        entityManager.persist(user);
+        WaitlistEntry entry = new WaitlistEntry(item, user);
+        entry.setCreatedAt(createdAt);
+        entry.setHoldUntil(holdUntil);
+        return waitlistEntryRepository.save(entry);
+    }
+
+    @Test
+    void findFirstWaiting_ShouldSkipHolderAndRespectQueueOrder() {
+        // Given
+        queue("holder@hm.edu", start, start.plusHours(2));
+        WaitlistEntry second = queue("second@hm.edu", start.plusMinutes(5), null);
+        WaitlistEntry first = queue("first@hm.edu", start.plusMinutes(1), null);
+
+        // When
+        WaitlistEntry next = waitlistEntryRepository
+                .findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(item.getId()).orElseThrow();
+
+        // Then
+        assertEquals(first.getId(), next.getId());
+        assertEquals(1, waitlistEntryRepository.findPosition(item.getId(), first.getCreatedAt(), first.getId()));
+        assertEquals(2, waitlistEntryRepository.findPosition(item.getId(), second.getCreatedAt(), second.getId()));
+    }
+
+    @Test
+    void findExpiredHolds_ShouldOnlyReturnHoldsInThePast() {
+        // Given
+        WaitlistEntry expired = queue("expired@hm.edu", start, start.plusHours(2));
+        queue("active@hm.edu", start, start.plusHours(5));
+        queue("waiting@hm.edu", start, null);
+
+        // When
+        List<Long> result = waitlistEntryRepository.findExpiredHolds(start.plusHours(3));
+
+        // Then
+        assertEquals(List.of(expired.getId()), result);
+        assertEquals(item.getId(), waitlistEntryRepository.findItemIdById(expired.getId()).orElseThrow());
+    }
+}
@@ -8,8 +8,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -38,6 +41,9 @@ public class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -81,6 +87,8 @@ public class JwtAuthenticationFilterTest {
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.TIMER_NAME).tag("outcome", "authenticated")
+                .timer().count());
     }
 
     @Test
@@ -114,6 +122,7 @@ public class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
         verifyNoInteractions(jwtUtil, userDetailsService);
+        assertTrue(meterRegistry.find(JwtAuthenticationFilter.TIMER_NAME).timers().isEmpty());
     }
 
     @Test
@@ -147,6 +156,8 @@ public class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
         verifyNoInteractions(userDetailsService);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.TIMER_NAME).tag("outcome", "rejected")
+                .timer().count());
     }
 
     @Test
@@ -183,5 +194,6 @@ public class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
         verifyNoInteractions(jwtUtil, userDetailsService);
+        assertTrue(meterRegistry.find(JwtAuthenticationFilter.TIMER_NAME).timers().isEmpty());
     }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package edu.hm.cs.kreisel_backend.security;
 
+import edu.hm.cs.kreisel_backend.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.function.Function;
@@ -97,4 +100,16 @@ public class JwtUtilTest {
         // Then
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateToken_WithSharedSecret_ShouldAcceptTokenOfOtherInstance() {
+        // Given: zwei Knoten mit demselben app.jwt.secret
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+        String sharedToken = new JwtUtil(properties).generateToken(userDetails);
+
+        // When / Then
+        assertTrue(new JwtUtil(properties).validateToken(sharedToken, userDetails));
+        assertThrows(JwtException.class, () -> jwtUtil.validateToken(sharedToken, userDetails));
+    }
+}
@@ -0,0 +1,209 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import edu.hm.cs.kreisel_backend.security.RateLimitFilter.KeyType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+        lenient().when(rateLimiter.isEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path); // AntPathRequestMatcher prüft den Servlet-Pfad
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    @Test
+    void doFilter_WhenLimitExceeded_ShouldReturn429WithRetryAfter() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limit("login", antMatcher(HttpMethod.POST, "/api/auth/login"));
+        when(rateLimiter.tryConsume("login", "10.0.0.1")).thenReturn(7L);
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), response, filterChain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("7", response.getHeader("Retry-After"));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void doFilter_WithinLimit_ShouldContinueChain() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limit("login", antMatcher(HttpMethod.POST, "/api/auth/login"));
+        MockHttpServletRequest request = request("POST", "/api/auth/login");
+        when(rateLimiter.tryConsume("login", "10.0.0.1")).thenReturn(0L);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldOnlyCountFirstMatchingGroup() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limit("public", antMatcher(HttpMethod.GET, "/api/items"))
+                .limit("other", AnyRequestMatcher.INSTANCE);
+        when(rateLimiter.tryConsume("public", "10.0.0.1")).thenReturn(0L);
+
+        // When
+        filter.doFilter(request("GET", "/api/items"), response, filterChain);
+
+        // Then
+        verify(rateLimiter, never()).tryConsume(eq("other"), anyString());
+    }
+
+    @Test
+    void doFilter_WithExcludedPath_ShouldNotConsume() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .exclude(antMatcher("/api/items/images/**"))
+                .limit("user", AnyRequestMatcher.INSTANCE);
+
+        // When
+        filter.doFilter(request("GET", "/api/items/images/a.jpg"), response, filterChain);
+
+        // Then
+        verify(rateLimiter, never()).tryConsume(anyString(), anyString());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_WithUserKey_ShouldUseAuthenticatedUser() throws Exception {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "anna@hm.edu", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.USER)
+                .limit("user", AnyRequestMatcher.INSTANCE);
+        when(rateLimiter.tryConsume("user", "anna@hm.edu")).thenReturn(0L);
+
+        // When
+        filter.doFilter(request("GET", "/api/rentals/user"), response, filterChain);
+
+        // Then
+        verify(rateLimiter).tryConsume("user", "anna@hm.edu");
+    }
+
+    @Test
+    void doFilter_WithUserKeyAndNoAuthentication_ShouldNotLimit() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.USER)
+                .limit("user", AnyRequestMatcher.INSTANCE);
+
+        // When
+        filter.doFilter(request("GET", "/api/rentals/user"), response, filterChain);
+
+        // Then
+        verify(rateLimiter, never()).tryConsume(anyString(), anyString());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_WithBothKeyTypes_ShouldRunBothFiltersOnSameRequest() throws Exception {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "anna@hm.edu", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        RateLimitFilter ipFilter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limit("public", AnyRequestMatcher.INSTANCE);
+        RateLimitFilter userFilter = new RateLimitFilter(rateLimiter, KeyType.USER)
+                .limit("user", AnyRequestMatcher.INSTANCE);
+        MockHttpServletRequest request = request("GET", "/api/items");
+
+        // When
+        ipFilter.doFilter(request, response, (req, res) -> userFilter.doFilter(req, res, filterChain));
+
+        // Then
+        verify(rateLimiter).tryConsume("public", "10.0.0.1");
+        verify(rateLimiter).tryConsume("user", "anna@hm.edu");
+    }
+
+    @Test
+    void doFilter_WithAnonymousRuleAndAuthenticatedUser_ShouldSkipIpBucket() throws Exception {
+        // Given: angemeldet hinter einer geteilten NAT-Adresse
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "anna@hm.edu", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limitAnonymous("public", antMatcher(HttpMethod.GET, "/api/items"))
+                .limit("other", AnyRequestMatcher.INSTANCE);
+
+        // When
+        filter.doFilter(request("GET", "/api/items"), response, filterChain);
+
+        // Then
+        verify(rateLimiter, never()).tryConsume(anyString(), anyString());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_WithAnonymousRuleAndNoToken_ShouldUseIpBucket() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limitAnonymous("public", antMatcher(HttpMethod.GET, "/api/items"));
+        when(rateLimiter.tryConsume("public", "10.0.0.1")).thenReturn(3L);
+
+        // When
+        filter.doFilter(request("GET", "/api/items"), response, filterChain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void doFilter_WhenDisabled_ShouldNotLimit() throws Exception {
+        // Given
+        when(rateLimiter.isEnabled()).thenReturn(false);
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, KeyType.IP)
+                .limit("login", AnyRequestMatcher.INSTANCE);
+
+        // When
+        filter.doFilter(request("POST", "/api/auth/login"), response, filterChain);
+
+        // Then
+        verify(rateLimiter, never()).tryConsume(anyString(), anyString());
+    }
+}
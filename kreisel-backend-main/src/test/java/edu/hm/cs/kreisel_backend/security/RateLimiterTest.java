@@ -0,0 +1,128 @@
+package edu.hm.cs.kreisel_backend.security;
+
+import edu.hm.cs.kreisel_backend.config.RateLimitProperties;
+import edu.hm.cs.kreisel_backend.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getGroups().put("login", new Limit(3, 6)); // 1 Token alle 10 s
+        rateLimiter = new RateLimiter(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    void tryConsume_ShouldAllowBurstUpToCapacity() {
+        // When / Then
+        assertEquals(0, rateLimiter.tryConsume("login", "10.0.0.1"));
+        assertEquals(0, rateLimiter.tryConsume("login", "10.0.0.1"));
+        assertEquals(0, rateLimiter.tryConsume("login", "10.0.0.1"));
+        assertEquals(10, rateLimiter.tryConsume("login", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get(RateLimiter.METRIC_NAME).tag("group", "login").counter().count());
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("login", "10.0.0.1");
+        }
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        long retryAfter = rateLimiter.tryConsume("login", "10.0.0.1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+
+        // Then
+        assertEquals(6, retryAfter);
+        assertEquals(0, rateLimiter.tryConsume("login", "10.0.0.1"));
+        assertTrue(rateLimiter.tryConsume("login", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void tryConsume_ShouldNotRefillBeyondCapacity() {
+        // Given
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        rateLimiter.tryConsume("login", "10.0.0.1");
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        // When
+        int allowed = 0;
+        while (rateLimiter.tryConsume("login", "10.0.0.1") == 0) {
+            allowed++;
+        }
+
+        // Then
+        assertEquals(3, allowed);
+    }
+
+    @Test
+    void tryConsume_ShouldKeepSeparateBucketsPerKeyAndGroup() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("login", "10.0.0.1");
+        }
+
+        // When / Then
+        assertTrue(rateLimiter.tryConsume("login", "10.0.0.1") > 0);
+        assertEquals(0, rateLimiter.tryConsume("login", "10.0.0.2"));
+        assertEquals(0, rateLimiter.tryConsume("public", "10.0.0.1"));
+    }
+
+    @Test
+    void tryConsume_WithUnknownGroup_ShouldNotLimit() {
+        // When / Then
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, rateLimiter.tryConsume("unbekannt", "10.0.0.1"));
+        }
+        assertEquals(0, rateLimiter.size());
+    }
+
+    @Test
+    void tryConsume_WithConcurrentRequests_ShouldHandOutEachTokenOnce() throws Exception {
+        // Given: ohne Nachfüllen, 16 Threads ziehen gleichzeitig aus einem Bucket mit 1000 Tokens
+        properties.getGroups().put("user", new Limit(1_000, 0));
+        int threads = 16;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (rateLimiter.tryConsume("user", "anna@hm.edu") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1_000, allowed.get());
+    }
+}
@@ -0,0 +1,139 @@
+package edu.hm.cs.kreisel_backend.seed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ALTER SEQUENCE ist DDL und beendet die Transaktion, daher ohne Test-Rollback und mit eigenem Aufräumen
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataSeederTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("review", "app_rental", "app_item", "app_user")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    private DataSeeder.Result seed(long seed) {
+        SeedProperties properties = new SeedProperties();
+        properties.setSeed(seed);
+        properties.setUsers(50);
+        properties.setItems(400);
+        properties.setRentals(3_000);
+        properties.setReferenceDate(TODAY);
+        properties.setBatchSize(500);
+        return new DataSeeder(jdbcTemplate, transactionTemplate, properties, "{noop}hash").seed();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    // Inhalt aller Tabellen als eine Zahl, um zwei Läufe zu vergleichen
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("SELECT "
+                + "(SELECT SUM(CAST(ORA_HASH(email || full_name) AS BIGINT)) FROM app_user) u, "
+                + "(SELECT SUM(CAST(ORA_HASH(name || size || location || category || available) AS BIGINT)) FROM app_item) i, "
+                + "(SELECT SUM(CAST(ORA_HASH(user_id || '-' || item_id || '-' || rental_date || '-' || end_date) AS BIGINT)) FROM app_rental) r, "
+                + "(SELECT SUM(rental_id * rating) FROM review) v");
+    }
+
+    @Test
+    void seed_ShouldInsertRequestedVolumesWithConsistentState() {
+        // When
+        DataSeeder.Result result = seed(42);
+
+        // Then
+        assertEquals(50, count("SELECT COUNT(*) FROM app_user"));
+        assertEquals(400, count("SELECT COUNT(*) FROM app_item"));
+        assertEquals(3_000 + result.activeRentals(), count("SELECT COUNT(*) FROM app_rental"));
+        assertEquals(result.reviews(), count("SELECT COUNT(*) FROM review"));
+        assertTrue(result.activeRentals() > 0);
+        assertTrue(result.reviews() > 0);
+
+        // laufende Ausleihen: Item nicht verfügbar, höchstens 5 pro Nutzer, Ende in der Zukunft
+        assertEquals(result.activeRentals(), count("SELECT COUNT(*) FROM app_item WHERE available = FALSE"));
+        assertEquals(0, count("SELECT COUNT(*) FROM app_rental r JOIN app_item i ON i.id = r.item_id "
+                + "WHERE r.return_date IS NULL AND i.available = TRUE"));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id FROM app_rental WHERE return_date IS NULL "
+                + "GROUP BY user_id HAVING COUNT(*) > 5)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM app_rental WHERE return_date IS NULL AND end_date <= DATE '2026-10-01'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM app_rental WHERE return_date >= DATE '2026-10-01'"));
+
+        // Bewertungsstatistik passt zu den Reviews
+        assertEquals(0, count("SELECT COUNT(*) FROM app_item i WHERE i.review_count <> "
+                + "(SELECT COUNT(*) FROM review r WHERE r.item_id = i.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM app_item i WHERE i.review_count > 0 AND ABS(i.average_rating - "
+                + "(SELECT AVG(CAST(rating AS DOUBLE)) FROM review r WHERE r.item_id = i.id)) > 1e-9"));
+
+        // Unterkategorie passt zur Kategorie
+        assertEquals(0, count("SELECT COUNT(*) FROM app_item WHERE category = 'SCHUHE' "
+                + "AND subcategory NOT IN ('STIEFEL', 'WANDERSCHUHE')"));
+    }
+
+    @Test
+    void seed_WithSameSeed_ShouldProduceSameData() {
+        // Given
+        seed(42);
+        List<Map<String, Object>> first = snapshot();
+        cleanUp();
+
+        // When
+        seed(42);
+        List<Map<String, Object>> second = snapshot();
+        cleanUp();
+        seed(7);
+        List<Map<String, Object>> other = snapshot();
+
+        // Then
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void seed_ShouldRestartSequencesBehindSeededIds() {
+        // When
+        seed(42);
+
+        // Then: pooled optimizer vergibt ab nextval - 49
+        long maxUserId = count("SELECT MAX(id) FROM app_user");
+        long nextUserBlock = count("SELECT NEXT VALUE FOR app_user_seq");
+        assertTrue(nextUserBlock - 49 > maxUserId);
+        long maxRentalId = count("SELECT MAX(id) FROM app_rental");
+        assertTrue(count("SELECT NEXT VALUE FOR app_rental_seq") - 49 > maxRentalId);
+    }
+
+    @Test
+    void seed_OnExistingData_ShouldAppendWithoutIdCollisions() {
+        // Given
+        seed(42);
+
+        // When
+        seed(43);
+
+        // Then
+        assertEquals(100, count("SELECT COUNT(*) FROM app_user"));
+        assertEquals(800, count("SELECT COUNT(*) FROM app_item"));
+    }
+}
@@ -0,0 +1,178 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.AvailabilityBroadcast;
+import edu.hm.cs.kreisel_backend.cluster.ClusterBus;
+import edu.hm.cs.kreisel_backend.config.StreamProperties;
+import edu.hm.cs.kreisel_backend.dto.ItemAvailabilityChange;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Echte SSE-Ausgabe über MockMvc (asynchroner Request), damit Emitter und Sender-Threads mitlaufen.
+ */
+class AvailabilityStreamServiceTest {
+
+    private StreamProperties properties;
+    private ClusterBus clusterBus;
+    private AvailabilityStreamService streamService;
+    private MockMvc mockMvc;
+
+    @RestController
+    class StreamEndpoint {
+        @GetMapping("/stream")
+        ResponseEntity<SseEmitter> stream(@RequestParam Location location) {
+            return streamService.subscribe(location)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(503).build());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new StreamProperties();
+        clusterBus = mock(ClusterBus.class);
+        streamService = new AvailabilityStreamService(properties, clusterBus);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamEndpoint()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    private MvcResult open(Location location) throws Exception {
+        return mockMvc.perform(get("/stream").param("location", location.name()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // Die Sender laufen auf eigenen Threads, daher kurz auf die Ausgabe warten
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldOnlyReachSubscribersOfLocation() throws Exception {
+        // Given
+        MvcResult pasing = open(Location.PASING);
+        MvcResult karlstrasse = open(Location.KARLSTRASSE);
+        awaitContent(pasing, ":connected");
+        awaitContent(karlstrasse, ":connected");
+
+        // When
+        streamService.onAvailabilityChanged(new ItemAvailabilityChange(7L, Location.PASING, true));
+
+        // Then
+        String content = awaitContent(pasing, "\"itemId\":7");
+        assertTrue(content.contains("event:availability"));
+        assertTrue(content.contains("data:{\"itemId\":7,\"location\":\"PASING\",\"available\":true}"));
+        assertFalse(karlstrasse.getResponse().getContentAsString().contains("itemId"));
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldForwardToOtherNodes() {
+        // Given
+        ItemAvailabilityChange change = new ItemAvailabilityChange(7L, Location.PASING, false);
+
+        // When
+        streamService.onAvailabilityChanged(change);
+
+        // Then
+        verify(clusterBus).broadcast(new AvailabilityBroadcast(change));
+    }
+
+    @Test
+    void onAvailabilityBroadcast_ShouldReachLocalSubscribersWithoutForwardingAgain() throws Exception {
+        // Given
+        MvcResult pasing = open(Location.PASING);
+        awaitContent(pasing, ":connected");
+
+        // When
+        streamService.onAvailabilityBroadcast(new AvailabilityBroadcast(
+                new ItemAvailabilityChange(7L, Location.PASING, false)));
+
+        // Then
+        assertTrue(awaitContent(pasing, "\"itemId\":7").contains("\"available\":false"));
+        verify(clusterBus, never()).broadcast(any());
+    }
+
+    @Test
+    void onItemChanged_WhenLocationChanges_ShouldRemoveAtOldLocation() throws Exception {
+        // Given
+        MvcResult pasing = open(Location.PASING);
+        MvcResult karlstrasse = open(Location.KARLSTRASSE);
+        awaitContent(pasing, ":connected");
+        awaitContent(karlstrasse, ":connected");
+
+        // When
+        streamService.onItemChanged(new ItemChanged(7L, Location.KARLSTRASSE, Location.PASING, true, false));
+
+        // Then
+        assertTrue(awaitContent(pasing, "\"itemId\":7").contains("\"available\":false"));
+        assertTrue(awaitContent(karlstrasse, "\"itemId\":7").contains("\"available\":true"));
+    }
+
+    @Test
+    void subscribe_WhenLimitReached_ShouldReject() throws Exception {
+        // Given
+        properties.setMaxSubscribers(1);
+        open(Location.PASING);
+
+        // When
+        int status = mockMvc.perform(get("/stream").param("location", "PASING")).andReturn().getResponse().getStatus();
+
+        // Then
+        assertEquals(503, status);
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    @Test
+    void sendHeartbeats_ShouldWriteComment() throws Exception {
+        // Given
+        MvcResult result = open(Location.LOTHSTRASSE);
+
+        // When
+        streamService.sendHeartbeats();
+
+        // Then
+        assertTrue(awaitContent(result, ":heartbeat").contains(":heartbeat"));
+    }
+
+    @Test
+    void shutdown_ShouldRemoveSubscribers() throws Exception {
+        // Given
+        open(Location.PASING);
+        open(Location.LOTHSTRASSE);
+
+        // When
+        streamService.shutdown();
+
+        // Then
+        assertEquals(0, streamService.getSubscriberCount());
+    }
+}
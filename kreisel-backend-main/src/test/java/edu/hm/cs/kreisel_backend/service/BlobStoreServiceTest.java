@@ -0,0 +1,249 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.model.ImageBlob;
+import edu.hm.cs.kreisel_backend.repository.ImageBlobRepository;
+import edu.hm.cs.kreisel_backend.service.BlobStoreService.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobStoreServiceTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13};
+    private static final String JPEG_HASH = sha256(JPEG);
+    private static final String JPEG_SHARD = "blobs/" + JPEG_HASH.substring(0, 2) + "/" + JPEG_HASH.substring(2, 4);
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private ImageCache imageCache;
+    private BlobStoreService blobStoreService;
+
+    @BeforeEach
+    void setUp() {
+        ImageProperties properties = new ImageProperties();
+        imageCache = new ImageCache(properties);
+        blobStoreService = new BlobStoreService(tempDir, imageBlobRepository, properties, imageCache);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StoredBlob store(byte[] content) throws IOException {
+        return blobStoreService.store(new ByteArrayInputStream(content), 1024);
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> walk = Files.walk(tempDir)) {
+            return walk.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void store_ShouldWriteShardedFileAndCreateBlobEntry() throws IOException {
+        // Given
+        when(imageBlobRepository.incrementRefCount(JPEG_HASH)).thenReturn(0);
+
+        // When
+        StoredBlob blob = store(JPEG);
+
+        // Then
+        assertEquals(JPEG_HASH, blob.hash());
+        assertEquals(JPEG_HASH + ".jpg", blob.filename());
+        assertEquals(JPEG.length, blob.size());
+        Path expected = tempDir.resolve(JPEG_SHARD + "/" + JPEG_HASH + ".jpg");
+        assertArrayEquals(JPEG, Files.readAllBytes(expected));
+        assertEquals(expected, blobStoreService.locate(blob.filename()));
+        assertEquals(1, countFiles()); // keine Temp-Datei übrig
+
+        ArgumentCaptor<ImageBlob> saved = ArgumentCaptor.forClass(ImageBlob.class);
+        verify(imageBlobRepository).save(saved.capture());
+        assertEquals(1, saved.getValue().getRefCount());
+        assertEquals(".jpg", saved.getValue().getExtension());
+    }
+
+    @Test
+    void store_WithKnownContent_ShouldOnlyIncrementRefCount() throws IOException {
+        // Given
+        when(imageBlobRepository.incrementRefCount(JPEG_HASH)).thenReturn(0, 1);
+
+        // When
+        StoredBlob first = store(JPEG);
+        StoredBlob second = store(JPEG);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, countFiles());
+        verify(imageBlobRepository, times(2)).incrementRefCount(JPEG_HASH);
+        verify(imageBlobRepository, times(1)).save(any(ImageBlob.class));
+    }
+
+    @Test
+    void store_ShouldTakeExtensionFromContent() throws IOException {
+        // When: Inhalt ist PNG, egal wie die Datei hieß
+        StoredBlob blob = store(PNG);
+
+        // Then
+        assertEquals(sha256(PNG) + ".png", blob.filename());
+    }
+
+    @Test
+    void store_WithUnknownContent_ShouldRejectWithoutKeepingFiles() throws IOException {
+        // When
+        UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                () -> store("<?php echo 1; ?>".getBytes()));
+
+        // Then
+        assertEquals(UploadRejectedException.Reason.UNSUPPORTED_TYPE, e.getReason());
+        assertEquals(0, countFiles());
+        verifyNoInteractions(imageBlobRepository);
+    }
+
+    @Test
+    void store_WithEmptyBody_ShouldReject() {
+        UploadRejectedException e = assertThrows(UploadRejectedException.class, () -> store(new byte[0]));
+        assertEquals(UploadRejectedException.Reason.UNSUPPORTED_TYPE, e.getReason());
+    }
+
+    @Test
+    void store_AboveLimit_ShouldAbortWithoutReadingTheRest() throws IOException {
+        // Given: 1 MB Body, Limit 100 KB; der Stream zählt, wie viel gelesen wurde
+        byte[] large = Arrays.copyOf(JPEG, 1024 * 1024);
+        ByteArrayInputStream input = new ByteArrayInputStream(large);
+
+        // When
+        UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                () -> blobStoreService.store(input, 100 * 1024));
+
+        // Then
+        assertEquals(UploadRejectedException.Reason.TOO_LARGE, e.getReason());
+        assertTrue(input.available() > 800 * 1024);
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void store_ExactlyAtLimit_ShouldSucceed() throws IOException {
+        // When
+        StoredBlob blob = blobStoreService.store(new ByteArrayInputStream(JPEG), JPEG.length);
+
+        // Then
+        assertEquals(JPEG.length, blob.size());
+    }
+
+    @Test
+    void release_ShouldOnlyTouchContentAddressedImages() {
+        // When
+        blobStoreService.release("/api/items/images/" + JPEG_HASH + ".jpg");
+        blobStoreService.release("/api/items/images/item_1_3f2a.jpg");
+        blobStoreService.release(null);
+
+        // Then
+        verify(imageBlobRepository).decrementRefCount(eq(JPEG_HASH), any(LocalDateTime.class));
+        verifyNoMoreInteractions(imageBlobRepository);
+    }
+
+    @Test
+    void locate_WithLegacyName_ShouldUseFlatUploadDirectory() {
+        assertEquals(tempDir.resolve("item_1_3f2a.jpg"), blobStoreService.locate("item_1_3f2a.jpg"));
+        assertEquals(tempDir.resolve(JPEG_SHARD + "/" + JPEG_HASH + "_w160.jpg"),
+                blobStoreService.locate(JPEG_HASH + "_w160.jpg"));
+    }
+
+    @Test
+    void collectGarbage_ShouldDeleteUnreferencedBlobWithVariants() throws IOException {
+        // Given
+        store(JPEG);
+        Path dir = tempDir.resolve(JPEG_SHARD);
+        Files.writeString(dir.resolve(JPEG_HASH + "_w160.jpg"), "thumb");
+        when(imageBlobRepository.findUnreferencedBefore(any())).thenReturn(List.of(JPEG_HASH));
+        when(imageBlobRepository.deleteIfUnreferenced(eq(JPEG_HASH), any())).thenReturn(1);
+
+        Path original = blobStoreService.locate(JPEG_HASH + ".jpg");
+        ImageService.ImageFile image = new ImageService.ImageFile(original, "image/jpeg", JPEG.length, 0, "\"x\"", true);
+        imageCache.get(image);
+
+        // When
+        int removed = blobStoreService.collectGarbage();
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(0, countFiles());
+        assertEquals(0, imageCache.stats().entries());
+    }
+
+    @Test
+    void collectGarbage_WhenReferencedAgain_ShouldKeepFiles() throws IOException {
+        // Given
+        store(JPEG);
+        when(imageBlobRepository.findUnreferencedBefore(any())).thenReturn(List.of(JPEG_HASH));
+        when(imageBlobRepository.deleteIfUnreferenced(eq(JPEG_HASH), any())).thenReturn(0);
+
+        // When
+        int removed = blobStoreService.collectGarbage();
+
+        // Then
+        assertEquals(0, removed);
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void collectGarbage_ShouldSweepOldOrphanFilesOnly() throws IOException {
+        // Given: Datei ohne DB-Eintrag, einmal alt und einmal frisch
+        store(JPEG);
+        StoredBlob fresh = store(PNG);
+        Path old = blobStoreService.locate(JPEG_HASH + ".jpg");
+        Files.setLastModifiedTime(old, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        when(imageBlobRepository.existsById(any())).thenReturn(false);
+
+        // When
+        int removed = blobStoreService.collectGarbage();
+
+        // Then
+        assertEquals(1, removed);
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(blobStoreService.locate(fresh.filename())));
+    }
+
+    @Test
+    void hashOf_ShouldParseFilenamesAndUrls() {
+        assertEquals(Optional.of(JPEG_HASH), BlobStoreService.hashOf("/api/items/images/" + JPEG_HASH + ".png"));
+        assertEquals(Optional.of(JPEG_HASH), BlobStoreService.hashOf(JPEG_HASH + "_w480.jpg"));
+        assertTrue(BlobStoreService.hashOf("item_1_" + JPEG_HASH + ".jpg").isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.service.ImageService.ImageFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageFile write(String name, int size) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, new byte[size]);
+        return new ImageFile(path, "image/jpeg", size, 0, "\"" + name + "\"", true);
+    }
+
+    private static ImageCache cache(long budgetBytes, long maxEntryBytes) {
+        ImageProperties properties = new ImageProperties();
+        properties.setCacheSize(DataSize.ofBytes(budgetBytes));
+        properties.setCacheMaxEntrySize(DataSize.ofBytes(maxEntryBytes));
+        return new ImageCache(properties);
+    }
+
+    @Test
+    void get_ShouldReturnOffHeapReadOnlyCopies() throws IOException {
+        // Given
+        ImageCache cache = cache(10_000, 1_000);
+        ImageFile image = write("a.jpg", 100);
+
+        // When
+        ByteBuffer first = cache.get(image).orElseThrow();
+        first.position(50);
+        ByteBuffer second = cache.get(image).orElseThrow();
+
+        // Then
+        assertTrue(first.isDirect());
+        assertTrue(first.isReadOnly());
+        assertEquals(0, second.position());
+        assertEquals(100, second.remaining());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void get_ShouldSkipLargeFilesAndDisabledCache() throws IOException {
+        // Given
+        ImageFile image = write("big.jpg", 2_000);
+
+        // Then
+        assertTrue(cache(10_000, 1_000).get(image).isEmpty());
+        assertTrue(cache(0, 1_000).get(write("small.jpg", 10)).isEmpty());
+    }
+
+    @Test
+    void cache_ShouldStayWithinByteBudget() throws IOException {
+        // Given
+        ImageCache cache = cache(1_000, 1_000);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            cache.get(write("img" + i + ".jpg", 300));
+        }
+
+        // Then
+        ImageCache.Stats stats = cache.stats();
+        assertTrue(stats.cachedBytes() <= 1_000, "belegt: " + stats.cachedBytes());
+        assertTrue(stats.evictionCount() > 0);
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() throws IOException {
+        // Given
+        ImageCache cache = cache(10_000, 1_000);
+        ImageFile image = write("a.jpg", 100);
+        cache.get(image);
+
+        // When
+        cache.invalidate(image.path());
+        cache.get(image);
+
+        // Then
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void get_WhenFileShrankSinceResolve_ShouldFallBackToDisk() throws IOException {
+        // Given
+        ImageCache cache = cache(10_000, 1_000);
+        ImageFile image = write("a.jpg", 100);
+        Files.write(image.path(), new byte[10]);
+
+        // Then
+        assertTrue(cache.get(image).isEmpty());
+        assertEquals(0, cache.stats().entries());
+    }
+}
@@ -0,0 +1,230 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.repository.ImageBlobRepository;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.service.ImageService.ImageFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ImageServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0};
+
+    @TempDir
+    Path tempDir;
+
+    private ItemRepository itemRepository;
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        ImageProperties properties = new ImageProperties();
+        BlobStoreService blobStoreService = new BlobStoreService(tempDir, mock(ImageBlobRepository.class), properties,
+                new ImageCache(properties));
+        itemRepository = mock(ItemRepository.class);
+        imageService = new ImageService(tempDir, blobStoreService, itemRepository);
+    }
+
+    private void variants(String filename, String widths) {
+        when(itemRepository.findImageVariantsByImageUrl(eq(ImageUploadService.IMAGE_URL_PREFIX + filename),
+                any(Pageable.class))).thenReturn(widths == null ? List.of() : List.of(widths));
+    }
+
+    @Test
+    void resolve_WithContentHashedName_ShouldBeImmutableWithHashEtag() throws IOException {
+        // Given
+        String hash = "0123456789abcdef".repeat(4);
+        String filename = "item_7_" + hash + ".jpg";
+        // Endung sagt jpg, Inhalt ist PNG
+        Files.write(tempDir.resolve(filename), PNG);
+
+        // When
+        Optional<ImageFile> result = imageService.resolve(filename);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertTrue(result.get().immutable());
+        assertEquals("\"" + hash + "\"", result.get().etag());
+        assertEquals("image/png", result.get().contentType());
+        assertEquals(PNG.length, result.get().length());
+    }
+
+    @Test
+    void resolve_WithBlobName_ShouldReadFromShardDirectory() throws IOException {
+        // Given
+        String hash = "fedcba9876543210".repeat(4);
+        Path dir = Files.createDirectories(tempDir.resolve("blobs/fe/dc"));
+        Files.write(dir.resolve(hash + ".jpg"), JPEG);
+        Files.write(dir.resolve(hash + "_w160.jpg"), JPEG);
+        variants(hash + ".jpg", "160");
+
+        // When
+        ImageFile original = imageService.resolve(hash + ".jpg").orElseThrow();
+        ImageFile variant = imageService.resolve(hash + ".jpg", 100).orElseThrow();
+
+        // Then
+        assertEquals(dir.resolve(hash + ".jpg"), original.path());
+        assertTrue(original.immutable());
+        assertEquals("\"" + hash + "\"", original.etag());
+        assertEquals(dir.resolve(hash + "_w160.jpg"), variant.path());
+        assertEquals("\"" + hash + "_w160\"", variant.etag());
+        assertTrue(imageService.resolve(hash + ".png").isEmpty());
+    }
+
+    @Test
+    void resolve_WithLegacyName_ShouldUseSizeAndTimestampEtag() throws IOException {
+        // Given
+        Files.write(tempDir.resolve("item_1_3f2a.jpg"), JPEG);
+
+        // When
+        ImageFile result = imageService.resolve("item_1_3f2a.jpg").orElseThrow();
+
+        // Then
+        assertFalse(result.immutable());
+        assertEquals("image/jpeg", result.contentType());
+        assertTrue(result.etag().startsWith("\"6-"));
+    }
+
+    @Test
+    void resolve_ShouldRejectPathTraversalAndMissingFiles() throws IOException {
+        // Given
+        Files.write(tempDir.getParent().resolve("secret.jpg"), JPEG);
+
+        // Then
+        assertTrue(imageService.resolve("../secret.jpg").isEmpty());
+        assertTrue(imageService.resolve("..").isEmpty());
+        assertTrue(imageService.resolve("missing.jpg").isEmpty());
+        assertTrue(imageService.resolve(null).isEmpty());
+    }
+
+    @Test
+    void resolve_ShouldReuseCachedMetadataUntilFileChanges() throws IOException {
+        // Given
+        Path file = tempDir.resolve("photo.jpg");
+        Files.write(file, JPEG);
+        ImageFile first = imageService.resolve("photo.jpg").orElseThrow();
+
+        // When
+        ImageFile second = imageService.resolve("photo.jpg").orElseThrow();
+        Files.write(file, PNG);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(first.lastModified() + 5_000));
+        ImageFile third = imageService.resolve("photo.jpg").orElseThrow();
+
+        // Then
+        assertSame(first, second);
+        assertEquals("image/png", third.contentType());
+        assertNotEquals(first.etag(), third.etag());
+    }
+
+    @Test
+    void resolveWithWidth_ShouldPickSmallestSufficientVariant() throws IOException {
+        // Given
+        String hash = "fedcba9876543210".repeat(4);
+        String filename = "item_3_" + hash + ".png";
+        Files.write(tempDir.resolve(filename), PNG);
+        Files.write(tempDir.resolve("item_3_" + hash + "_w160.jpg"), JPEG);
+        Files.write(tempDir.resolve("item_3_" + hash + "_w480.png"), PNG);
+        variants(filename, "160,480");
+
+        // When
+        ImageFile small = imageService.resolve(filename, 100).orElseThrow();
+        ImageFile medium = imageService.resolve(filename, 200).orElseThrow();
+        ImageFile large = imageService.resolve(filename, 2000).orElseThrow();
+        ImageFile none = imageService.resolve(filename, null).orElseThrow();
+
+        // Then
+        assertTrue(small.path().endsWith("item_3_" + hash + "_w160.jpg"));
+        assertEquals("\"" + hash + "_w160\"", small.etag());
+        assertTrue(small.immutable());
+        assertTrue(medium.path().endsWith("item_3_" + hash + "_w480.png"));
+        assertTrue(large.path().endsWith(filename));
+        assertTrue(none.path().endsWith(filename));
+    }
+
+    @Test
+    void resolveWithWidth_WithoutRecordedVariants_ShouldServeOriginalWithoutProbingFiles() throws IOException {
+        // Given: Datei liegt schon da, die Breite ist aber (noch) nicht am Item eingetragen
+        String filename = "item_4_abc.jpg";
+        Files.write(tempDir.resolve(filename), JPEG);
+        Files.write(tempDir.resolve("item_4_abc_w160.jpg"), JPEG);
+        variants(filename, null);
+
+        // When
+        ImageFile image = imageService.resolve(filename, 100).orElseThrow();
+
+        // Then
+        assertTrue(image.path().endsWith(filename));
+    }
+
+    @Test
+    void resolveWithWidth_ForMissingFile_ShouldNotQueryVariants() {
+        // When
+        Optional<ImageFile> image = imageService.resolve("item_5_missing.jpg", 160);
+
+        // Then
+        assertTrue(image.isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void resolveWithWidth_ShouldSkipMalformedWidthsAndCacheLookup() throws IOException {
+        // Given
+        String filename = "item_6_abc.jpg";
+        Files.write(tempDir.resolve(filename), JPEG);
+        Files.write(tempDir.resolve("item_6_abc_w480.jpg"), JPEG);
+        variants(filename, "abc,480,");
+
+        // When
+        ImageFile first = imageService.resolve(filename, 100).orElseThrow();
+        ImageFile second = imageService.resolve(filename, 200).orElseThrow();
+
+        // Then
+        assertTrue(first.path().endsWith("item_6_abc_w480.jpg"));
+        assertTrue(second.path().endsWith("item_6_abc_w480.jpg"));
+        verify(itemRepository, times(1)).findImageVariantsByImageUrl(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void forgetVariantWidths_ShouldReloadAfterVariantsWereRecorded() throws IOException {
+        // Given: zuerst noch keine Varianten eingetragen
+        String filename = "item_7_abc.jpg";
+        Files.write(tempDir.resolve(filename), JPEG);
+        Files.write(tempDir.resolve("item_7_abc_w160.jpg"), JPEG);
+        variants(filename, null);
+        imageService.resolve(filename, 100);
+        variants(filename, "160");
+
+        // When
+        imageService.forgetVariantWidths(filename);
+        ImageFile image = imageService.resolve(filename, 100).orElseThrow();
+
+        // Then
+        assertTrue(image.path().endsWith("item_7_abc_w160.jpg"));
+    }
+
+    @Test
+    void sniffContentType_ShouldDetectCommonFormats() {
+        assertEquals("image/jpeg", ImageService.sniffContentType(JPEG));
+        assertEquals("image/png", ImageService.sniffContentType(PNG));
+        assertEquals("image/gif", ImageService.sniffContentType("GIF89a".getBytes()));
+        assertEquals("image/webp", ImageService.sniffContentType("RIFF\0\0\0\0WEBP".getBytes()));
+        assertNull(ImageService.sniffContentType("hello".getBytes()));
+    }
+}
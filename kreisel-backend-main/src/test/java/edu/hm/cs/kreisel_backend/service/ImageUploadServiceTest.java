@@ -0,0 +1,125 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.FileStorageProperties;
+import edu.hm.cs.kreisel_backend.service.BlobStoreService.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageUploadServiceTest {
+
+    private static final String HASH = "0123456789abcdef".repeat(4);
+    private static final String IMAGE_URL = "/api/items/images/" + HASH + ".jpg";
+
+    @Mock
+    private BlobStoreService blobStoreService;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    private FileStorageProperties properties;
+    private ImageUploadService imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FileStorageProperties();
+        properties.setMaxImageSize(DataSize.ofKilobytes(100));
+        properties.setMaxConcurrentUploads(1);
+        imageUploadService = new ImageUploadService(blobStoreService, itemService, imageVariantService, properties);
+    }
+
+    private static InputStream body() {
+        return new ByteArrayInputStream(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    void upload_ShouldStoreThenUpdateItemThenScheduleVariants() throws IOException {
+        // Given
+        when(blobStoreService.store(any(), eq(100 * 1024L))).thenReturn(new StoredBlob(HASH, HASH + ".jpg", 3));
+
+        // When
+        String imageUrl = imageUploadService.upload(1L, body(), 3);
+
+        // Then
+        assertEquals(IMAGE_URL, imageUrl);
+        var order = inOrder(blobStoreService, itemService, imageVariantService);
+        order.verify(blobStoreService).store(any(), anyLong());
+        order.verify(itemService).updateItemImage(1L, IMAGE_URL);
+        order.verify(imageVariantService).generateVariantsAsync(1L, HASH + ".jpg", IMAGE_URL);
+        verify(blobStoreService, never()).release(anyString());
+    }
+
+    @Test
+    void upload_WithDeclaredOversize_ShouldRejectBeforeReading() {
+        // When
+        UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                () -> imageUploadService.upload(1L, body(), 200 * 1024));
+
+        // Then
+        assertEquals(UploadRejectedException.Reason.TOO_LARGE, e.getReason());
+        verifyNoInteractions(blobStoreService, itemService, imageVariantService);
+    }
+
+    @Test
+    void upload_WhenItemUpdateFails_ShouldReleaseStoredBlob() throws IOException {
+        // Given
+        when(blobStoreService.store(any(), anyLong())).thenReturn(new StoredBlob(HASH, HASH + ".jpg", 3));
+        when(itemService.updateItemImage(eq(1L), anyString())).thenThrow(new RuntimeException("Item not found"));
+
+        // When
+        assertThrows(RuntimeException.class, () -> imageUploadService.upload(1L, body(), -1));
+
+        // Then
+        verify(blobStoreService).release(IMAGE_URL);
+        verifyNoInteractions(imageVariantService);
+    }
+
+    @Test
+    void upload_WhenAllPermitsTaken_ShouldRejectAsBusyAndRecoverAfterwards() throws Exception {
+        // Given: erster Upload hängt im Speichern fest
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(blobStoreService.store(any(), anyLong())).thenAnswer(invocation -> {
+            storing.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return new StoredBlob(HASH, HASH + ".jpg", 3);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> imageUploadService.upload(1L, body(), 3));
+            assertTrue(storing.await(5, TimeUnit.SECONDS));
+
+            // When
+            UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                    () -> imageUploadService.upload(2L, body(), 3));
+            finish.countDown();
+
+            // Then
+            assertEquals(UploadRejectedException.Reason.BUSY, e.getReason());
+            assertEquals(IMAGE_URL, first.get(5, TimeUnit.SECONDS));
+            assertEquals(IMAGE_URL, imageUploadService.upload(3L, body(), 3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
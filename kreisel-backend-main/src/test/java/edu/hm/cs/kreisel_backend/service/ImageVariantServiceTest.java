@@ -0,0 +1,189 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.EntityCacheInvalidator;
+import edu.hm.cs.kreisel_backend.config.ImageProperties;
+import edu.hm.cs.kreisel_backend.repository.ImageBlobRepository;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+
+    private static final String IMAGE_URL = "/api/items/images/item_1_abc.jpg";
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+
+    private ImageProperties properties;
+    private BlobStoreService blobStoreService;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImageProperties();
+        blobStoreService = new BlobStoreService(tempDir, imageBlobRepository, properties, new ImageCache(properties));
+        imageVariantService = new ImageVariantService(tempDir, blobStoreService, itemRepository, imageService,
+                cacheInvalidator, properties, new SyncTaskExecutor());
+    }
+
+    private void writeImage(String filename, int width, int height, int type, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ImageIO.write(image, format, tempDir.resolve(filename).toFile());
+    }
+
+    @Test
+    void generateVariants_ShouldRenderSmallerWidthsAsJpegAndRecordThem() throws IOException {
+        // Given
+        writeImage("item_1_abc.jpg", 600, 300, BufferedImage.TYPE_INT_RGB, "jpg");
+        when(itemRepository.updateImageVariants(1L, IMAGE_URL, "160,480")).thenReturn(1);
+
+        // When
+        List<Integer> widths = imageVariantService.generateVariants(1L, "item_1_abc.jpg", IMAGE_URL);
+
+        // Then
+        assertEquals(List.of(160, 480), widths);
+        BufferedImage thumb = ImageIO.read(tempDir.resolve("item_1_abc_w160.jpg").toFile());
+        assertEquals(160, thumb.getWidth());
+        assertEquals(80, thumb.getHeight());
+        assertTrue(Files.exists(tempDir.resolve("item_1_abc_w480.jpg")));
+        assertFalse(Files.exists(tempDir.resolve("item_1_abc_w1024.jpg")));
+        verify(itemRepository).updateImageVariants(1L, IMAGE_URL, "160,480");
+        verify(imageService).forgetVariantWidths("item_1_abc.jpg");
+        verify(cacheInvalidator).itemUpdatedInBulk(1L);
+    }
+
+    @Test
+    void generateVariants_ForBlob_ShouldWriteNextToOriginalAndReuseExistingVariants() throws IOException {
+        // Given: zweites Item mit identischem Bild, w160 existiert schon
+        String hash = "0123456789abcdef".repeat(4);
+        Path dir = Files.createDirectories(tempDir.resolve("blobs/01/23"));
+        ImageIO.write(new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB), "jpg", dir.resolve(hash + ".jpg").toFile());
+        Files.writeString(dir.resolve(hash + "_w160.jpg"), "vorhanden");
+
+        // When
+        List<Integer> widths = imageVariantService.generateVariants(2L, hash + ".jpg", "/api/items/images/" + hash + ".jpg");
+
+        // Then
+        assertEquals(List.of(160, 480), widths);
+        assertEquals("vorhanden", Files.readString(dir.resolve(hash + "_w160.jpg")));
+        assertEquals(480, ImageIO.read(dir.resolve(hash + "_w480.jpg").toFile()).getWidth());
+        verify(itemRepository).updateImageVariants(2L, "/api/items/images/" + hash + ".jpg", "160,480");
+    }
+
+    @Test
+    void generateVariants_WithAlpha_ShouldKeepTransparencyAsPng() throws IOException {
+        // Given
+        writeImage("item_2_def.png", 200, 200, BufferedImage.TYPE_INT_ARGB, "png");
+
+        // When
+        List<Integer> widths = imageVariantService.generateVariants(2L, "item_2_def.png", "/url");
+
+        // Then
+        assertEquals(List.of(160), widths);
+        BufferedImage thumb = ImageIO.read(tempDir.resolve("item_2_def_w160.png").toFile());
+        assertTrue(thumb.getColorModel().hasAlpha());
+    }
+
+    @Test
+    void generateVariants_WhenImageSmallerThanAllWidths_ShouldRecordNoVariants() throws IOException {
+        // Given
+        writeImage("item_3_small.png", 100, 50, BufferedImage.TYPE_INT_RGB, "png");
+
+        // When
+        List<Integer> widths = imageVariantService.generateVariants(3L, "item_3_small.png", "/url");
+
+        // Then
+        assertTrue(widths.isEmpty());
+        verify(itemRepository).updateImageVariants(3L, "/url", null);
+    }
+
+    @Test
+    void generateVariants_WhenImageReplacedMeanwhile_ShouldNotNotifyOtherNodes() throws IOException {
+        // Given: das UPDATE trifft keine Zeile mehr
+        writeImage("item_4_old.jpg", 600, 300, BufferedImage.TYPE_INT_RGB, "jpg");
+        when(itemRepository.updateImageVariants(4L, "/url", "160,480")).thenReturn(0);
+
+        // When
+        imageVariantService.generateVariants(4L, "item_4_old.jpg", "/url");
+
+        // Then
+        verifyNoInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void generateVariants_WithUnreadableFile_ShouldNotTouchItem() throws IOException {
+        // Given
+        Files.writeString(tempDir.resolve("item_4_x.webp"), "not an image");
+
+        // When
+        List<Integer> widths = imageVariantService.generateVariants(4L, "item_4_x.webp", "/url");
+
+        // Then
+        assertTrue(widths.isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void generateVariants_AboveMaxPixels_ShouldRefuseToDecode() throws IOException {
+        // Given
+        properties.setMaxPixels(1_000);
+        writeImage("item_5_big.png", 100, 100, BufferedImage.TYPE_INT_RGB, "png");
+
+        // When/Then
+        assertThrows(IOException.class, () -> imageVariantService.generateVariants(5L, "item_5_big.png", "/url"));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void generateVariantsAsync_WhenQueueFull_ShouldDropTaskWithoutThrowing() {
+        // Given
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("voll");
+        };
+        ImageVariantService service = new ImageVariantService(tempDir, blobStoreService, itemRepository, imageService,
+                cacheInvalidator, properties, rejecting);
+
+        // When/Then
+        assertDoesNotThrow(() -> service.generateVariantsAsync(1L, "item_1_abc.jpg", IMAGE_URL));
+        verify(itemRepository, never()).updateImageVariants(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void variantFilename_ShouldInsertWidthBeforeExtension() {
+        assertEquals("item_1_abc_w160.jpg", ImageVariantService.variantFilename("item_1_abc.png", 160, "jpg"));
+        assertEquals("noext_w480.png", ImageVariantService.variantFilename("noext", 480, "png"));
+    }
+}
@@ -0,0 +1,197 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.dto.ItemImportResult;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<List<Item>> batchCaptor;
+
+    private ItemImportService itemImportService;
+
+    private final List<Item> savedItems = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> batch = invocation.getArgument(0);
+            savedItems.addAll(batch);
+            return batch;
+        });
+        itemImportService = new ItemImportService(itemRepository,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), entityManager);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importItems_WithValidCsv_ShouldImportAllRows() throws IOException {
+        // Given
+        String csv = """
+                name,size,brand,location,gender,category,subcategory,zustand,available
+                Skijacke,L,Brand,PASING,HERREN,KLEIDUNG,JACKEN,NEU,true
+                "Helm, schwarz",M,,lothstrasse,unisex,EQUIPMENT,HELME,GEBRAUCHT,false
+                """;
+
+        // When
+        ItemImportResult result = itemImportService.importItems(stream(csv), ItemImportService.Format.CSV);
+
+        // Then
+        assertEquals(2, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals("Helm, schwarz", savedItems.get(1).getName());
+        assertEquals(Item.Location.LOTHSTRASSE, savedItems.get(1).getLocation());
+        assertNull(savedItems.get(1).getBrand());
+        assertFalse(savedItems.get(1).isAvailable());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void importItems_WithInvalidEnums_ShouldReportRowErrorsAndImportRest() throws IOException {
+        // Given
+        String csv = """
+                name,location,category
+                Jacke,PASING,KLEIDUNG
+                Schuh,MARIENPLATZ,SCHUHE
+                ,PASING,SCHUHE
+                Brille,KARLSTRASSE,AUTO
+                """;
+
+        // When
+        ItemImportResult result = itemImportService.importItems(stream(csv), ItemImportService.Format.CSV);
+
+        // Then
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().contains("location"));
+        assertTrue(result.getErrors().get(1).getMessage().contains("name"));
+        assertTrue(result.getErrors().get(2).getMessage().contains("category"));
+    }
+
+    @Test
+    void importItems_WithNdjson_ShouldImportObjectsAndRejectBrokenLines() throws IOException {
+        // Given
+        String ndjson = """
+                {"name":"Snowboard","location":"PASING","subcategory":"SNOWBOARDS","gender":"UNISEX"}
+                {"name":"Kaputt",
+                ["kein", "objekt"]
+                {"name":"Flasche","location":"KARLSTRASSE","zustand":"NEU","size":null}
+                """;
+
+        // When
+        ItemImportResult result = itemImportService.importItems(stream(ndjson), ItemImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(Item.Subcategory.SNOWBOARDS, savedItems.get(0).getSubcategory());
+        assertNull(savedItems.get(1).getSize());
+    }
+
+    @Test
+    void importItems_ShouldWriteInBatches() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder("name,location\n");
+        int rows = ItemImportService.BATCH_SIZE * 2 + 5;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Item ").append(i).append(",PASING\n");
+        }
+
+        // When
+        ItemImportResult result = itemImportService.importItems(stream(csv.toString()), ItemImportService.Format.CSV);
+
+        // Then
+        assertEquals(rows, result.getImported());
+        verify(itemRepository, times(3)).saveAll(batchCaptor.capture());
+        verify(transactionManager, times(3)).commit(any());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void importItems_WhenBatchFails_ShouldReportEveryRowOfBatch() throws IOException {
+        // Given
+        when(itemRepository.saveAll(anyList())).thenThrow(new RuntimeException("DB down"));
+        String csv = "name,location\nA,PASING\nB,PASING\n";
+
+        // When
+        ItemImportResult result = itemImportService.importItems(stream(csv), ItemImportService.Format.CSV);
+
+        // Then
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals(3, result.getErrors().get(1).getLine());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importItems_WithoutRequiredHeader_ShouldThrow() {
+        // Given
+        String csv = "name,brand\nA,B\n";
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+                () -> itemImportService.importItems(stream(csv), ItemImportService.Format.CSV));
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void parseCsvLine_ShouldHandleQuotesAndEscapedQuotes() {
+        // When
+        List<String> values = ItemImportService.parseCsvLine("a,\"b,c\",\"sagt \"\"hallo\"\"\",");
+
+        // Then
+        assertEquals(List.of("a", "b,c", "sagt \"hallo\"", ""), values);
+    }
+
+    @Test
+    void detect_ShouldUseContentTypeOrFilename() {
+        assertEquals(ItemImportService.Format.CSV, ItemImportService.Format.detect("text/csv", null));
+        assertEquals(ItemImportService.Format.NDJSON, ItemImportService.Format.detect("application/x-ndjson", null));
+        assertEquals(ItemImportService.Format.NDJSON, ItemImportService.Format.detect("application/octet-stream", "lot.jsonl"));
+        assertNull(ItemImportService.Format.detect("application/pdf", "lot.pdf"));
+    }
+}
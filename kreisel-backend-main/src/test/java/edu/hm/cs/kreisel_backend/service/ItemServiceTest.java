@@ -1,5 +1,6 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,13 +24,18 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BlobStoreService blobStoreService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private ItemService itemService;
 
     private Item item1;
     private Item item2;
     private Item item3;
-    private List<Item> allItems;
 
     @BeforeEach
     void setUp() {
@@ -73,14 +78,12 @@ class ItemServiceTest {
         item3.setCategory(Item.Category.ACCESSOIRES);
         item3.setSubcategory(Item.Subcategory.BRILLEN);
         item3.setZustand(Item.Zustand.GEBRAUCHT);
-
-        allItems = Arrays.asList(item1, item2, item3);
     }
 
     @Test
     void filterItems_ByLocationOnly_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When
         List<Item> result = itemService.filterItems(Item.Location.PASING, null, null, null, null, null, null);
@@ -89,13 +92,13 @@ class ItemServiceTest {
         assertEquals(2, result.size());
         assertTrue(result.contains(item1));
         assertTrue(result.contains(item2));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.PASING);
     }
 
     @Test
     void filterItems_ByLocationAndAvailability_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocationAndAvailable(Item.Location.PASING, true)).thenReturn(List.of(item1));
 
         // When
         List<Item> result = itemService.filterItems(Item.Location.PASING, true, null, null, null, null, null);
@@ -103,13 +106,13 @@ class ItemServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(item1, result.get(0));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocationAndAvailable(Item.Location.PASING, true);
     }
 
     @Test
     void filterItems_BySearchQuery_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When - Search in name
         List<Item> result1 = itemService.filterItems(Item.Location.PASING, null, "jacket", null, null, null, null);
@@ -132,13 +135,13 @@ class ItemServiceTest {
         assertEquals(1, result3.size());
         assertEquals(item1, result3.get(0));
 
-        verify(itemRepository, times(3)).findAll();
+        verify(itemRepository, times(3)).findByLocation(Item.Location.PASING);
     }
 
     @Test
     void filterItems_ByGender_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When
         List<Item> result = itemService.filterItems(Item.Location.PASING, null, null, Item.Gender.HERREN, null, null, null);
@@ -146,13 +149,13 @@ class ItemServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(item2, result.get(0));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.PASING);
     }
 
     @Test
     void filterItems_ByCategoryAndSubcategory_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When
         List<Item> result = itemService.filterItems(
@@ -167,13 +170,13 @@ class ItemServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(item1, result.get(0));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.PASING);
     }
 
     @Test
     void filterItems_BySize_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When - Case insensitive size matching
         List<Item> result = itemService.filterItems(Item.Location.PASING, null, null, null, null, null, "m");
@@ -181,13 +184,13 @@ class ItemServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(item1, result.get(0));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.PASING);
     }
 
     @Test
     void filterItems_WithMultipleFilters_ShouldReturnMatchingItems() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocationAndAvailable(Item.Location.PASING, true)).thenReturn(List.of(item1));
 
         // When
         List<Item> result = itemService.filterItems(
@@ -202,26 +205,26 @@ class ItemServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals(item1, result.get(0));
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocationAndAvailable(Item.Location.PASING, true);
     }
 
     @Test
     void filterItems_WithNoMatches_ShouldReturnEmptyList() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.KARLSTRASSE)).thenReturn(List.of());
 
         // When - No items at KARLSTRASSE
         List<Item> result = itemService.filterItems(Item.Location.KARLSTRASSE, null, null, null, null, null, null);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.KARLSTRASSE);
     }
 
     @Test
     void filterItems_WithNullSizeButItemHasSize_ShouldIncludeItem() {
         // Given
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findByLocation(Item.Location.PASING)).thenReturn(List.of(item1, item2));
 
         // When - Filter only by location, but item has size
         List<Item> result = itemService.filterItems(Item.Location.PASING, null, null, null, null, null, null);
@@ -229,7 +232,7 @@ class ItemServiceTest {
         // Then
         assertEquals(2, result.size());
         assertTrue(result.contains(item1)); // item1 has size "M"
-        verify(itemRepository).findAll();
+        verify(itemRepository).findByLocation(Item.Location.PASING);
     }
 
     @Test
@@ -258,6 +261,16 @@ class ItemServiceTest {
         verify(itemRepository).findById(99L);
     }
 
+    @Test
+    void existsById_ShouldAskRepository() {
+        // Given
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertTrue(itemService.existsById(1L));
+        assertFalse(itemService.existsById(2L));
+    }
+
     @Test
     void createItem_ShouldSaveAndReturnItem() {
         // Given
@@ -274,6 +287,24 @@ class ItemServiceTest {
         verify(itemRepository).save(newItem);
     }
 
+    @Test
+    void createItem_ShouldIgnoreClientSuppliedImage() {
+        // Given
+        Item newItem = new Item();
+        newItem.setName("New Test Item");
+        newItem.setImageUrl("/api/items/images/" + "ab".repeat(32) + ".jpg");
+        newItem.setImageVariants("160,480");
+        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Item result = itemService.createItem(newItem);
+
+        // Then
+        assertNull(result.getImageUrl());
+        assertNull(result.getImageVariants());
+        verifyNoInteractions(blobStoreService);
+    }
+
     @Test
     void updateItem_WhenItemExists_ShouldUpdateAllFields() {
         // Given
@@ -330,6 +361,23 @@ class ItemServiceTest {
         assertEquals(Item.Zustand.GEBRAUCHT, savedItem.getZustand());
     }
 
+    @Test
+    void updateItem_WhenLocationChanges_ShouldRecordPreviousLocation() {
+        // Given
+        Item updatedItem = new Item();
+        updatedItem.setName("Blue Jacket");
+        updatedItem.setAvailable(true);
+        updatedItem.setLocation(Item.Location.KARLSTRASSE);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        itemService.updateItem(1L, updatedItem);
+
+        // Then
+        verify(outboxService).record(new ItemChanged(1L, Item.Location.KARLSTRASSE, Item.Location.PASING, true, false));
+    }
+
     @Test
     void updateItem_WhenItemDoesNotExist_ShouldThrowException() {
         // Given
@@ -347,10 +395,33 @@ class ItemServiceTest {
         verify(itemRepository, never()).save(any(Item.class));
     }
 
+    @Test
+    void updateItemImage_ShouldSetUrlAndResetVariants() {
+        // Given
+        item1.setImageUrl("/api/items/images/old.jpg");
+        item1.setImageVariants("160,480");
+        when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(item1));
+        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Item result = itemService.updateItemImage(1L, "/api/items/images/new.jpg");
+
+        // Then
+        assertEquals("/api/items/images/new.jpg", result.getImageUrl());
+        assertNull(result.getImageVariants());
+        assertEquals("Blue Jacket", result.getName());
+        verify(itemRepository).save(item1);
+        verify(itemRepository, never()).findById(any());
+        verify(blobStoreService).release("/api/items/images/old.jpg");
+        verify(outboxService).record(new ItemChanged(1L, item1.getLocation(), null, item1.isAvailable(), false));
+    }
+
     @Test
     void deleteItem_ShouldDeleteItem() {
         // Given
         Long itemId = 1L;
+        item1.setImageUrl("/api/items/images/photo.jpg");
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item1));
         doNothing().when(itemRepository).deleteById(itemId);
 
         // When
@@ -358,5 +429,7 @@ class ItemServiceTest {
 
         // Then
         verify(itemRepository).deleteById(itemId);
+        verify(blobStoreService).release("/api/items/images/photo.jpg");
+        verify(outboxService).record(new ItemChanged(itemId, Item.Location.PASING, null, false, true));
     }
 }
\ No newline at end of file
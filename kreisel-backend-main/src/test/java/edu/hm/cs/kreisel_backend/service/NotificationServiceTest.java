@@ -0,0 +1,269 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.NotificationProperties;
+import edu.hm.cs.kreisel_backend.event.WaitlistHoldGranted;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.Notification;
+import edu.hm.cs.kreisel_backend.model.Notification.Type;
+import edu.hm.cs.kreisel_backend.model.Rental;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.notification.NotificationMessage;
+import edu.hm.cs.kreisel_backend.notification.NotificationSender;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.NotificationRepository;
+import edu.hm.cs.kreisel_backend.repository.RentalRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 15);
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private NotificationSender sender;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationProperties properties;
+    private NotificationService notificationService;
+
+    private User anna;
+    private User ben;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        notificationService = new NotificationService(rentalRepository, notificationRepository, userRepository,
+                itemRepository, sender, properties, registry);
+        anna = user(1L, "Anna");
+        ben = user(2L, "Ben");
+    }
+
+    private User user(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setFullName(name);
+        user.setEmail(name.toLowerCase() + "@hm.edu");
+        return user;
+    }
+
+    private Rental rental(Long id, User user, String itemName, LocalDate endDate) {
+        Item item = new Item();
+        item.setId(100 + id);
+        item.setName(itemName);
+        Rental rental = new Rental();
+        rental.setId(id);
+        rental.setUser(user);
+        rental.setItem(item);
+        rental.setEndDate(endDate);
+        return rental;
+    }
+
+    @Test
+    void sendDueReminders_ShouldSendOneMessagePerUserWithAllDueRentals() {
+        // Given
+        List<Rental> rentals = List.of(
+                rental(1L, anna, "Snowboard", TODAY.plusDays(2)),
+                rental(2L, anna, "Helm", TODAY.minusDays(3)),
+                rental(3L, ben, "Ski", TODAY.plusDays(1)));
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(eq(TODAY.minusDays(30)), eq(TODAY.plusDays(2)),
+                eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(TODAY.minusDays(30), TODAY.plusDays(2), List.of(1L, 2L)))
+                .thenReturn(rentals);
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        // When
+        NotificationService.ReminderRun run = notificationService.sendDueReminders(TODAY);
+
+        // Then
+        ArgumentCaptor<NotificationMessage> messages = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(sender, times(2)).send(messages.capture());
+        NotificationMessage toAnna = messages.getAllValues().get(0);
+        assertEquals("anna@hm.edu", toAnna.recipient());
+        assertEquals("Kreisel: Rückgabe überfällig", toAnna.subject());
+        assertTrue(toAnna.body().contains("- Snowboard: fällig am 17.10.2026"));
+        assertTrue(toAnna.body().contains("- Helm: seit 12.10.2026"));
+        assertEquals("Kreisel: Rückgabe bald fällig", messages.getAllValues().get(1).subject());
+
+        assertEquals(new NotificationService.ReminderRun(2, 3, 2, 0, 0, run.durationMillis()), run);
+        assertEquals(2.0, registry.get("kreisel.notifications.sent").tag("type", "reminder").counter().count());
+        assertEquals(3.0, registry.get("kreisel.notifications.rentals.scanned").counter().count());
+    }
+
+    @Test
+    void sendDueReminders_ShouldRecordTypeAndDueDateForDeduplication() {
+        // Given
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList()))
+                .thenReturn(List.of(rental(2L, anna, "Helm", TODAY.minusDays(3))));
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        // When
+        notificationService.sendDueReminders(TODAY);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        Notification notification = saved.getValue().get(0);
+        assertEquals(Type.OVERDUE, notification.getType());
+        assertEquals(2L, notification.getReferenceId());
+        assertEquals(TODAY.minusDays(3), notification.getDueDate());
+        assertSame(anna, notification.getUser());
+    }
+
+    @Test
+    void sendDueReminders_WhenAlreadyReminded_ShouldSkipRental() {
+        // Given
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList()))
+                .thenReturn(List.of(rental(1L, anna, "Snowboard", TODAY.plusDays(2))));
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new Notification(anna, Type.DUE_SOON, 1L, TODAY.plusDays(2))));
+
+        // When
+        NotificationService.ReminderRun run = notificationService.sendDueReminders(TODAY);
+
+        // Then
+        verifyNoInteractions(sender);
+        verify(notificationRepository, never()).saveAll(any());
+        assertEquals(1, run.deduplicated());
+    }
+
+    @Test
+    void sendDueReminders_WhenRentalWasExtended_ShouldRemindAgain() {
+        // Given: erinnert wurde an das alte Enddatum
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList()))
+                .thenReturn(List.of(rental(1L, anna, "Snowboard", TODAY.plusDays(2))));
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new Notification(anna, Type.DUE_SOON, 1L, TODAY.minusDays(28))));
+
+        // When
+        notificationService.sendDueReminders(TODAY);
+
+        // Then
+        verify(sender).send(any(NotificationMessage.class));
+    }
+
+    @Test
+    void sendDueReminders_WhenSendFails_ShouldNotMarkAsSentAndContinue() {
+        // Given
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList())).thenReturn(List.of(
+                rental(1L, anna, "Snowboard", TODAY.plusDays(2)),
+                rental(3L, ben, "Ski", TODAY.plusDays(1))));
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        doThrow(new RuntimeException("SMTP weg")).doNothing().when(sender).send(any(NotificationMessage.class));
+
+        // When
+        NotificationService.ReminderRun run = notificationService.sendDueReminders(TODAY);
+
+        // Then
+        assertEquals(1, run.failed());
+        assertEquals(1, run.sent());
+        verify(notificationRepository, times(1)).saveAll(any());
+        assertEquals(1.0, registry.get("kreisel.notifications.failed").counter().count());
+    }
+
+    @Test
+    void sendDueReminders_ShouldContinueAfterLastUserOfFullChunk() {
+        // Given
+        properties.setChunkSize(2);
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(7L));
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList())).thenReturn(List.of());
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        // When
+        NotificationService.ReminderRun run = notificationService.sendDueReminders(TODAY);
+
+        // Then
+        assertEquals(3, run.users());
+        verify(rentalRepository).findOpenRentalsDueBetweenForUsers(any(), any(), eq(List.of(7L)));
+    }
+
+    @Test
+    void sendDueReminders_WhenKeepRunningTurnsFalse_ShouldStopBeforeNextChunk() {
+        // Given: Leaderschaft geht nach dem ersten Chunk verloren
+        properties.setChunkSize(2);
+        AtomicBoolean leader = new AtomicBoolean(true);
+        when(rentalRepository.findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(0L), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    leader.set(false);
+                    return List.of(1L, 2L);
+                });
+        when(rentalRepository.findOpenRentalsDueBetweenForUsers(any(), any(), anyList())).thenReturn(List.of());
+        when(notificationRepository.findByTypeInAndReferenceIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        // When
+        NotificationService.ReminderRun run = notificationService.sendDueReminders(TODAY, leader::get);
+
+        // Then
+        assertEquals(2, run.users());
+        verify(rentalRepository, never()).findUserIdsWithOpenRentalsDueBetween(any(), any(), eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void onWaitlistHoldGranted_ShouldNotifyOnce() {
+        // Given
+        LocalDateTime holdUntil = LocalDateTime.of(2026, 10, 15, 14, 30);
+        Item item = new Item();
+        item.setId(10L);
+        item.setName("Snowboard");
+        when(notificationRepository.existsByTypeAndReferenceIdAndDueDate(Type.WAITLIST_HOLD, 5L, holdUntil.toLocalDate()))
+                .thenReturn(false, true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(anna));
+        when(itemRepository.findById(10L)).thenReturn(Optional.of(item));
+        WaitlistHoldGranted event = new WaitlistHoldGranted(5L, 10L, 1L, holdUntil);
+
+        // When: zweite Zustellung desselben Events (at-least-once)
+        notificationService.onWaitlistHoldGranted(event);
+        notificationService.onWaitlistHoldGranted(event);
+
+        // Then
+        ArgumentCaptor<NotificationMessage> message = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(sender).send(message.capture());
+        assertEquals("anna@hm.edu", message.getValue().recipient());
+        assertTrue(message.getValue().body().contains("\"Snowboard\" ist wieder da und bis 15.10.2026 14:30 Uhr"));
+        verify(notificationRepository).save(any(Notification.class));
+    }
+}
@@ -0,0 +1,187 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.cluster.LeaderElection;
+import edu.hm.cs.kreisel_backend.config.OutboxProperties;
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LeaderElection leaderElection;
+
+    private OutboxProperties properties;
+    private OutboxDispatcher dispatcher;
+
+    private OutboxEvent first;
+    private OutboxEvent second;
+    private final ReviewCreated firstEvent = new ReviewCreated(1L, 10L, 100L, 5);
+    private final ReviewCreated secondEvent = new ReviewCreated(2L, 10L, 100L, 3);
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        dispatcher = new OutboxDispatcher(outboxEventRepository, outboxService, eventPublisher, properties, leaderElection);
+        first = new OutboxEvent("ReviewCreated", 1L, "{}");
+        first.setId(1L);
+        second = new OutboxEvent("ReviewCreated", 2L, "{}");
+        second.setId(2L);
+    }
+
+    @Test
+    void dispatchBatch_ShouldPublishAndMarkProcessed() {
+        // Given
+        when(outboxEventRepository.findDispatchable(any(LocalDateTime.class), eq(10), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(outboxService.read(first)).thenReturn(firstEvent);
+        when(outboxService.read(second)).thenReturn(secondEvent);
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(2, dispatched);
+        verify(eventPublisher).publishEvent(firstEvent);
+        verify(eventPublisher).publishEvent(secondEvent);
+        assertNotNull(first.getProcessedAt());
+        assertNotNull(second.getProcessedAt());
+        verify(outboxEventRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void dispatchBatch_WhenConsumerFails_ShouldScheduleRetryAndContinue() {
+        // Given
+        when(outboxEventRepository.findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(outboxService.read(first)).thenReturn(firstEvent);
+        when(outboxService.read(second)).thenReturn(secondEvent);
+        doThrow(new RuntimeException("DB weg")).when(eventPublisher).publishEvent(firstEvent);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertNull(first.getProcessedAt());
+        assertEquals(1, first.getAttempts());
+        assertEquals("RuntimeException: DB weg", first.getLastError());
+        assertFalse(first.getAvailableAt().isBefore(before.plus(properties.getRetryDelay())));
+        assertNotNull(second.getProcessedAt());
+        verify(outboxEventRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void dispatchBatch_WhenNothingPending_ShouldNotSave() {
+        // Given
+        when(outboxEventRepository.findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(0, dispatched);
+        verify(outboxEventRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void run_WhenBatchIsFull_ShouldFetchNextBatchImmediately() {
+        // Given
+        properties.setBatchSize(1);
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(outboxEventRepository.findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(second))
+                .thenReturn(List.of());
+        when(outboxService.read(first)).thenReturn(firstEvent);
+        when(outboxService.read(second)).thenReturn(secondEvent);
+
+        // When
+        dispatcher.run();
+
+        // Then
+        verify(outboxEventRepository, times(3)).findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class));
+        verify(eventPublisher).publishEvent(firstEvent);
+        verify(eventPublisher).publishEvent(secondEvent);
+    }
+
+    @Test
+    void run_WhenLeadershipLostDuringBacklog_ShouldStopAfterCurrentBatch() {
+        // Given: nach dem ersten Batch hat ein anderer Knoten die Lease übernommen
+        properties.setBatchSize(1);
+        when(leaderElection.isLeader()).thenReturn(true).thenReturn(false);
+        when(outboxEventRepository.findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(second));
+        when(outboxService.read(first)).thenReturn(firstEvent);
+
+        // When
+        dispatcher.run();
+
+        // Then
+        verify(outboxEventRepository, times(1)).findDispatchable(any(LocalDateTime.class), anyInt(), any(Pageable.class));
+        verify(eventPublisher).publishEvent(firstEvent);
+        verify(eventPublisher, never()).publishEvent(secondEvent);
+    }
+
+    @Test
+    void run_WhenDisabled_ShouldDoNothing() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        dispatcher.run();
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, eventPublisher);
+    }
+
+    @Test
+    void run_WhenNotLeader_ShouldDoNothing() {
+        // Given: im Cluster stellt nur der Leader zu
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        // When
+        dispatcher.run();
+        dispatcher.purgeProcessed();
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, eventPublisher);
+    }
+
+    @Test
+    void retryDelay_ShouldDoubleUpToMaximum() {
+        assertEquals(Duration.ofSeconds(5), dispatcher.retryDelay(1));
+        assertEquals(Duration.ofSeconds(10), dispatcher.retryDelay(2));
+        assertEquals(Duration.ofSeconds(40), dispatcher.retryDelay(4));
+        assertEquals(Duration.ofHours(1), dispatcher.retryDelay(20));
+    }
+}
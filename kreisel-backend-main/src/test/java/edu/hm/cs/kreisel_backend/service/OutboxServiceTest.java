@@ -0,0 +1,95 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.hm.cs.kreisel_backend.event.DomainEvent;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.RentalCreated;
+import edu.hm.cs.kreisel_backend.event.RentalExtended;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
+import edu.hm.cs.kreisel_backend.event.WaitlistHoldGranted;
+import edu.hm.cs.kreisel_backend.model.Item.Location;
+import edu.hm.cs.kreisel_backend.model.OutboxEvent;
+import edu.hm.cs.kreisel_backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        // wie der ObjectMapper von Spring Boot: Datumswerte als ISO-String
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        outboxService = new OutboxService(outboxEventRepository, objectMapper);
+    }
+
+    @Test
+    void record_ShouldSaveTypeAggregateAndPayload() {
+        // When
+        outboxService.record(new RentalCreated(5L, 7L, 1L, Location.PASING, LocalDate.of(2026, 11, 1)));
+
+        // Then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent saved = captor.getValue();
+        assertEquals("RentalCreated", saved.getEventType());
+        assertEquals(5L, saved.getAggregateId());
+        assertEquals("{\"rentalId\":5,\"itemId\":7,\"userId\":1,\"location\":\"PASING\",\"endDate\":\"2026-11-01\"}",
+                saved.getPayload());
+        assertNull(saved.getProcessedAt());
+        assertEquals(0, saved.getAttempts());
+    }
+
+    @Test
+    void read_ShouldRestoreEveryEventType() {
+        // Given
+        List<DomainEvent> events = List.of(
+                new RentalCreated(1L, 2L, 3L, Location.KARLSTRASSE, LocalDate.of(2026, 11, 1)),
+                new RentalExtended(1L, 2L, 3L, LocalDate.of(2026, 12, 1)),
+                new RentalReturned(1L, 2L, 3L, Location.LOTHSTRASSE, true),
+                new ReviewCreated(4L, 2L, 3L, 5),
+                new ItemChanged(2L, Location.PASING, Location.KARLSTRASSE, true, false),
+                new WaitlistHoldGranted(6L, 2L, 3L, LocalDateTime.of(2026, 11, 1, 12, 30)));
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        for (DomainEvent event : events) {
+            // When
+            outboxService.record(event);
+            ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+            verify(outboxEventRepository, atLeastOnce()).save(captor.capture());
+
+            // Then
+            assertEquals(event, outboxService.read(captor.getValue()));
+        }
+    }
+
+    @Test
+    void read_WithUnknownType_ShouldThrowException() {
+        // Given
+        OutboxEvent outboxEvent = new OutboxEvent("ItemExploded", 1L, "{}");
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> outboxService.read(outboxEvent));
+        assertEquals("Unbekannter Event-Typ: ItemExploded", exception.getMessage());
+    }
+}
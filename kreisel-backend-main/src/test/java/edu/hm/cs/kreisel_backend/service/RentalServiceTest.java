@@ -1,11 +1,15 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.RentalCreated;
+import edu.hm.cs.kreisel_backend.event.RentalExtended;
+import edu.hm.cs.kreisel_backend.event.RentalReturned;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.repository.ItemRepository;
 import edu.hm.cs.kreisel_backend.repository.RentalRepository;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +40,15 @@ class RentalServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private RentalService rentalService;
 
@@ -217,7 +230,7 @@ class RentalServiceTest {
         LocalDate validEndDate = today.plusDays(7);
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.empty());
         when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -247,6 +260,10 @@ class RentalServiceTest {
 
         // Verify rental was saved
         verify(rentalRepository).save(any(Rental.class));
+
+        // Verify domain event was written to the outbox
+        verify(outboxService).record(new RentalCreated(result.getId(), availableItem.getId(), testUser.getId(),
+                availableItem.getLocation(), validEndDate));
     }
 
     @Test
@@ -255,7 +272,7 @@ class RentalServiceTest {
         LocalDate validEndDate = today.plusDays(7);
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -264,7 +281,7 @@ class RentalServiceTest {
 
         assertEquals("Item ist nicht verfügbar", exception.getMessage());
         verify(userRepository).findById(testUser.getId());
-        verify(itemRepository).findById(unavailableItem.getId());
+        verify(itemRepository).findByIdForUpdate(unavailableItem.getId());
         verifyNoMoreInteractions(rentalRepository, itemRepository);
     }
 
@@ -279,7 +296,7 @@ class RentalServiceTest {
         );
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(maxActiveRentals);
 
         // When & Then
@@ -289,7 +306,7 @@ class RentalServiceTest {
 
         assertEquals("Maximale Anzahl aktiver Ausleihen (5) erreicht", exception.getMessage());
         verify(userRepository).findById(testUser.getId());
-        verify(itemRepository).findById(availableItem.getId());
+        verify(itemRepository).findByIdForUpdate(availableItem.getId());
         verify(rentalRepository).findByUserIdAndReturnDateIsNull(testUser.getId());
         verifyNoMoreInteractions(rentalRepository, itemRepository);
     }
@@ -300,7 +317,7 @@ class RentalServiceTest {
         LocalDate validEndDate = today.plusDays(7);
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.of(new Rental()));
 
@@ -311,7 +328,7 @@ class RentalServiceTest {
 
         assertEquals("Item ist bereits ausgeliehen", exception.getMessage());
         verify(userRepository).findById(testUser.getId());
-        verify(itemRepository).findById(availableItem.getId());
+        verify(itemRepository).findByIdForUpdate(availableItem.getId());
         verify(rentalRepository).findByUserIdAndReturnDateIsNull(testUser.getId());
         verify(rentalRepository).findByItemIdAndReturnDateIsNull(availableItem.getId());
         verifyNoMoreInteractions(rentalRepository, itemRepository);
@@ -321,7 +338,7 @@ class RentalServiceTest {
     void rentItem_WithNullEndDate_ShouldThrowException() {
         // Given
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.empty());
 
@@ -332,7 +349,7 @@ class RentalServiceTest {
 
         assertEquals("Enddatum ist erforderlich", exception.getMessage());
         verify(userRepository).findById(testUser.getId());
-        verify(itemRepository).findById(availableItem.getId());
+        verify(itemRepository).findByIdForUpdate(availableItem.getId());
         verify(rentalRepository).findByUserIdAndReturnDateIsNull(testUser.getId());
         verify(rentalRepository).findByItemIdAndReturnDateIsNull(availableItem.getId());
         verifyNoMoreInteractions(rentalRepository, itemRepository);
@@ -344,7 +361,7 @@ class RentalServiceTest {
         LocalDate pastEndDate = today.minusDays(1);
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.empty());
 
@@ -362,7 +379,7 @@ class RentalServiceTest {
         LocalDate tooDistantEndDate = today.plusDays(91); // MAX_RENTAL_DAYS is 90
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.empty());
 
@@ -380,7 +397,7 @@ class RentalServiceTest {
         LocalDate sameDayEndDate = today; // Same day
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(availableItem.getId())).thenReturn(Optional.of(availableItem));
+        when(itemRepository.findByIdForUpdate(availableItem.getId())).thenReturn(Optional.of(availableItem));
         when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
         when(rentalRepository.findByItemIdAndReturnDateIsNull(availableItem.getId())).thenReturn(Optional.empty());
 
@@ -415,7 +432,7 @@ class RentalServiceTest {
         LocalDate validEndDate = today.plusDays(7);
 
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(itemRepository.findById(99L)).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -424,7 +441,7 @@ class RentalServiceTest {
 
         assertEquals("Item not found", exception.getMessage());
         verify(userRepository).findById(testUser.getId());
-        verify(itemRepository).findById(99L);
+        verify(itemRepository).findByIdForUpdate(99L);
         verifyNoMoreInteractions(rentalRepository);
     }
 
@@ -443,6 +460,8 @@ class RentalServiceTest {
 
         verify(rentalRepository).findById(activeRental.getId());
         verify(rentalRepository).save(activeRental);
+        verify(outboxService).record(new RentalExtended(activeRental.getId(), activeRental.getItem().getId(),
+                activeRental.getUser().getId(), futureDate.plusDays(30)));
     }
 
     @Test
@@ -496,6 +515,7 @@ class RentalServiceTest {
     void returnRental_WhenActive_ShouldMarkAsReturned() {
         // Given
         when(rentalRepository.findById(activeRental.getId())).thenReturn(Optional.of(activeRental));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
         when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -513,6 +533,47 @@ class RentalServiceTest {
 
         verify(rentalRepository).findById(activeRental.getId());
         verify(rentalRepository).save(activeRental);
+        verify(outboxService).record(new RentalReturned(activeRental.getId(), unavailableItem.getId(),
+                activeRental.getUser().getId(), unavailableItem.getLocation(), false));
+    }
+
+    @Test
+    void returnRental_WhenSomeoneIsWaiting_ShouldKeepItemHeld() {
+        // Given
+        when(rentalRepository.findById(activeRental.getId())).thenReturn(Optional.of(activeRental));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
+        when(waitlistService.offerToNextWaiter(unavailableItem)).thenReturn(true);
+        when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Rental result = rentalService.returnRental(activeRental.getId());
+
+        // Then
+        assertEquals(today, result.getReturnDate());
+        assertFalse(unavailableItem.isAvailable());
+        verify(itemRepository).save(unavailableItem);
+        verify(outboxService).record(new RentalReturned(activeRental.getId(), unavailableItem.getId(),
+                activeRental.getUser().getId(), unavailableItem.getLocation(), true));
+    }
+
+    @Test
+    void rentItem_WhenItemIsHeldForUser_ShouldRentAndConsumeEntry() {
+        // Given
+        LocalDate validEndDate = today.plusDays(7);
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
+        when(waitlistService.hasActiveHold(testUser.getId(), unavailableItem.getId())).thenReturn(true);
+        when(rentalRepository.findByUserIdAndReturnDateIsNull(testUser.getId())).thenReturn(Collections.emptyList());
+        when(rentalRepository.findByItemIdAndReturnDateIsNull(unavailableItem.getId())).thenReturn(Optional.empty());
+        when(rentalRepository.save(any(Rental.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Rental result = rentalService.rentItem(testUser.getId(), unavailableItem.getId(), validEndDate);
+
+        // Then
+        assertEquals(unavailableItem, result.getItem());
+        assertFalse(unavailableItem.isAvailable());
+        verify(waitlistService).removeEntry(testUser.getId(), unavailableItem.getId());
     }
 
     @Test
@@ -531,6 +592,27 @@ class RentalServiceTest {
         verifyNoMoreInteractions(rentalRepository);
     }
 
+    @Test
+    void returnRental_WhenReturnedConcurrently_ShouldNotOfferItemAgain() {
+        // Given: während auf die Item-Sperre gewartet wurde, hat eine andere Rückgabe committet
+        when(rentalRepository.findById(activeRental.getId())).thenReturn(Optional.of(activeRental));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
+        doAnswer(invocation -> {
+            activeRental.setReturnDate(today);
+            return null;
+        }).when(entityManager).refresh(activeRental);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            rentalService.returnRental(activeRental.getId());
+        });
+
+        assertEquals("Rental ist bereits zurückgegeben", exception.getMessage());
+        verifyNoInteractions(waitlistService, outboxService);
+        verify(itemRepository, never()).save(any());
+        verify(rentalRepository, never()).save(any());
+    }
+
     @Test
     void returnRental_WhenRentalNotFound_ShouldThrowException() {
         // Given
@@ -1,5 +1,6 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.event.ReviewCreated;
 import edu.hm.cs.kreisel_backend.model.Item;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.Review;
@@ -11,7 +12,6 @@ import edu.hm.cs.kreisel_backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -39,6 +39,9 @@ class ReviewServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -253,7 +256,7 @@ class ReviewServiceTest {
     }
 
     @Test
-    void createReview_WhenEligible_ShouldCreateAndUpdateItemStats() {
+    void createReview_WhenEligible_ShouldCreateAndRecordEvent() {
         // Given
         Long rentalId = 4L;
         Long userId = testUser.getId();
@@ -276,14 +279,6 @@ class ReviewServiceTest {
             return savedReview;
         });
 
-        Double newAvgRating = 4.3;
-        List<Review> updatedReviews = new ArrayList<>(itemReviews);
-        updatedReviews.add(new Review()); // Add one more review
-
-        when(reviewRepository.getAverageRatingForItem(testItem.getId())).thenReturn(newAvgRating);
-        when(reviewRepository.findByItemId(testItem.getId())).thenReturn(updatedReviews);
-        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
         // When
         Review result = reviewService.createReview(rentalId, userId, rating, comment);
 
@@ -297,20 +292,41 @@ class ReviewServiceTest {
         assertEquals(comment, result.getComment());
         assertNotNull(result.getCreatedAt());
 
-        // Verify item stats were updated
-        ArgumentCaptor<Item> itemCaptor = ArgumentCaptor.forClass(Item.class);
-        verify(itemRepository).save(itemCaptor.capture());
-        Item updatedItem = itemCaptor.getValue();
-        assertEquals(newAvgRating, updatedItem.getAverageRating());
-        assertEquals(3, updatedItem.getReviewCount()); // 2 original + 1 new
+        // Item stats are updated by the event consumer, not in the request
+        verify(outboxService).record(new ReviewCreated(3L, testItem.getId(), userId, rating));
+        verifyNoInteractions(itemRepository);
 
         // Verify repository calls
         verify(rentalRepository).findById(rentalId);
         verify(reviewRepository).findByRentalId(rentalId);
         verify(userRepository).findById(userId);
         verify(reviewRepository).save(any(Review.class));
-        verify(reviewRepository).getAverageRatingForItem(testItem.getId());
-        verify(reviewRepository).findByItemId(testItem.getId());
+    }
+
+    @Test
+    void onReviewCreated_ShouldUpdateItemStats() {
+        // Given
+        when(reviewRepository.getAverageRatingForItem(testItem.getId())).thenReturn(4.3);
+        when(reviewRepository.countByItemId(testItem.getId())).thenReturn(3L);
+
+        // When
+        reviewService.onReviewCreated(new ReviewCreated(3L, testItem.getId(), testUser.getId(), 5));
+
+        // Then
+        verify(itemRepository).updateRatingStatistics(testItem.getId(), 4.3, 3);
+    }
+
+    @Test
+    void onReviewCreated_WhenNullAvgRating_ShouldUseZero() {
+        // Given
+        when(reviewRepository.getAverageRatingForItem(testItem.getId())).thenReturn(null);
+        when(reviewRepository.countByItemId(testItem.getId())).thenReturn(0L);
+
+        // When
+        reviewService.onReviewCreated(new ReviewCreated(3L, testItem.getId(), testUser.getId(), 5));
+
+        // Then
+        verify(itemRepository).updateRatingStatistics(testItem.getId(), 0.0, 0);
     }
 
     @Test
@@ -376,38 +392,4 @@ class ReviewServiceTest {
         verify(reviewRepository).findByRentalId(rentalWithReviewId);
         verifyNoInteractions(userRepository, itemRepository);
     }
-
-    @Test
-    void createReview_WhenNullAvgRating_ShouldUseZero() {
-        // Given
-        Long rentalId = 4L;
-
-        // Create a new eligible rental
-        Rental eligibleRental = new Rental();
-        eligibleRental.setId(rentalId);
-        eligibleRental.setUser(testUser);
-        eligibleRental.setItem(testItem);
-        eligibleRental.setReturnDate(LocalDate.now().minusDays(1));
-
-        when(rentalRepository.findById(rentalId)).thenReturn(Optional.of(eligibleRental));
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(reviewRepository.findByRentalId(rentalId)).thenReturn(Optional.empty());
-        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        // Return null for average rating
-        when(reviewRepository.getAverageRatingForItem(testItem.getId())).thenReturn(null);
-
-        List<Review> updatedReviews = new ArrayList<>(itemReviews);
-        when(reviewRepository.findByItemId(testItem.getId())).thenReturn(updatedReviews);
-        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        // When
-        reviewService.createReview(rentalId, testUser.getId(), 5, "Great!");
-
-        // Then
-        ArgumentCaptor<Item> itemCaptor = ArgumentCaptor.forClass(Item.class);
-        verify(itemRepository).save(itemCaptor.capture());
-        Item updatedItem = itemCaptor.getValue();
-        assertEquals(0.0, updatedItem.getAverageRating()); // Should use 0.0 when null
-    }
-}
\ No newline at end of file
+}
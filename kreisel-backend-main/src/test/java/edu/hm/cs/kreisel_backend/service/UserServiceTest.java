@@ -1,5 +1,6 @@
 package edu.hm.cs.kreisel_backend.service;
 
+import edu.hm.cs.kreisel_backend.dto.UserSummary;
 import edu.hm.cs.kreisel_backend.model.Rental;
 import edu.hm.cs.kreisel_backend.model.User;
 import edu.hm.cs.kreisel_backend.repository.UserRepository;
@@ -7,9 +8,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -18,6 +23,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +35,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private WaitlistService waitlistService;
+
     @InjectMocks
     private UserService userService;
 
@@ -82,6 +91,67 @@ class UserServiceTest {
         verify(userRepository).findAll();
     }
 
+    @Test
+    void getUserPage_WithoutSearch_ShouldReturnAllSummaries() {
+        // Given
+        Page<UserSummary> page = new PageImpl<>(List.of(
+                new UserSummary(1L, "Test User", "test@hm.edu", User.Role.USER)));
+        when(userRepository.findAllSummaries(any(Pageable.class))).thenReturn(page);
+
+        // When
+        Page<UserSummary> result = userService.getUserPage(null, 0, 20);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findAllSummaries(pageableCaptor.capture());
+        assertEquals(0, pageableCaptor.getValue().getPageNumber());
+        assertEquals(20, pageableCaptor.getValue().getPageSize());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getUserPage_WithSearch_ShouldUseEscapedPrefix() {
+        // Given
+        when(userRepository.searchSummariesByPrefix(anyString(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // When
+        userService.getUserPage(" max_1% ", 0, 20);
+
+        // Then
+        verify(userRepository).searchSummariesByPrefix(eq("max\\_1\\%%"), any(Pageable.class));
+        verify(userRepository, never()).findAllSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void getUserPage_WithSearch_ShouldLowerCasePrefix() {
+        // Given
+        when(userRepository.searchSummariesByPrefix(anyString(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // When
+        userService.getUserPage("Max", 0, 20);
+
+        // Then
+        verify(userRepository).searchSummariesByPrefix(eq("max%"), any(Pageable.class));
+    }
+
+    @Test
+    void getUserPage_ShouldClampPageSizeAndNegativePage() {
+        // Given
+        when(userRepository.findAllSummaries(any(Pageable.class))).thenReturn(Page.empty());
+
+        // When
+        userService.getUserPage("  ", -3, 10_000);
+
+        // Then
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findAllSummaries(pageableCaptor.capture());
+        assertEquals(0, pageableCaptor.getValue().getPageNumber());
+        assertEquals(UserService.MAX_PAGE_SIZE, pageableCaptor.getValue().getPageSize());
+    }
+
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() {
         // Given
@@ -427,7 +497,9 @@ class UserServiceTest {
         // When
         userService.deleteUser(userId);
 
-        // Then
-        verify(userRepository).deleteById(userId);
+        // Then: Reservierungen vor dem Cascade weitergeben
+        InOrder inOrder = inOrder(waitlistService, userRepository);
+        inOrder.verify(waitlistService).releaseHoldsOf(userId);
+        inOrder.verify(userRepository).deleteById(userId);
     }
 }
\ No newline at end of file
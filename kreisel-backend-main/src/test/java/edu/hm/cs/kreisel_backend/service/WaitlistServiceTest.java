@@ -0,0 +1,281 @@
+package edu.hm.cs.kreisel_backend.service;
+
+import edu.hm.cs.kreisel_backend.config.WaitlistProperties;
+import edu.hm.cs.kreisel_backend.dto.WaitlistStatus;
+import edu.hm.cs.kreisel_backend.event.ItemChanged;
+import edu.hm.cs.kreisel_backend.event.WaitlistHoldGranted;
+import edu.hm.cs.kreisel_backend.model.Item;
+import edu.hm.cs.kreisel_backend.model.User;
+import edu.hm.cs.kreisel_backend.model.WaitlistEntry;
+import edu.hm.cs.kreisel_backend.repository.ItemRepository;
+import edu.hm.cs.kreisel_backend.repository.UserRepository;
+import edu.hm.cs.kreisel_backend.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private WaitlistProperties properties;
+    private WaitlistService waitlistService;
+
+    private User user;
+    private User nextUser;
+    private Item rentedItem;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WaitlistProperties();
+        waitlistService = new WaitlistService(waitlistEntryRepository, itemRepository, userRepository, outboxService,
+                properties);
+
+        user = new User();
+        user.setId(1L);
+        nextUser = new User();
+        nextUser.setId(2L);
+
+        rentedItem = new Item();
+        rentedItem.setId(10L);
+        rentedItem.setName("Snowboard");
+        rentedItem.setLocation(Item.Location.PASING);
+        rentedItem.setAvailable(false);
+    }
+
+    private WaitlistEntry entry(Long id, User owner, LocalDateTime holdUntil) {
+        WaitlistEntry entry = new WaitlistEntry(rentedItem, owner);
+        entry.setId(id);
+        entry.setHoldUntil(holdUntil);
+        return entry;
+    }
+
+    @Test
+    void join_WhenItemIsRented_ShouldQueueUser() {
+        // Given
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.empty());
+        when(waitlistEntryRepository.countByUserId(1L)).thenReturn(0L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+        when(waitlistEntryRepository.findPosition(eq(10L), any(LocalDateTime.class), eq(5L))).thenReturn(3L);
+
+        // When
+        WaitlistStatus status = waitlistService.join(1L, 10L);
+
+        // Then
+        assertEquals(new WaitlistStatus(10L, 3, null), status);
+    }
+
+    @Test
+    void join_WhenAlreadyQueued_ShouldReturnExistingPlace() {
+        // Given
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.of(entry(5L, user, null)));
+        when(waitlistEntryRepository.findPosition(eq(10L), any(LocalDateTime.class), eq(5L))).thenReturn(1L);
+
+        // When
+        WaitlistStatus status = waitlistService.join(1L, 10L);
+
+        // Then
+        assertEquals(1, status.position());
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void join_WhenItemIsAvailable_ShouldThrowException() {
+        // Given
+        rentedItem.setAvailable(true);
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> waitlistService.join(1L, 10L));
+        assertEquals("Item ist verfügbar und kann direkt ausgeliehen werden", exception.getMessage());
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void join_WhenLimitReached_ShouldThrowException() {
+        // Given
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.empty());
+        when(waitlistEntryRepository.countByUserId(1L)).thenReturn(5L);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> waitlistService.join(1L, 10L));
+        assertEquals("Maximale Anzahl an Wartelisten-Plätzen (5) erreicht", exception.getMessage());
+    }
+
+    @Test
+    void offerToNextWaiter_ShouldHoldItemForFirstInLine() {
+        // Given
+        WaitlistEntry first = entry(5L, nextUser, null);
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.of(first));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        boolean held = waitlistService.offerToNextWaiter(rentedItem);
+
+        // Then
+        assertTrue(held);
+        assertFalse(first.getHoldUntil().isBefore(before.plus(properties.getHoldDuration())));
+        verify(waitlistEntryRepository).save(first);
+        verify(outboxService).record(new WaitlistHoldGranted(5L, 10L, 2L, first.getHoldUntil()));
+    }
+
+    @Test
+    void offerToNextWaiter_WhenNobodyWaits_ShouldReturnFalse() {
+        // Given
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(waitlistService.offerToNextWaiter(rentedItem));
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void hasActiveHold_ShouldIgnoreWaitingAndExpiredEntries() {
+        // Given
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L))
+                .thenReturn(Optional.of(entry(5L, user, LocalDateTime.now().plusMinutes(5))))
+                .thenReturn(Optional.of(entry(5L, user, LocalDateTime.now().minusMinutes(5))))
+                .thenReturn(Optional.of(entry(5L, user, null)));
+
+        // When & Then
+        assertTrue(waitlistService.hasActiveHold(1L, 10L));
+        assertFalse(waitlistService.hasActiveHold(1L, 10L));
+        assertFalse(waitlistService.hasActiveHold(1L, 10L));
+    }
+
+    @Test
+    void expireHold_WhenNobodyWaits_ShouldReleaseItem() {
+        // Given
+        WaitlistEntry expired = entry(5L, user, LocalDateTime.now().minusMinutes(1));
+        when(waitlistEntryRepository.findItemIdById(5L)).thenReturn(Optional.of(10L));
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(expired));
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.empty());
+
+        // When
+        waitlistService.expireHold(5L);
+
+        // Then
+        verify(waitlistEntryRepository).delete(expired);
+        assertTrue(rentedItem.isAvailable());
+        verify(itemRepository).save(rentedItem);
+        verify(outboxService).record(new ItemChanged(10L, Item.Location.PASING, null, true, false));
+    }
+
+    @Test
+    void expireHold_WhenSomeoneWaits_ShouldPassHoldOn() {
+        // Given
+        WaitlistEntry expired = entry(5L, user, LocalDateTime.now().minusMinutes(1));
+        WaitlistEntry next = entry(6L, nextUser, null);
+        when(waitlistEntryRepository.findItemIdById(5L)).thenReturn(Optional.of(10L));
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(expired));
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.of(next));
+
+        // When
+        waitlistService.expireHold(5L);
+
+        // Then
+        verify(waitlistEntryRepository).delete(expired);
+        assertNotNull(next.getHoldUntil());
+        assertFalse(rentedItem.isAvailable());
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    void expireHold_WhenHoldWasRenewedMeanwhile_ShouldDoNothing() {
+        // Given
+        when(waitlistEntryRepository.findItemIdById(5L)).thenReturn(Optional.of(10L));
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findById(5L))
+                .thenReturn(Optional.of(entry(5L, user, LocalDateTime.now().plusHours(1))));
+
+        // When
+        waitlistService.expireHold(5L);
+
+        // Then
+        verify(waitlistEntryRepository, never()).delete(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void leave_WhenHoldingItem_ShouldPassHoldOn() {
+        // Given
+        WaitlistEntry holding = entry(5L, user, LocalDateTime.now().plusHours(1));
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.of(holding));
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.empty());
+
+        // When
+        boolean left = waitlistService.leave(1L, 10L);
+
+        // Then
+        assertTrue(left);
+        verify(waitlistEntryRepository).delete(holding);
+        assertTrue(rentedItem.isAvailable());
+    }
+
+    @Test
+    void leave_WhenNotQueued_ShouldReturnFalse() {
+        // Given
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(waitlistService.leave(1L, 10L));
+        verify(waitlistEntryRepository, never()).delete(any());
+    }
+
+    @Test
+    void releaseHoldsOf_ShouldPassHoldOnBeforeUserIsDeleted() {
+        // Given
+        WaitlistEntry holding = entry(5L, user, LocalDateTime.now().plusHours(1));
+        when(waitlistEntryRepository.findHeldItemIdsByUserId(1L)).thenReturn(List.of(10L));
+        when(itemRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(rentedItem));
+        when(waitlistEntryRepository.findByItemIdAndUserId(10L, 1L)).thenReturn(Optional.of(holding));
+        when(waitlistEntryRepository.findFirstByItemIdAndHoldUntilIsNullOrderByCreatedAtAscIdAsc(10L))
+                .thenReturn(Optional.empty());
+
+        // When
+        waitlistService.releaseHoldsOf(1L);
+
+        // Then
+        verify(waitlistEntryRepository).delete(holding);
+        assertTrue(rentedItem.isAvailable());
+    }
+}
@@ -0,0 +1,335 @@
+package edu.hm.cs.kreisel_backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.hm.cs.kreisel_backend.config.IdempotencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"itemId\":\"42\",\"endDate\":\"2026-11-01\"}";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyProperties properties;
+    private IdempotencyFilter filter;
+
+    // Controller-Ersatz: liest den Body und antwortet mit Zähler und Body
+    private final FilterChain controller = (request, response) -> {
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        int execution = executions.incrementAndGet();
+        response.setContentType("application/json");
+        response.getWriter().write("{\"execution\":" + execution + ",\"body\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        filter = new IdempotencyFilter(new IdempotencyStore(properties), properties, new ObjectMapper(), meterRegistry);
+        authenticate("anna@hm.edu");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private MockHttpServletRequest rentRequest(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/rentals/rent");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(IdempotencyFilter.METRIC_NAME, "outcome", outcome).count();
+    }
+
+    @Test
+    void doFilter_WithRepeatedKey_ShouldReplayWithoutExecutingAgain() throws Exception {
+        // When
+        MockHttpServletResponse first = perform(rentRequest("k1", BODY), controller);
+        MockHttpServletResponse second = perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertTrue(first.getContentAsString().contains("\"itemId\":\"42\""));
+        assertEquals(200, second.getStatus());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1.0, count("replayed"));
+    }
+
+    @Test
+    void doFilter_WithoutKey_ShouldAlwaysExecute() throws Exception {
+        // When
+        perform(rentRequest(null, BODY), controller);
+        perform(rentRequest(null, BODY), controller);
+
+        // Then
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_WithUnlistedPath_ShouldIgnoreKey() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items");
+        request.addHeader(IdempotencyFilter.HEADER, "k1");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        perform(request, controller);
+        perform(request, controller);
+
+        // Then
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_WithSameKeyButDifferentBody_ShouldReturn422() throws Exception {
+        // Given
+        perform(rentRequest("k1", BODY), controller);
+
+        // When
+        MockHttpServletResponse response = perform(rentRequest("k1", "{\"itemId\":\"43\"}"), controller);
+
+        // Then
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_WithSameKeyFromOtherUser_ShouldExecuteSeparately() throws Exception {
+        // Given
+        perform(rentRequest("k1", BODY), controller);
+        authenticate("ben@hm.edu");
+
+        // When
+        MockHttpServletResponse response = perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(2, executions.get());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_WhenControllerFails_ShouldNotStoreResponse() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            throw new RuntimeException("DB weg");
+        };
+        assertThrows(RuntimeException.class, () -> perform(rentRequest("k1", BODY), failing));
+
+        // When
+        MockHttpServletResponse response = perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(2, executions.get());
+        assertTrue(response.getContentAsString().contains("\"execution\":2"));
+    }
+
+    @Test
+    void doFilter_WhenServerError_ShouldNotStoreResponse() throws Exception {
+        // Given
+        FilterChain serverError = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        perform(rentRequest("k1", BODY), serverError);
+
+        // When
+        perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_WithClientError_ShouldReplayStatus() throws Exception {
+        // Given
+        FilterChain forbidden = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(403);
+        };
+        perform(rentRequest("k1", BODY), forbidden);
+
+        // When
+        MockHttpServletResponse response = perform(rentRequest("k1", BODY), forbidden);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void doFilter_WithConcurrentDuplicates_ShouldExecuteOnce() throws Exception {
+        // Given: der erste Request hängt im Controller, bis alle Duplikate angekommen sind
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            controller.doFilter(request, response);
+        };
+        int duplicates = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+        try {
+            Future<?>[] futures = new Future<?>[duplicates];
+            MockHttpServletResponse[] responses = new MockHttpServletResponse[duplicates];
+            for (int i = 0; i < duplicates; i++) {
+                int index = i;
+                futures[i] = executor.submit(() -> {
+                    authenticate("anna@hm.edu");
+                    responses[index] = perform(rentRequest("k1", BODY), slow);
+                    return null;
+                });
+            }
+
+            // When
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            // Then
+            assertEquals(1, executions.get());
+            for (MockHttpServletResponse response : responses) {
+                assertTrue(response.getContentAsString().contains("\"execution\":1"));
+            }
+            assertEquals(duplicates - 1, count("collapsed"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doFilter_WhenOriginalStillRunningAfterTimeout_ShouldReturn409() throws Exception {
+        // Given
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        IdempotencyStore store = new IdempotencyStore(properties);
+        filter = new IdempotencyFilter(store, properties, new ObjectMapper(), meterRegistry);
+        store.putIfAbsent("anna@hm.edu /api/rentals/rent k1",
+                new IdempotencyStore.Entry(sha256(BODY)));
+
+        // When
+        MockHttpServletResponse response = perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(409, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void doFilter_WhenResponseTooLargeToStore_ShouldReturn409InsteadOfExecutingAgain() throws Exception {
+        // Given
+        properties.setMaxResponseSize(DataSize.ofBytes(10));
+        filter = new IdempotencyFilter(new IdempotencyStore(properties), properties, new ObjectMapper(), meterRegistry);
+        MockHttpServletResponse first = perform(rentRequest("k1", BODY), controller);
+
+        // When
+        MockHttpServletResponse retry = perform(rentRequest("k1", BODY), controller);
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(409, retry.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_WithAsyncBodyRead_ShouldDeliverCachedBody() throws Exception {
+        // Given: Controller liest den Body über einen ReadListener (nicht blockierendes Servlet-IO)
+        StringBuilder read = new StringBuilder();
+        AtomicBoolean allRead = new AtomicBoolean();
+        FilterChain asyncReader = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        };
+
+        // When
+        perform(rentRequest("k1", BODY), asyncReader);
+
+        // Then
+        assertEquals(BODY, read.toString());
+        assertTrue(allRead.get());
+    }
+
+    @Test
+    void doFilter_WithOverlongKey_ShouldReturn400() throws Exception {
+        // When
+        MockHttpServletResponse response = perform(rentRequest("x".repeat(256), BODY), controller);
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    private static String sha256(String body) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}